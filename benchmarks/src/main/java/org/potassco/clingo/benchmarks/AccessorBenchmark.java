@@ -0,0 +1,89 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.SymbolicAtom;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+
+/**
+ * Accessors of the wrapper classes that are expected not to allocate.
+ * Run with <code>-prof gc</code> and check that <code>gc.alloc.rate.norm</code> is (close to) zero.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    private Function function;
+    private Control control;
+    private SolveHandle handle;
+    private Model model;
+    private SymbolicAtom atom;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        function = new Function("p", new Number(1), new Number(2));
+        control = new Control("0");
+        control.add("p(1,2). {q(1..100)}.");
+        control.ground();
+        atom = control.getSymbolicAtoms().get(function);
+        handle = control.solve(SolveMode.YIELD);
+        model = handle.next();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        handle.close();
+        control.close();
+    }
+
+    @Benchmark
+    public boolean modelContains() {
+        return model.contains(function);
+    }
+
+    @Benchmark
+    public long modelNumber() {
+        return model.getNumber();
+    }
+
+    @Benchmark
+    public boolean modelIsTrue() {
+        return model.isTrue(atom.getLiteral());
+    }
+
+    @Benchmark
+    public int symbolicAtomLiteral() {
+        return atom.getLiteral();
+    }
+
+    @Benchmark
+    public boolean symbolicAtomIsFact() {
+        return atom.isFact();
+    }
+
+    @Benchmark
+    public boolean functionIsPositive() {
+        return function.isPositive();
+    }
+}
@@ -0,0 +1,70 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.ast.Ast;
+import org.potassco.clingo.ast.ProgramBuilder;
+import org.potassco.clingo.ast.Transformer;
+import org.potassco.clingo.ast.nodes.Variable;
+import org.potassco.clingo.control.Control;
+
+/**
+ * Parsing programs into ASTs, transforming them, and passing them back to a control object.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AstBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int statements;
+
+    private String program;
+    private final Transformer transformer = new Transformer() {
+        @Override
+        public Variable visit(Variable variable) {
+            return new Variable(variable.getLocation(), "_" + variable.getName());
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setup() {
+        program = Workloads.reachability(statements);
+    }
+
+    @Benchmark
+    public List<Ast> parse() {
+        return Ast.parseString(program);
+    }
+
+    @Benchmark
+    public List<Ast> parseAndTransform() {
+        List<Ast> transformed = new ArrayList<>();
+        Ast.parseString(program, ast -> transformed.add(transformer.visit(ast)));
+        return transformed;
+    }
+
+    @Benchmark
+    public void parseAndBuild() {
+        try (Control control = new Control(); ProgramBuilder builder = new ProgramBuilder(control)) {
+            Ast.parseString(program, ast -> builder.add(transformer.visit(ast)));
+        }
+    }
+}
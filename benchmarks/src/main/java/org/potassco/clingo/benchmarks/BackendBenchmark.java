@@ -0,0 +1,63 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.backend.Backend;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+
+/**
+ * Throughput of adding ground rules via the {@link Backend}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackendBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rules;
+
+    @Benchmark
+    public void addRules() {
+        try (Control control = new Control()) {
+            try (Backend backend = control.getBackend()) {
+                int previous = backend.addAtom();
+                backend.addRule(new int[]{previous}, new int[0], true);
+                for (int i = 1; i < rules; i++) {
+                    int atom = backend.addAtom();
+                    backend.addRule(new int[]{atom}, new int[]{previous}, false);
+                    previous = atom;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void addSymbolicRules() {
+        try (Control control = new Control()) {
+            try (Backend backend = control.getBackend()) {
+                int previous = backend.addAtom(new Function("p", new Number(0)));
+                backend.addRule(new int[]{previous}, new int[0], true);
+                for (int i = 1; i < rules; i++) {
+                    int atom = backend.addAtom(new Function("p", new Number(i)));
+                    backend.addRule(new int[]{atom}, new int[]{previous}, false);
+                    previous = atom;
+                }
+            }
+        }
+    }
+}
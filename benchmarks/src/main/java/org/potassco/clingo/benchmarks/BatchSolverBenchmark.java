@@ -0,0 +1,72 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.BatchResult;
+import org.potassco.clingo.BatchSolver;
+
+/**
+ * Scaling of {@link BatchSolver} with the number of threads.
+ * Ideally the time per batch halves whenever the number of threads doubles, up to the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchSolverBenchmark {
+
+    private static final String ENCODING = "1 { assign(N,C) : colour(C) } 1 :- node(N).\n" +
+            ":- edge(U,V), assign(U,C), assign(V,C).\n";
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"64"})
+    public int instances;
+
+    private BatchSolver solver;
+    private List<String> batch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        solver = new BatchSolver(ENCODING, threads);
+        batch = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            String program = Workloads.graphColouring(60, 3, 4, i);
+            // keep the facts, the encoding is shared
+            batch.add(program.substring(0, program.indexOf("1 {")));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        solver.close();
+    }
+
+    @Benchmark
+    public int solveBatch() throws InterruptedException {
+        int satisfiable = 0;
+        for (BatchResult result : solver.solve(batch).await()) {
+            if (result.getSolveResult().satisfiable())
+                satisfiable++;
+        }
+        return satisfiable;
+    }
+}
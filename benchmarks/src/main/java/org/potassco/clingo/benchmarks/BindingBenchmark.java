@@ -0,0 +1,127 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.ptr.ByteByReference;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.LongByReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+
+/**
+ * Compares the calls per second of the interface mapping {@link Clingo#INSTANCE} against the
+ * direct mapping {@link ClingoDirect} for the same native functions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingBenchmark {
+
+    private long number;
+    private long function;
+
+    private Control control;
+    private SolveHandle handle;
+    private Pointer model;
+    private Pointer atoms;
+
+    private final IntByReference intByReference = new IntByReference();
+    private final LongByReference longByReference = new LongByReference();
+    private final ByteByReference byteByReference = new ByteByReference();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        number = new Number(42).getLong();
+        function = new Function("p", new Number(1), new Number(2)).getLong();
+
+        control = new Control("0");
+        control.add("p(1,2). {q(1..100)}.");
+        control.ground();
+        atoms = control.getSymbolicAtoms().getPointer();
+        handle = control.solve(SolveMode.YIELD);
+        model = handle.next().getPointer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        handle.close();
+        control.close();
+    }
+
+    @Benchmark
+    public int interfaceSymbolType() {
+        return Clingo.INSTANCE.clingo_symbol_type(function);
+    }
+
+    @Benchmark
+    public int directSymbolType() {
+        return ClingoDirect.clingo_symbol_type(function);
+    }
+
+    @Benchmark
+    public int interfaceSymbolNumber() {
+        Clingo.check(Clingo.INSTANCE.clingo_symbol_number(number, intByReference));
+        return intByReference.getValue();
+    }
+
+    @Benchmark
+    public int directSymbolNumber() {
+        Clingo.check(ClingoDirect.clingo_symbol_number(number, intByReference));
+        return intByReference.getValue();
+    }
+
+    @Benchmark
+    public byte interfaceSymbolEquals() {
+        return Clingo.INSTANCE.clingo_symbol_is_equal_to(function, number);
+    }
+
+    @Benchmark
+    public byte directSymbolEquals() {
+        return ClingoDirect.clingo_symbol_is_equal_to(function, number);
+    }
+
+    @Benchmark
+    public long interfaceSymbolicAtomsFind() {
+        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_find(atoms, function, longByReference));
+        return longByReference.getValue();
+    }
+
+    @Benchmark
+    public long directSymbolicAtomsFind() {
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_find(atoms, function, longByReference));
+        return longByReference.getValue();
+    }
+
+    @Benchmark
+    public byte interfaceModelContains() {
+        Clingo.check(Clingo.INSTANCE.clingo_model_contains(model, function, byteByReference));
+        return byteByReference.getValue();
+    }
+
+    @Benchmark
+    public byte directModelContains() {
+        Clingo.check(ClingoDirect.clingo_model_contains(model, function, byteByReference));
+        return byteByReference.getValue();
+    }
+}
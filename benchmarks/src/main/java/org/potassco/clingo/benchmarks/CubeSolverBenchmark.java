@@ -0,0 +1,51 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.CubeSolver;
+
+/**
+ * Scaling of {@link CubeSolver} with the number of workers on an unsatisfiable pigeonhole instance, which forces
+ * every cube to be refuted.
+ * The first solve call grounds the program, later calls reuse the grounding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CubeSolverBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"6"})
+    public int depth;
+
+    private CubeSolver solver;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        solver = new CubeSolver(Workloads.pigeonhole(9, 8));
+        solver.setWorkers(workers);
+        solver.setDepth(depth);
+    }
+
+    @Benchmark
+    public boolean solveCubes() {
+        return solver.solve(CubeSolver.Mode.SATISFIABILITY).isUnsatisfiable();
+    }
+}
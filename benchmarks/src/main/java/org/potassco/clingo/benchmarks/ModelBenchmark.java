@@ -0,0 +1,109 @@
+package org.potassco.clingo.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.ModelSnapshot;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.SymbolView;
+
+/**
+ * Extraction of large models consisting of facts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int atoms;
+
+    private Control control;
+    private SolveHandle handle;
+    private Model model;
+    private ShowType shown;
+    private long[] reuse;
+    private LongBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        control = new Control("1");
+        control.add(Workloads.facts(atoms));
+        control.ground();
+        handle = control.solve(SolveMode.YIELD);
+        model = handle.next();
+        shown = ShowType.shown();
+        reuse = new long[atoms];
+        buffer = ByteBuffer.allocateDirect(atoms * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        handle.close();
+        control.close();
+    }
+
+    @Benchmark
+    public Symbol[] getSymbols() {
+        return model.getSymbols();
+    }
+
+    @Benchmark
+    public long[] getSymbolLongs() {
+        return model.getSymbolLongs(shown);
+    }
+
+    @Benchmark
+    public int getSymbolLongsReuse() {
+        return model.getSymbolLongs(shown, reuse);
+    }
+
+    @Benchmark
+    public int getSymbolLongsDirect() {
+        buffer.clear();
+        return model.getSymbolLongs(shown, buffer);
+    }
+
+    @Benchmark
+    public SymbolView getSymbolView() {
+        return model.getSymbolView(shown);
+    }
+
+    @Benchmark
+    public ModelSnapshot snapshot() {
+        return model.snapshot(shown);
+    }
+
+    @Benchmark
+    public String toText() {
+        return model.toString();
+    }
+
+    @Benchmark
+    public long[] getCost() {
+        return model.getCost();
+    }
+}
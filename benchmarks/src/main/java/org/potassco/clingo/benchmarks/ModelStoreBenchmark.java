@@ -0,0 +1,76 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.ModelStore;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Symbol;
+
+/**
+ * Enumerating all models of a choice over a number of atoms into a list of symbols versus a {@link ModelStore}.
+ * Run with <code>-prof gc</code> to compare the heap allocated per enumeration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelStoreBenchmark {
+
+    @Param({"12", "16"})
+    public int atoms;
+
+    private Control control;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        control = new Control("0");
+        control.add("{ a(1.." + atoms + ") }.");
+        control.ground();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        control.close();
+    }
+
+    @Benchmark
+    public List<List<Symbol>> list() {
+        List<List<Symbol>> models = new ArrayList<>();
+        try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+            while (handle.hasNext()) {
+                models.add(Arrays.asList(handle.next().getSymbols()));
+            }
+        }
+        return models;
+    }
+
+    @Benchmark
+    public int store() {
+        try (ModelStore store = new ModelStore(); SolveHandle handle = control.solve(SolveMode.YIELD)) {
+            while (handle.hasNext()) {
+                store.add(handle.next());
+            }
+            return store.size();
+        }
+    }
+}
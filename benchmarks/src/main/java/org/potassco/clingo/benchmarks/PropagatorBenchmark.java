@@ -0,0 +1,179 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.SymbolicAtom;
+import org.potassco.clingo.propagator.Assignment;
+import org.potassco.clingo.propagator.ChangeView;
+import org.potassco.clingo.propagator.MirroredAssignment;
+import org.potassco.clingo.propagator.PropagateControl;
+import org.potassco.clingo.propagator.PropagateInit;
+import org.potassco.clingo.propagator.Propagator;
+import org.potassco.clingo.propagator.ViewPropagator;
+import org.potassco.clingo.solving.SolveResult;
+
+/**
+ * Solves unsatisfiable pigeonhole instances with a propagator that watches every atom and
+ * queries the {@link Assignment} for each change, which measures the cost of propagator callbacks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PropagatorBenchmark {
+
+    @Param({"6", "7"})
+    public int holes;
+
+    @Param({"0", "1", "8"})
+    public int queries;
+
+    @Benchmark
+    public SolveResult solve() {
+        try (Control control = new Control()) {
+            control.add(Workloads.pigeonhole(holes + 1, holes));
+            control.ground();
+            control.registerPropagator(new QueryingPropagator(queries));
+            return control.solve().getSolveResult();
+        }
+    }
+
+    @Benchmark
+    public SolveResult solveView() {
+        try (Control control = new Control()) {
+            control.add(Workloads.pigeonhole(holes + 1, holes));
+            control.ground();
+            control.registerPropagator(new QueryingViewPropagator(queries));
+            return control.solve().getSolveResult();
+        }
+    }
+
+    @Benchmark
+    public SolveResult solveMirrored() {
+        try (Control control = new Control()) {
+            control.add(Workloads.pigeonhole(holes + 1, holes));
+            control.ground();
+            control.registerPropagator(new MirroringPropagator(queries));
+            return control.solve().getSolveResult();
+        }
+    }
+
+    private static final class QueryingPropagator implements Propagator {
+
+        private final int queries;
+
+        QueryingPropagator(int queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public void init(PropagateInit init) {
+            for (SymbolicAtom atom : init.getSymbolicAtoms()) {
+                int literal = init.solverLiteral(atom.getLiteral());
+                init.addWatch(literal);
+                init.addWatch(-literal);
+            }
+        }
+
+        @Override
+        public void propagate(PropagateControl control, int[] changes) {
+            if (queries == 0)
+                return;
+            Assignment assignment = control.getAssignment();
+            int level = 0;
+            for (int change : changes) {
+                for (int i = 0; i < queries; i++) {
+                    if (assignment.isTrue(change))
+                        level += assignment.getLevel(change);
+                }
+            }
+            if (level < 0)
+                throw new IllegalStateException();
+        }
+    }
+
+    private static final class QueryingViewPropagator implements ViewPropagator {
+
+        private final int queries;
+
+        QueryingViewPropagator(int queries) {
+            this.queries = queries;
+        }
+
+        @Override
+        public void init(PropagateInit init) {
+            for (SymbolicAtom atom : init.getSymbolicAtoms()) {
+                int literal = init.solverLiteral(atom.getLiteral());
+                init.addWatch(literal);
+                init.addWatch(-literal);
+            }
+        }
+
+        @Override
+        public void propagate(PropagateControl control, ChangeView changes) {
+            if (queries == 0)
+                return;
+            Assignment assignment = control.getAssignment();
+            int level = 0;
+            for (int j = 0; j < changes.size(); j++) {
+                int change = changes.get(j);
+                for (int i = 0; i < queries; i++) {
+                    if (assignment.isTrue(change))
+                        level += assignment.getLevel(change);
+                }
+            }
+            if (level < 0)
+                throw new IllegalStateException();
+        }
+    }
+
+    private static final class MirroringPropagator implements Propagator {
+
+        private final int queries;
+        private final MirroredAssignment mirror = new MirroredAssignment();
+
+        MirroringPropagator(int queries) {
+            this.queries = queries;
+            mirror.setValidation(false);
+        }
+
+        @Override
+        public void init(PropagateInit init) {
+            mirror.init(init);
+            for (SymbolicAtom atom : init.getSymbolicAtoms())
+                mirror.watch(init, init.solverLiteral(atom.getLiteral()));
+        }
+
+        @Override
+        public void propagate(PropagateControl control, int[] changes) {
+            int threadId = mirror.propagate(control, changes);
+            int level = 0;
+            for (int change : changes) {
+                for (int i = 0; i < queries; i++) {
+                    if (mirror.isTrue(threadId, change))
+                        level += mirror.getLevel(threadId, change);
+                }
+            }
+            if (level < 0)
+                throw new IllegalStateException();
+        }
+
+        @Override
+        public void undo(PropagateControl control, int[] changes) {
+            mirror.undo(control, changes);
+        }
+    }
+}
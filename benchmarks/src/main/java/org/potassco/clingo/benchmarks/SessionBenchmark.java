@@ -0,0 +1,75 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.Session;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+import org.potassco.clingo.symbol.Symbol;
+
+/**
+ * A multi-shot step with many assumptions, translated to literals by {@link Control} on every call versus the
+ * cached index of a {@link Session}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark {
+
+    @Param({"10000"})
+    public int assumptions;
+
+    private Session session;
+    private List<Symbol> symbols;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        session = new Session();
+        session.add("{ a(1.." + assumptions + ") }.");
+        session.ground();
+        symbols = new ArrayList<>(assumptions);
+        for (int i = 1; i <= assumptions; i++) {
+            symbols.add(new Function("a", new Number(i)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        session.close();
+    }
+
+    @Benchmark
+    public boolean control() {
+        try (SolveHandle handle = session.getControl().solve(symbols, null, SolveMode.YIELD)) {
+            return handle.getSolveResult().satisfiable();
+        }
+    }
+
+    @Benchmark
+    public boolean session() {
+        try (SolveHandle handle = session.solve(symbols)) {
+            return handle.getSolveResult().satisfiable();
+        }
+    }
+}
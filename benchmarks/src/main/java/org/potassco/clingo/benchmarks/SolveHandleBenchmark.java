@@ -0,0 +1,76 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+
+/**
+ * Enumeration of graph colourings through {@link SolveHandle} iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolveHandleBenchmark {
+
+    @Param({"100", "1000"})
+    public int models;
+
+    @Param({"50"})
+    public int nodes;
+
+    private Control control;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        control = new Control("--models=" + models);
+        control.add(Workloads.graphColouring(nodes, 2, 4, 42));
+        control.ground();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        control.close();
+    }
+
+    @Benchmark
+    public int iterate() {
+        int count = 0;
+        try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+            while (handle.hasNext()) {
+                handle.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public void iterateSymbols(Blackhole blackhole) {
+        try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+            while (handle.hasNext()) {
+                Model model = handle.next();
+                blackhole.consume(model.getSymbols());
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.Text;
+
+/**
+ * Creation, parsing, and inspection of symbols.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int arity;
+
+    private Symbol[] arguments;
+    private String term;
+    private long function;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        arguments = new Symbol[arity];
+        for (int i = 0; i < arity; i++) {
+            arguments[i] = i % 2 == 0 ? new Number(i) : new Text("t" + i);
+        }
+        Function nested = new Function("f", new Function("g", arguments), new Number(arity));
+        term = nested.toString();
+        function = nested.getLong();
+    }
+
+    @Benchmark
+    public Symbol createNumber() {
+        return new Number(arity);
+    }
+
+    @Benchmark
+    public Symbol createFunction() {
+        return new Function("p", arguments);
+    }
+
+    @Benchmark
+    public Symbol parse() {
+        return Symbol.fromString(term);
+    }
+
+    @Benchmark
+    public String render() {
+        return Symbol.fromLong(function).toString();
+    }
+
+    @Benchmark
+    public int decode() {
+        Function outer = (Function) Symbol.fromLong(function);
+        Function inner = (Function) outer.getArguments()[0];
+        return outer.getName().length() + inner.getArguments().length;
+    }
+
+    @Benchmark
+    public int walk() {
+        return walk(Symbol.fromLong(function));
+    }
+
+    private static int walk(Symbol symbol) {
+        if (!(symbol instanceof Function))
+            return 1;
+        int size = 1;
+        for (Symbol argument : ((Function) symbol).getArguments()) {
+            size += walk(argument);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,123 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.potassco.clingo.collections.LongSet;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.Text;
+
+/**
+ * Symbols in hash and tree based collections, which stresses {@link Symbol#equals(Object)},
+ * {@link Symbol#hashCode()}, and {@link Symbol#compareTo(Symbol)}, compared to a {@link LongSet} of raw handles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolCollectionBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Symbol[] functions;
+    private Symbol[] numbers;
+    private Symbol[] lookups;
+    private Set<Symbol> set;
+    private LongSet longSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        functions = new Symbol[size];
+        numbers = new Symbol[size];
+        lookups = new Symbol[size];
+        for (int i = 0; i < size; i++) {
+            functions[i] = new Function("p", new Number(i), new Text("s" + i % 100));
+            numbers[i] = new Number(size - i);
+            // distinct java objects for the same symbols
+            lookups[i] = Symbol.fromLong(functions[size - i - 1].getLong());
+        }
+        set = new HashSet<>();
+        for (Symbol symbol : functions) {
+            set.add(symbol);
+        }
+        longSet = new LongSet();
+        for (Symbol symbol : functions) {
+            longSet.add(symbol.getLong());
+        }
+    }
+
+    @Benchmark
+    public Set<Symbol> hashSetAdd() {
+        Set<Symbol> symbols = new HashSet<>();
+        for (Symbol symbol : functions) {
+            symbols.add(symbol);
+        }
+        return symbols;
+    }
+
+    @Benchmark
+    public int hashSetContains() {
+        int found = 0;
+        for (Symbol symbol : lookups) {
+            if (set.contains(symbol))
+                found++;
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Set<Symbol> treeSetAddNumbers() {
+        Set<Symbol> symbols = new TreeSet<>();
+        for (Symbol symbol : numbers) {
+            symbols.add(symbol);
+        }
+        return symbols;
+    }
+
+    @Benchmark
+    public Set<Symbol> treeSetAddFunctions() {
+        Set<Symbol> symbols = new TreeSet<>();
+        for (Symbol symbol : functions) {
+            symbols.add(symbol);
+        }
+        return symbols;
+    }
+
+    @Benchmark
+    public LongSet longSetAdd() {
+        LongSet symbols = new LongSet();
+        for (Symbol symbol : functions) {
+            symbols.add(symbol.getLong());
+        }
+        return symbols;
+    }
+
+    @Benchmark
+    public int longSetContains() {
+        int found = 0;
+        for (Symbol symbol : lookups) {
+            if (longSet.contains(symbol.getLong()))
+                found++;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,115 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.potassco.clingo.control.BlockingExecutor;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.SolveHandle;
+
+/**
+ * Load test of many concurrent clients that each ground and solve a small problem, once calling clingo directly
+ * and once offloading the blocking calls to a {@link BlockingExecutor}.
+ * <p>
+ * The second workload enables SAT preprocessing, which runs when the search is started, so it covers the time a
+ * client spends in {@link Control#solve()} before the search.
+ * <p>
+ * On Java 21 and later, every client runs on its own virtual thread. On older versions the test falls back to a
+ * platform thread per client, where offloading only adds a hand-off.
+ * <pre>
+ * java -cp target/benchmarks.jar org.potassco.clingo.benchmarks.VirtualThreadLoad [clients] [pool threads]
+ * </pre>
+ */
+public class VirtualThreadLoad {
+
+    public static void main(String... args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        String program = Workloads.graphColouring(30, 2, 4, 42);
+        String[] prepro = {"1", "--sat-prepro=2"};
+
+        System.out.printf("%d clients, %d pool threads, %s%n", clients, threads,
+                virtualThreads() ? "virtual threads" : "platform threads (no virtual threads available)");
+        // warm up
+        run(program, Math.min(clients, 500), null, "1");
+        try (BlockingExecutor executor = new BlockingExecutor(threads)) {
+            run(program, Math.min(clients, 500), executor, "1");
+        }
+
+        report("direct", clients, run(program, clients, null, "1"));
+        try (BlockingExecutor executor = new BlockingExecutor(threads)) {
+            report("offloaded", clients, run(program, clients, executor, "1"));
+        }
+        report("direct, preprocessing", clients, run(program, clients, null, prepro));
+        try (BlockingExecutor executor = new BlockingExecutor(threads)) {
+            report("offloaded, preprocessing", clients, run(program, clients, executor, prepro));
+        }
+    }
+
+    private static long run(String program, int clients, BlockingExecutor blockingExecutor, String... arguments) throws Exception {
+        AtomicLong models = new AtomicLong();
+        long start = System.nanoTime();
+        try (AutoCloseableExecutor executor = new AutoCloseableExecutor(newClientExecutor())) {
+            List<Future<?>> requests = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                requests.add(executor.service.submit(() -> {
+                    try (Control control = new Control(arguments)) {
+                        control.setBlockingExecutor(blockingExecutor);
+                        control.add(program);
+                        control.ground();
+                        try (SolveHandle handle = control.solve()) {
+                            if (handle.getSolveResult().satisfiable())
+                                models.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+        }
+        if (models.get() != clients)
+            throw new IllegalStateException("expected " + clients + " models, got " + models.get());
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String mode, int clients, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-24s %8.2f s %10.1f requests/s%n", mode, seconds, clients / seconds);
+    }
+
+    private static boolean virtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newClientExecutor() throws Exception {
+        if (virtualThreads())
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        return Executors.newCachedThreadPool();
+    }
+
+    private static final class AutoCloseableExecutor implements AutoCloseable {
+
+        private final ExecutorService service;
+
+        private AutoCloseableExecutor(ExecutorService service) {
+            this.service = service;
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            service.shutdown();
+            service.awaitTermination(1, TimeUnit.HOURS);
+        }
+    }
+}
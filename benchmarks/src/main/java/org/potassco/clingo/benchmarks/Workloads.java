@@ -0,0 +1,82 @@
+package org.potassco.clingo.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generators for the logic programs used by the benchmarks.
+ */
+public final class Workloads {
+
+    private Workloads() {
+    }
+
+    /**
+     * Place each pigeon into a hole such that no two pigeons share a hole.
+     * The program is unsatisfiable if there are more pigeons than holes, which makes for a hard proof.
+     *
+     * @param pigeons the number of pigeons
+     * @param holes   the number of holes
+     * @return the pigeonhole program
+     */
+    public static String pigeonhole(int pigeons, int holes) {
+        return "pigeon(1.." + pigeons + "). hole(1.." + holes + ").\n" +
+                "1 { in(P,H) : hole(H) } 1 :- pigeon(P).\n" +
+                ":- in(P,H), in(Q,H), P < Q.\n";
+    }
+
+    /**
+     * Colour a random graph such that adjacent nodes have different colours.
+     *
+     * @param nodes   the number of nodes
+     * @param degree  the number of outgoing edges per node
+     * @param colours the number of colours
+     * @param seed    the seed used to generate the edges
+     * @return the graph colouring program including the instance
+     */
+    public static String graphColouring(int nodes, int degree, int colours, long seed) {
+        Random random = new Random(seed);
+        StringBuilder program = new StringBuilder();
+        program.append("node(1..").append(nodes).append("). colour(1..").append(colours).append(").\n");
+        for (int u = 1; u <= nodes; u++) {
+            for (int i = 0; i < degree; i++) {
+                int v = 1 + random.nextInt(nodes);
+                if (u != v)
+                    program.append("edge(").append(u).append(',').append(v).append(").\n");
+            }
+        }
+        program.append("1 { assign(N,C) : colour(C) } 1 :- node(N).\n");
+        program.append(":- edge(U,V), assign(U,C), assign(V,C).\n");
+        program.append("#show assign/2.\n");
+        return program.toString();
+    }
+
+    /**
+     * A set of facts with nested terms.
+     *
+     * @param size the number of facts
+     * @return the facts
+     */
+    public static String facts(int size) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            program.append("p(").append(i).append(",f(").append(i % 10).append(",\"s").append(i % 100).append("\")).\n");
+        }
+        return program.toString();
+    }
+
+    /**
+     * A transitive closure encoding over a chain of facts, which gives the parser some non-ground rules.
+     *
+     * @param size the number of edges in the chain
+     * @return the encoding including the instance
+     */
+    public static String reachability(int size) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            program.append("edge(").append(i).append(',').append(i + 1).append(").\n");
+        }
+        program.append("reach(X,Y) :- edge(X,Y).\n");
+        program.append("reach(X,Z) :- reach(X,Y), edge(Y,Z), X < 10.\n");
+        return program.toString();
+    }
+}
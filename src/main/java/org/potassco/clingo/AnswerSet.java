@@ -19,11 +19,15 @@
 
 package org.potassco.clingo;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.potassco.clingo.solving.ModelType;
 import org.potassco.clingo.symbol.Symbol;
 
+/**
+ * An immutable answer set, which may be shared by several callers, e.g., through a {@link ResultCache}.
+ */
 public class AnswerSet {
 
     private final List<Symbol> symbols;
@@ -31,17 +35,23 @@ public class AnswerSet {
     private final ModelType type;
 
     AnswerSet(List<Symbol> symbols, ModelType type, long[] cost) {
-        this.symbols = symbols;
+        this.symbols = Collections.unmodifiableList(symbols);
         this.type = type;
         this.cost = cost;
     }
 
+    /**
+     * @return the unmodifiable symbols of the answer set
+     */
     public List<Symbol> getSymbols() {
         return symbols;
     }
 
+    /**
+     * @return a copy of the cost of the answer set
+     */
     public long[] getCost() {
-        return cost;
+        return cost.clone();
     }
 
     public ModelType getType() {
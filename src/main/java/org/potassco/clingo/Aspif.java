@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import org.potassco.clingo.backend.BackendType;
+import org.potassco.clingo.configuration.args.Option;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.SolveHandle;
+
+/**
+ * Grounds a program once and replicates the ground program into several controls.
+ * <p>
+ * The program literals of a replica are the same as those of the grounding control, since aspif keeps the atom
+ * numbering.
+ */
+final class Aspif {
+
+    private Aspif() {
+    }
+
+    /**
+     * Ground the program with a control that writes its ground program to a file instead of its solver.
+     *
+     * @param program a logic program
+     * @param inspect called with the grounded control before it is closed, or null
+     * @return the ground program in aspif format
+     */
+    static String ground(String program, Consumer<Control> inspect) {
+        try {
+            Path file = Files.createTempFile("clingo", ".aspif");
+            try {
+                try (Control control = new Control()) {
+                    control.registerBackend(BackendType.ASPIF, file, true);
+                    control.add(program);
+                    control.ground();
+                    if (inspect != null)
+                        inspect.accept(control);
+                    // the ground program of a step is only complete once it is passed on for solving
+                    try (SolveHandle handle = control.solve()) {
+                        handle.getSolveResult();
+                    }
+                }
+                return Files.readString(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param aspif   a ground program in aspif format
+     * @param options the configuration of the replica
+     * @return a new control that is ready to solve the ground program
+     */
+    static Control load(String aspif, Option... options) {
+        Control control = new Control();
+        try {
+            control.getConfiguration().set(options);
+            control.add(aspif);
+            control.ground();
+        } catch (RuntimeException e) {
+            control.close();
+            throw e;
+        }
+        return control;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.potassco.clingo.control.Control;
+
+/**
+ * The running instances of a {@link BatchSolver#solve(List) batch}.
+ * <p>
+ * Results are handed out in the order in which the instances finish. Every instance produces exactly one result,
+ * also if it failed or the batch was cancelled before it was solved. The results are meant to be consumed by a
+ * single thread.
+ */
+public final class Batch implements AutoCloseable {
+
+    private final int size;
+    private final BlockingQueue<BatchResult> results = new LinkedBlockingQueue<>();
+    // guarded by this, a control is removed before it is closed, so cancel() never interrupts a closed control
+    private final Set<Control> running = new HashSet<>();
+    private volatile boolean cancelled;
+    private int taken;
+
+    Batch(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return the number of instances of this batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return whether all results were taken
+     */
+    public boolean isDone() {
+        return taken == size;
+    }
+
+    /**
+     * Wait for the next instance to finish.
+     *
+     * @return the result of the instance
+     * @throws NoSuchElementException if all results were already taken
+     * @throws InterruptedException   if interrupted while waiting
+     */
+    public BatchResult take() throws InterruptedException {
+        if (taken == size)
+            throw new NoSuchElementException("all results of the batch were taken");
+        BatchResult result = results.take();
+        taken++;
+        return result;
+    }
+
+    /**
+     * Wait for the next instance to finish for at most the given time.
+     *
+     * @return the result of the instance or null if no instance finished in time
+     * @throws NoSuchElementException if all results were already taken
+     * @throws InterruptedException   if interrupted while waiting
+     */
+    public BatchResult poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (taken == size)
+            throw new NoSuchElementException("all results of the batch were taken");
+        BatchResult result = results.poll(timeout, unit);
+        if (result != null)
+            taken++;
+        return result;
+    }
+
+    /**
+     * Stream the remaining results in the order in which the instances finish.
+     * Closing the stream cancels the batch.
+     *
+     * @return a blocking stream of the remaining results
+     */
+    public Stream<BatchResult> stream() {
+        Spliterator<BatchResult> spliterator = new Spliterators.AbstractSpliterator<>(size - taken, Spliterator.NONNULL | Spliterator.SIZED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super BatchResult> action) {
+                if (taken == size)
+                    return false;
+                try {
+                    action.accept(take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new IllegalStateException("interrupted while waiting for the next result", e);
+                }
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(this::cancel);
+    }
+
+    /**
+     * Wait for all remaining instances to finish.
+     *
+     * @return the remaining results ordered by their index
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<BatchResult> await() throws InterruptedException {
+        List<BatchResult> remaining = new ArrayList<>(size - taken);
+        while (taken < size) {
+            remaining.add(take());
+        }
+        remaining.sort(Comparator.comparingInt(BatchResult::getIndex));
+        return Collections.unmodifiableList(remaining);
+    }
+
+    /**
+     * Cancel all instances of this batch.
+     * Running searches are interrupted and instances that did not start yet are skipped.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        for (Control control : running) {
+            control.interrupt();
+        }
+    }
+
+    /**
+     * @return whether the batch was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the batch.
+     */
+    @Override
+    public void close() {
+        cancel();
+    }
+
+    synchronized void started(Control control) {
+        running.add(control);
+        if (cancelled)
+            control.interrupt();
+    }
+
+    /**
+     * Must be called before the control is closed.
+     */
+    synchronized void finished(Control control) {
+        running.remove(control);
+    }
+
+    void complete(BatchResult result) {
+        results.add(result);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.potassco.clingo.solving.SolveResult;
+
+/**
+ * The outcome of a single instance of a {@link Batch}.
+ * <p>
+ * The statistics are copied out of the native statistics of the instance, since its control is closed once the
+ * instance is done.
+ */
+public final class BatchResult {
+
+    private final int index;
+    private final List<AnswerSet> answerSets;
+    private final SolveResult solveResult;
+    private final long groundNanos;
+    private final long solveNanos;
+    private final Map<String, Double> statistics;
+    private final RuntimeException error;
+    private final boolean cancelled;
+
+    BatchResult(int index, List<AnswerSet> answerSets, SolveResult solveResult, long groundNanos, long solveNanos,
+                Map<String, Double> statistics) {
+        this(index, answerSets, solveResult, groundNanos, solveNanos, statistics, null, false);
+    }
+
+    private BatchResult(int index, List<AnswerSet> answerSets, SolveResult solveResult, long groundNanos,
+                        long solveNanos, Map<String, Double> statistics, RuntimeException error, boolean cancelled) {
+        this.index = index;
+        this.answerSets = Collections.unmodifiableList(answerSets);
+        this.solveResult = solveResult;
+        this.groundNanos = groundNanos;
+        this.solveNanos = solveNanos;
+        this.statistics = Collections.unmodifiableMap(statistics);
+        this.error = error;
+        this.cancelled = cancelled;
+    }
+
+    static BatchResult failed(int index, RuntimeException error) {
+        return new BatchResult(index, Collections.emptyList(), null, 0, 0, Collections.emptyMap(), error, false);
+    }
+
+    static BatchResult cancelled(int index) {
+        return new BatchResult(index, Collections.emptyList(), null, 0, 0, Collections.emptyMap(), null, true);
+    }
+
+    /**
+     * @return the position of the instance in the list passed to {@link BatchSolver#solve(List)}
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the answer sets found before the search finished, was interrupted or cancelled
+     */
+    public List<AnswerSet> getAnswerSets() {
+        return answerSets;
+    }
+
+    /**
+     * @return the result of the search, or null if the instance failed or was cancelled before it was solved
+     */
+    public SolveResult getSolveResult() {
+        return solveResult;
+    }
+
+    /**
+     * @return whether the search was interrupted because of the timeout or the cancellation of the batch
+     */
+    public boolean isInterrupted() {
+        return solveResult != null && solveResult.interrupted();
+    }
+
+    /**
+     * @return whether the batch was cancelled before this instance was solved
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return the exception that aborted this instance, or null
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * @return the wall clock time spent on parsing and grounding this instance
+     */
+    public long getGroundNanos() {
+        return groundNanos;
+    }
+
+    /**
+     * @return the wall clock time spent on solving this instance
+     */
+    public long getSolveNanos() {
+        return solveNanos;
+    }
+
+    /**
+     * Get clingo's statistics of this instance, flattened to keys like <code>summary.times.total</code>.
+     * Elements of arrays are keyed by their index, e.g., <code>summary.costs.0</code>.
+     *
+     * @return the statistics by their concatenated keys
+     */
+    public Map<String, Double> getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        if (cancelled)
+            return "BatchResult{index=" + index + ", cancelled}";
+        if (error != null)
+            return "BatchResult{index=" + index + ", error=" + error + '}';
+        return "BatchResult{index=" + index + ", result=" + solveResult + ", answerSets=" + answerSets.size() + '}';
+    }
+}
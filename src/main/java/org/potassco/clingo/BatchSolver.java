@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+import org.potassco.clingo.configuration.args.Option;
+import org.potassco.clingo.configuration.args.Parallel;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.solving.SolveResult;
+import org.potassco.clingo.statistics.Statistics;
+import org.potassco.clingo.statistics.StatisticsMap;
+
+/**
+ * Solves many independent instances of the same encoding in parallel.
+ * <p>
+ * Each instance is grounded and solved with its own {@link Control} on a {@link ForkJoinPool}. The number of
+ * threads clingo uses per instance is taken from a {@link Parallel} option and defaults to one. The total number
+ * of clingo threads of all running instances never exceeds the thread limit of the batch solver, so several
+ * multi-threaded instances do not oversubscribe the cores.
+ */
+public class BatchSolver implements AutoCloseable {
+
+    private final String encoding;
+    private final Option[] options;
+    private final int threadsPerInstance;
+    private final Semaphore threads;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a batch solver that uses all available processors.
+     *
+     * @param encoding the encoding shared by all instances
+     * @param options  the configuration of each instance
+     */
+    public BatchSolver(String encoding, Option... options) {
+        this(encoding, Runtime.getRuntime().availableProcessors(), options);
+    }
+
+    /**
+     * @param encoding   the encoding shared by all instances
+     * @param maxThreads the maximum number of clingo threads of all instances that run at the same time
+     * @param options    the configuration of each instance
+     */
+    public BatchSolver(String encoding, int maxThreads, Option... options) {
+        if (maxThreads < 1)
+            throw new IllegalArgumentException("maximum number of threads must be positive, got " + maxThreads);
+        this.encoding = encoding;
+        this.options = options.clone();
+        this.threadsPerInstance = threadsPerInstance(options);
+        if (threadsPerInstance > maxThreads)
+            throw new IllegalArgumentException("an instance uses " + threadsPerInstance + " threads, but at most " + maxThreads + " are allowed");
+        this.threads = new Semaphore(maxThreads);
+        this.pool = new ForkJoinPool(maxThreads / threadsPerInstance);
+    }
+
+    /**
+     * Solve the given instances without a timeout.
+     *
+     * @param instances the instance facts, each solved together with the encoding
+     * @return the running batch
+     */
+    public Batch solve(List<String> instances) {
+        return solve(instances, null);
+    }
+
+    /**
+     * Solve the given instances.
+     *
+     * @param instances the instance facts, each solved together with the encoding
+     * @param timeout   optional time after which the search of an instance is interrupted
+     * @return the running batch
+     */
+    public Batch solve(List<String> instances, Duration timeout) {
+        Batch batch = new Batch(instances.size());
+        for (int i = 0; i < instances.size(); i++) {
+            int index = i;
+            String instance = instances.get(i);
+            pool.execute(() -> {
+                BatchResult result;
+                try {
+                    result = solve(batch, index, instance, timeout);
+                } catch (Error e) {
+                    // e.g. the native library is missing, the batch must still receive a result for the instance
+                    batch.complete(BatchResult.failed(index, new CompletionException(e)));
+                    throw e;
+                }
+                batch.complete(result);
+            });
+        }
+        return batch;
+    }
+
+    /**
+     * Shut down the worker threads. Instances that are already submitted are still solved.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private BatchResult solve(Batch batch, int index, String instance, Duration timeout) {
+        if (batch.isCancelled())
+            return BatchResult.cancelled(index);
+        threads.acquireUninterruptibly(threadsPerInstance);
+        try (Control control = new Control()) {
+            if (batch.isCancelled())
+                return BatchResult.cancelled(index);
+            long start = System.nanoTime();
+            control.getConfiguration().set(options);
+            control.add(instance);
+            control.add(encoding);
+            control.ground();
+            long grounded = System.nanoTime();
+
+            // models are only collected on clingo's solving thread and read after the future completed
+            List<AnswerSet> answerSets = new ArrayList<>();
+            SolveEventCallback callback = new SolveEventCallback() {
+                @Override
+                public void onModel(Model model) {
+                    answerSets.add(new AnswerSet(Arrays.asList(model.getSymbols()), model.getType(), model.getCost()));
+                }
+            };
+            CompletableFuture<SolveResult> future = control.solveAsync(callback, timeout);
+            SolveResult result;
+            batch.started(control);
+            try {
+                result = future.join();
+            } finally {
+                batch.finished(control);
+            }
+            long solved = System.nanoTime();
+
+            Map<String, Double> statistics = new LinkedHashMap<>();
+            flatten(control.getStatistics(), null, statistics);
+            return new BatchResult(index, answerSets, result, grounded - start, solved - grounded, statistics);
+        } catch (RuntimeException e) {
+            return BatchResult.failed(index, e);
+        } finally {
+            threads.release(threadsPerInstance);
+        }
+    }
+
+    private static int threadsPerInstance(Option... options) {
+        int threads = 1;
+        for (Option option : options) {
+            if (option instanceof Parallel)
+                threads = ((Parallel) option).getThreads();
+        }
+        return threads;
+    }
+
+    private static void flatten(Statistics statistics, String key, Map<String, Double> values) {
+        switch (statistics.getType()) {
+            case VALUE:
+                values.put(key, statistics.get());
+                break;
+            case ARRAY:
+                for (int i = 0; i < statistics.size(); i++) {
+                    flatten(statistics.get(i), concat(key, String.valueOf(i)), values);
+                }
+                break;
+            case MAP:
+                for (String name : ((StatisticsMap) statistics).keys()) {
+                    flatten(statistics.get(name), concat(key, name), values);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static String concat(String key, String name) {
+        return key == null ? name : key + '.' + name;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+/**
+ * A snapshot of the counters of a {@link ResultCache}.
+ */
+public final class CacheMetrics {
+
+    private final long hits;
+    private final long diskHits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final long weight;
+
+    CacheMetrics(long hits, long diskHits, long misses, long evictions, int size, long weight) {
+        this.hits = hits;
+        this.diskHits = diskHits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return how many lookups were answered from memory
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many lookups were answered from the on-disk tier
+     */
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    /**
+     * @return how many lookups found no result
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return how many results were evicted from memory to stay within the maximum weight
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return the number of results in memory
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the total weight of the results in memory
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{hits=" + hits + ", diskHits=" + diskHits + ", misses=" + misses
+                + ", evictions=" + evictions + ", size=" + size + ", weight=" + weight + '}';
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.potassco.clingo.configuration.args.Option;
+import org.potassco.clingo.control.Control;
+
+/**
+ * Keeps grounded {@link Control} instances of an encoding warm so that they can be solved again with other instances.
+ * <p>
+ * Controls are keyed by their encoding and options. Idle controls are kept in least recently used order and are
+ * closed once there are more than {@code maxIdle} of them or once they were idle for longer than the idle timeout.
+ * Expired controls are evicted lazily whenever a control is acquired or released.
+ */
+final class ControlPool implements AutoCloseable {
+
+    private final int maxIdle;
+    private final long idleTimeoutNanos;
+    private final ArrayDeque<Idle> idle = new ArrayDeque<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long discarded;
+    private int leased;
+    private boolean closed;
+
+    ControlPool(int maxIdle, long idleTimeoutNanos) {
+        if (maxIdle < 0)
+            throw new IllegalArgumentException("maxIdle must not be negative: " + maxIdle);
+        if (idleTimeoutNanos <= 0)
+            throw new IllegalArgumentException("idle timeout must be positive");
+        this.maxIdle = maxIdle;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+    }
+
+    /**
+     * Take an idle control for the given encoding and options out of the pool, or create and ground a new one.
+     * The control must be handed back with {@link #release(String, Control, boolean)}.
+     */
+    Control acquire(String key, String encoding, Option... options) {
+        List<Control> expired = new ArrayList<>();
+        Control control = null;
+        synchronized (this) {
+            if (closed)
+                throw new IllegalStateException("solver is closed");
+            evictExpired(System.nanoTime(), expired);
+            Iterator<Idle> iterator = idle.descendingIterator();
+            while (iterator.hasNext()) {
+                Idle entry = iterator.next();
+                if (entry.key.equals(key)) {
+                    iterator.remove();
+                    control = entry.control;
+                    break;
+                }
+            }
+            if (control == null)
+                misses++;
+            else
+                hits++;
+            leased++;
+        }
+        closeAll(expired);
+        if (control != null)
+            return control;
+        try {
+            control = new Control();
+            control.getConfiguration().set(options);
+            control.add(encoding);
+            control.ground();
+            return control;
+        } catch (RuntimeException e) {
+            if (control != null)
+                control.close();
+            synchronized (this) {
+                leased--;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hand a control back to the pool.
+     *
+     * @param reusable whether the control is in the state it was acquired in, otherwise it is closed
+     */
+    void release(String key, Control control, boolean reusable) {
+        List<Control> expired = new ArrayList<>();
+        synchronized (this) {
+            leased--;
+            if (!reusable || closed || maxIdle == 0) {
+                discarded++;
+                expired.add(control);
+            } else {
+                long now = System.nanoTime();
+                idle.addLast(new Idle(key, control, now));
+                evictExpired(now, expired);
+                while (idle.size() > maxIdle) {
+                    expired.add(idle.removeFirst().control);
+                    evictions++;
+                }
+            }
+        }
+        closeAll(expired);
+    }
+
+    synchronized PoolMetrics getMetrics() {
+        return new PoolMetrics(hits, misses, evictions, discarded, idle.size(), leased);
+    }
+
+    @Override
+    public void close() {
+        List<Control> controls = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (Idle entry : idle) {
+                controls.add(entry.control);
+            }
+            idle.clear();
+        }
+        closeAll(controls);
+    }
+
+    private void evictExpired(long now, List<Control> expired) {
+        while (!idle.isEmpty() && now - idle.peekFirst().since > idleTimeoutNanos) {
+            expired.add(idle.removeFirst().control);
+            evictions++;
+        }
+    }
+
+    private static void closeAll(List<Control> controls) {
+        for (Control control : controls) {
+            control.close();
+        }
+    }
+
+    private static final class Idle {
+        private final String key;
+        private final Control control;
+        private final long since;
+
+        private Idle(String key, Control control, long since) {
+            this.key = key;
+            this.control = control;
+            this.since = since;
+        }
+    }
+}
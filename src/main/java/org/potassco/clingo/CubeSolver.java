@@ -0,0 +1,638 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.potassco.clingo.configuration.args.Option;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+import org.potassco.clingo.control.SymbolicAtom;
+import org.potassco.clingo.control.SymbolicAtoms;
+import org.potassco.clingo.internal.Costs;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.ModelSnapshot;
+import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.solving.SolveResult;
+import org.potassco.clingo.symbol.Signature;
+
+/**
+ * Splits the search space of a program into cubes of assumptions and solves them in parallel.
+ * <p>
+ * The program is grounded once and its ground program is replicated into one {@link Control} per worker.
+ * A {@link Splitter} selects up to {@code depth} atoms of the grounding, and each of the <code>2^depth</code>
+ * combinations of their truth values becomes a cube that is solved as the assumptions of a solve call.
+ * The cubes are disjoint and together cover the whole search space.
+ * <p>
+ * The cubes are numbered and each one is derived from its number when a worker takes it, so they are never
+ * materialized. If a cube is unsatisfiable, its core, i.e., the subset of its assumptions that caused the conflict,
+ * refutes all pending cubes that contain the core, so these are skipped. An empty core refutes all pending cubes.
+ * A core is stored as a bit mask over the split atoms, so checking whether a cube is refuted takes one comparison
+ * per stored core.
+ * <p>
+ * The results of the cubes are merged depending on the {@link Mode}:
+ * <ul>
+ *     <li>{@link Mode#SATISFIABILITY}: the first model of any cube stops all workers,</li>
+ *     <li>{@link Mode#ENUMERATION}: the models of all cubes are collected,</li>
+ *     <li>{@link Mode#OPTIMIZATION}: every cube is solved under the best cost found so far as upper bound, and
+ *     the best model of all cubes is kept.</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * CubeSolver solver = new CubeSolver(program);
+ * solver.setWorkers(16);
+ * solver.setDepth(8);
+ * CubeSolver.Result result = solver.solve(CubeSolver.Mode.SATISFIABILITY);
+ * }</pre>
+ */
+public class CubeSolver {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "clingo-cube-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * How the results of the cubes are merged.
+     */
+    public enum Mode {
+        /**
+         * Find any model.
+         */
+        SATISFIABILITY,
+        /**
+         * Find all models.
+         */
+        ENUMERATION,
+        /**
+         * Find a model with the best cost.
+         */
+        OPTIMIZATION
+    }
+
+    /**
+     * Selects the atoms that the search space is split on.
+     */
+    @FunctionalInterface
+    public interface Splitter {
+
+        /**
+         * @param atoms the symbolic atoms of the grounded program
+         * @param count the maximum number of atoms to select
+         * @return the program literals of at most count atoms, the most important first
+         */
+        int[] select(SymbolicAtoms atoms, int count);
+
+        /**
+         * @param signatures the signatures of the atoms to split on, or none to consider all atoms
+         * @return a splitter that selects the first atoms of the given signatures that are neither facts nor externals
+         */
+        static Splitter of(Signature... signatures) {
+            Signature[] copy = signatures.clone();
+            return (atoms, count) -> {
+                int[] literals = new int[count];
+                int size = 0;
+                for (SymbolicAtom atom : atoms) {
+                    if (size == count)
+                        break;
+                    if (atom.isFact() || atom.isExternal() || !matches(atom, copy))
+                        continue;
+                    literals[size++] = atom.getLiteral();
+                }
+                return Arrays.copyOf(literals, size);
+            };
+        }
+
+        private static boolean matches(SymbolicAtom atom, Signature... signatures) {
+            if (signatures.length == 0)
+                return true;
+            for (Signature signature : signatures) {
+                if (atom.match(signature))
+                    return true;
+            }
+            return false;
+        }
+    }
+
+    private final String program;
+    private final Option[] options;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int depth = 4;
+    private Splitter splitter = Splitter.of();
+    private ShowType showType = ShowType.shown();
+    // the grounding is reused by all solve calls until the splitting changes
+    private String aspif;
+    private int[] splits;
+
+    /**
+     * @param program a logic program
+     * @param options the configuration of each worker
+     */
+    public CubeSolver(String program, Option... options) {
+        this.program = program;
+        this.options = options.clone();
+    }
+
+    /**
+     * @param workers the number of controls that solve cubes in parallel
+     */
+    public synchronized void setWorkers(int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("at least one worker is required");
+        this.workers = workers;
+    }
+
+    /**
+     * @param depth the maximum number of atoms to split on, which yields up to <code>2^depth</code> cubes
+     */
+    public synchronized void setDepth(int depth) {
+        if (depth < 0 || depth > 30)
+            throw new IllegalArgumentException("the depth must be between 0 and 30");
+        this.depth = depth;
+        this.splits = null;
+    }
+
+    /**
+     * @param splitter the heuristic that selects the atoms to split on
+     */
+    public synchronized void setSplitter(Splitter splitter) {
+        this.splitter = splitter;
+        this.splits = null;
+    }
+
+    /**
+     * @param showType the symbols to copy into the snapshots of the models
+     */
+    public synchronized void setShowType(ShowType showType) {
+        this.showType = showType;
+    }
+
+    /**
+     * Solve all cubes until the result of the given mode is known.
+     *
+     * @param mode how to merge the results of the cubes
+     * @return the merged result
+     */
+    public Result solve(Mode mode) {
+        return solve(mode, null);
+    }
+
+    /**
+     * Solve all cubes until the result of the given mode is known or the timeout passes.
+     *
+     * @param mode    how to merge the results of the cubes
+     * @param timeout the time budget, or null to solve all cubes
+     * @return the merged result
+     */
+    public Result solve(Mode mode, Duration timeout) {
+        long start = System.nanoTime();
+        Run run;
+        int workers;
+        synchronized (this) {
+            if (aspif == null || splits == null) {
+                int count = depth;
+                Splitter splitter = this.splitter;
+                aspif = Aspif.ground(program, control -> {
+                    int[] selected = splitter.select(control.getSymbolicAtoms(), count);
+                    checkSplits(selected, count);
+                    splits = selected;
+                });
+            }
+            run = new Run(mode, splits, showType, start);
+            workers = Math.min(this.workers, run.count);
+        }
+        for (int i = 0; i < workers; i++) {
+            Worker worker = new Worker(run);
+            run.workers.add(worker);
+        }
+        CountDownLatch remaining = run.remaining(workers);
+        for (Worker worker : run.workers)
+            EXECUTOR.execute(worker);
+
+        boolean interrupted = false;
+        try {
+            if (timeout == null)
+                remaining.await();
+            else if (!remaining.await(timeout.toNanos(), TimeUnit.NANOSECONDS))
+                run.stop();
+        } catch (InterruptedException e) {
+            interrupted = true;
+            run.stop();
+        }
+        while (remaining.getCount() > 0) {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+        return run.result(System.nanoTime());
+    }
+
+    private static void checkSplits(int[] splits, int depth) {
+        if (splits.length > depth)
+            throw new IllegalStateException("the splitter selected " + splits.length + " atoms, but the depth is " + depth);
+        for (int i = 0; i < splits.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (Math.abs(splits[i]) == Math.abs(splits[j]))
+                    throw new IllegalStateException("the splitter selected the literal " + splits[i] + " twice");
+            }
+        }
+    }
+
+    /**
+     * The state shared by the workers of a single call of {@link #solve(Mode, Duration)}.
+     */
+    private final class Run {
+
+        private final Mode mode;
+        private final int[] splits;
+        private final int count;
+        private final ShowType showType;
+        private final long start;
+        private final List<Worker> workers = new ArrayList<>();
+        private CountDownLatch remaining;
+        // guarded by this
+        private int next;
+        private int solved;
+        private int pruned;
+        // the core at index i contains the split atoms in coreMasks[i] with the signs in coreSigns[i], where a set
+        // bit stands for a negative literal, like in the number of a cube
+        private int[] coreMasks = new int[16];
+        private int[] coreSigns = new int[16];
+        private int cores;
+        private final List<ModelSnapshot> models = new ArrayList<>();
+        private ModelSnapshot best;
+        private boolean done;
+        private boolean refuted;
+        private boolean incomplete;
+        private RuntimeException error;
+
+        private Run(Mode mode, int[] splits, ShowType showType, long start) {
+            this.mode = mode;
+            this.splits = splits;
+            this.count = 1 << splits.length;
+            this.showType = showType;
+            this.start = start;
+        }
+
+        private CountDownLatch remaining(int workers) {
+            remaining = new CountDownLatch(workers);
+            return remaining;
+        }
+
+        private synchronized int[] next() {
+            while (!done && next < count) {
+                int number = next++;
+                if (!isRefuted(number))
+                    return cube(number);
+                pruned++;
+            }
+            return null;
+        }
+
+        /**
+         * @return the assumptions of the cube with the given number, whose bit j is set if split atom j is false
+         */
+        private int[] cube(int number) {
+            int[] cube = new int[splits.length];
+            for (int j = 0; j < splits.length; j++)
+                cube[j] = (number >> j & 1) == 0 ? splits[j] : -splits[j];
+            return cube;
+        }
+
+        private boolean isRefuted(int number) {
+            for (int i = 0; i < cores; i++) {
+                if ((number & coreMasks[i]) == coreSigns[i])
+                    return true;
+            }
+            return false;
+        }
+
+        private void addCore(int[] core) {
+            int mask = 0;
+            int signs = 0;
+            // a core is a subset of the assumptions of its cube, so each of its literals is a split atom or its negation
+            for (int literal : core) {
+                for (int j = 0; j < splits.length; j++) {
+                    if (literal == splits[j] || literal == -splits[j]) {
+                        mask |= 1 << j;
+                        if (literal != splits[j])
+                            signs |= 1 << j;
+                        break;
+                    }
+                }
+            }
+            if (cores == coreMasks.length) {
+                coreMasks = Arrays.copyOf(coreMasks, cores * 2);
+                coreSigns = Arrays.copyOf(coreSigns, cores * 2);
+            }
+            coreMasks[cores] = mask;
+            coreSigns[cores++] = signs;
+        }
+
+        private synchronized long[] getBound() {
+            return best == null ? null : best.getCost();
+        }
+
+        private synchronized void model(Model model) {
+            if (done)
+                return;
+            switch (mode) {
+                case SATISFIABILITY:
+                    best = model.snapshot(showType);
+                    models.add(best);
+                    stop();
+                    break;
+                case ENUMERATION:
+                    models.add(model.snapshot(showType));
+                    break;
+                case OPTIMIZATION:
+                    if (best == null || Costs.compare(model.getCost(), best.getCost()) < 0) {
+                        best = model.snapshot(showType);
+                        models.add(best);
+                    }
+                    break;
+            }
+        }
+
+        private synchronized void complete(SolveResult solveResult, int[] core) {
+            if (solveResult.interrupted()) {
+                // a cube that was interrupted because another one refuted it counts as refuted
+                if (refuted)
+                    pruned++;
+                else
+                    incomplete = true;
+                return;
+            }
+            solved++;
+            if (core == null)
+                return;
+            if (core.length > 0) {
+                addCore(core);
+                return;
+            }
+            refuted = true;
+            pruned += count - next;
+            next = count;
+            interruptAll();
+        }
+
+        private synchronized void fail(RuntimeException e) {
+            if (error == null)
+                error = e;
+            stop();
+        }
+
+        private synchronized void stop() {
+            if (done)
+                return;
+            done = true;
+            if (next < count)
+                incomplete = true;
+            interruptAll();
+        }
+
+        private void interruptAll() {
+            // a worker clears its control before closing it, and an interrupt of an idle control would stick
+            for (Worker worker : workers) {
+                if (worker.control != null)
+                    worker.control.interrupt();
+            }
+        }
+
+        private synchronized Result result(long end) {
+            if (error != null)
+                throw error;
+            // a model found in satisfiability mode is conclusive even if the other cubes were cut short
+            boolean complete = !incomplete || (mode == Mode.SATISFIABILITY && best != null);
+            return new Result(mode, models, best, complete, count, solved, pruned, end - start);
+        }
+    }
+
+    /**
+     * A control that solves cubes until there are none left, which is also the callback of its solve calls.
+     */
+    private final class Worker extends SolveEventCallback implements Runnable {
+
+        private final Run run;
+        // guarded by run
+        private Control control;
+
+        private Worker(Run run) {
+            this.run = run;
+        }
+
+        @Override
+        public void run() {
+            try (Control control = Aspif.load(aspif(), options)) {
+                configure(control);
+                synchronized (run) {
+                    if (run.done)
+                        return;
+                    this.control = control;
+                }
+                try {
+                    solve(control);
+                } finally {
+                    synchronized (run) {
+                        this.control = null;
+                    }
+                }
+            } catch (RuntimeException e) {
+                run.fail(e);
+            } catch (Error e) {
+                run.fail(new CompletionException(e));
+                throw e;
+            } finally {
+                run.remaining.countDown();
+            }
+        }
+
+        private void configure(Control control) {
+            switch (run.mode) {
+                case SATISFIABILITY:
+                    control.getConfiguration().set("solve.models", "1");
+                    control.getConfiguration().set("solve.opt_mode", "ignore");
+                    break;
+                case ENUMERATION:
+                    control.getConfiguration().set("solve.models", "0");
+                    control.getConfiguration().set("solve.opt_mode", "ignore");
+                    break;
+                case OPTIMIZATION:
+                    control.getConfiguration().set("solve.opt_mode", "opt");
+                    break;
+            }
+        }
+
+        private void solve(Control control) {
+            int[] cube;
+            while ((cube = run.next()) != null) {
+                if (run.mode == Mode.OPTIMIZATION) {
+                    long[] bound = run.getBound();
+                    if (bound != null && bound.length > 0)
+                        control.getConfiguration().set("solve.opt_mode", Costs.optMode(bound));
+                }
+                SolveResult solveResult;
+                int[] core = null;
+                try (SolveHandle handle = control.solve(cube, this, SolveMode.NONE)) {
+                    solveResult = handle.getSolveResult();
+                    if (solveResult.unsatisfiable())
+                        core = handle.getCore();
+                }
+                run.complete(solveResult, core);
+            }
+        }
+
+        @Override
+        public void onModel(Model model) {
+            run.model(model);
+        }
+    }
+
+    private synchronized String aspif() {
+        return aspif;
+    }
+
+    /**
+     * The merged result of all cubes.
+     */
+    public static final class Result {
+
+        private final Mode mode;
+        private final List<ModelSnapshot> models;
+        private final ModelSnapshot best;
+        private final boolean complete;
+        private final int cubes;
+        private final int solved;
+        private final int pruned;
+        private final long elapsedNanos;
+
+        private Result(Mode mode, List<ModelSnapshot> models, ModelSnapshot best, boolean complete, int cubes,
+                       int solved, int pruned, long elapsedNanos) {
+            this.mode = mode;
+            this.models = Collections.unmodifiableList(new ArrayList<>(models));
+            this.best = best;
+            this.complete = complete;
+            this.cubes = cubes;
+            this.solved = solved;
+            this.pruned = pruned;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return how the results of the cubes were merged
+         */
+        public Mode getMode() {
+            return mode;
+        }
+
+        /**
+         * @return whether a model was found
+         */
+        public boolean isSatisfiable() {
+            return !models.isEmpty();
+        }
+
+        /**
+         * @return whether the program is known to have no model
+         */
+        public boolean isUnsatisfiable() {
+            return models.isEmpty() && complete;
+        }
+
+        /**
+         * @return whether every cube was solved or refuted, so that an enumeration is complete and an optimum proven
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * @return whether the best model is known to be optimal
+         */
+        public boolean isOptimalityProven() {
+            return mode == Mode.OPTIMIZATION && best != null && complete;
+        }
+
+        /**
+         * @return all models of an enumeration, the model of a satisfiable program, or the improving models of an
+         * optimization in the order in which they were found
+         */
+        public List<ModelSnapshot> getModels() {
+            return models;
+        }
+
+        /**
+         * @return the model with the best cost, the model of a satisfiable program, or null
+         */
+        public ModelSnapshot getBest() {
+            return best;
+        }
+
+        /**
+         * @return the number of cubes the search space was split into
+         */
+        public int getCubes() {
+            return cubes;
+        }
+
+        /**
+         * @return the number of cubes that were solved to the end
+         */
+        public int getSolvedCubes() {
+            return solved;
+        }
+
+        /**
+         * @return the number of cubes that were skipped because the core of another cube refuted them
+         */
+        public int getPrunedCubes() {
+            return pruned;
+        }
+
+        /**
+         * @return the duration of the whole search including the grounding
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{mode=" + mode + ", models=" + models.size() + ", complete=" + complete + ", cubes=" + cubes
+                    + ", solved=" + solved + ", pruned=" + pruned + '}';
+        }
+    }
+}
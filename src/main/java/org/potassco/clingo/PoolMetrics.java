@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+/**
+ * A snapshot of the counters of a pooled {@link Solver}.
+ */
+public final class PoolMetrics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long discarded;
+    private final int idle;
+    private final int leased;
+
+    PoolMetrics(long hits, long misses, long evictions, long discarded, int idle, int leased) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.discarded = discarded;
+        this.idle = idle;
+        this.leased = leased;
+    }
+
+    /**
+     * @return how many solve calls reused a warm control
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many solve calls had to create and ground a new control
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return how many idle controls were closed because the pool was full or they were idle for too long
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return how many controls were closed instead of returned to the pool, e.g., because solving failed
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * @return the number of controls currently waiting in the pool
+     */
+    public int getIdle() {
+        return idle;
+    }
+
+    /**
+     * @return the number of controls currently in use
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", discarded=" + discarded + ", idle=" + idle + ", leased=" + leased + '}';
+    }
+}
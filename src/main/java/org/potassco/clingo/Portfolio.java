@@ -0,0 +1,448 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.potassco.clingo.configuration.args.OptMode;
+import org.potassco.clingo.configuration.args.Option;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+import org.potassco.clingo.internal.Costs;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.ModelSnapshot;
+import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveResult;
+
+/**
+ * Races several differently configured solvers on the same program and returns the first conclusive result.
+ * <p>
+ * The program is grounded only once. Its ground program is written in aspif format and loaded into one
+ * {@link Control} per configuration, so that the racers do not repeat the grounding. As soon as one racer
+ * finds a conclusive result, i.e., its search was not interrupted, all other racers are interrupted.
+ * <p>
+ * For optimization problems, the best cost found by any racer is shared with the others as an upper bound.
+ * Since clasp cannot tighten the bound of a running search, a racer is interrupted on an improvement of
+ * another racer and resumes with the new bound. The learnt constraints of the racer survive the restart.
+ * Racers whose options contain an {@link OptMode} other than {@link OptMode#Optimal} are left alone.
+ * <p>
+ * The portfolio counts how often each configuration won a race and found a new best model, so that
+ * configurations that never contribute can be pruned.
+ *
+ * <pre>{@code
+ * Portfolio portfolio = new Portfolio();
+ * portfolio.addConfiguration("jumpy", Configuration.Jumpy);
+ * portfolio.addConfiguration("trendy", Configuration.Trendy);
+ * Portfolio.Result result = portfolio.solve(program, Duration.ofSeconds(10));
+ * }</pre>
+ */
+public class Portfolio {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "clingo-portfolio");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Option[]> configurations = new LinkedHashMap<>();
+    // guarded by this
+    private final Map<String, int[]> statistics = new LinkedHashMap<>();
+    private int races;
+    private ShowType showType = ShowType.shown();
+
+    /**
+     * Add a configuration to the portfolio.
+     *
+     * @param name    the name under which the statistics of the configuration are reported
+     * @param options the options of the solver of this configuration
+     * @throws IllegalArgumentException if there already is a configuration with this name
+     */
+    public synchronized void addConfiguration(String name, Option... options) {
+        if (configurations.containsKey(name))
+            throw new IllegalArgumentException("duplicate configuration '" + name + "'");
+        configurations.put(name, options.clone());
+        statistics.put(name, new int[2]);
+    }
+
+    /**
+     * Remove a configuration from the portfolio, e.g., because it never wins.
+     *
+     * @param name the name of the configuration
+     */
+    public synchronized void removeConfiguration(String name) {
+        configurations.remove(name);
+        statistics.remove(name);
+    }
+
+    /**
+     * @param showType the symbols to copy into the snapshot of the best model
+     */
+    public synchronized void setShowType(ShowType showType) {
+        this.showType = showType;
+    }
+
+    /**
+     * Ground the program once and race all configurations on it until one finds a conclusive result.
+     *
+     * @param program a logic program
+     * @return the outcome of the race
+     */
+    public Result solve(String program) {
+        return solve(program, null);
+    }
+
+    /**
+     * Ground the program once and race all configurations on it until one finds a conclusive result or the
+     * timeout passes.
+     *
+     * @param program a logic program
+     * @param timeout the time budget of the race, or null to wait for a conclusive result
+     * @return the outcome of the race
+     * @throws IllegalStateException if the portfolio has no configurations
+     */
+    public Result solve(String program, Duration timeout) {
+        Map<String, Option[]> configurations;
+        ShowType showType;
+        synchronized (this) {
+            if (this.configurations.isEmpty())
+                throw new IllegalStateException("the portfolio has no configurations");
+            configurations = new LinkedHashMap<>(this.configurations);
+            showType = this.showType;
+        }
+        long start = System.nanoTime();
+        Race race = new Race(Aspif.ground(program, null), configurations.size(), showType, start);
+        for (Map.Entry<String, Option[]> entry : configurations.entrySet()) {
+            Racer racer = new Racer(race, entry.getKey(), entry.getValue());
+            race.racers.add(racer);
+        }
+        for (Racer racer : race.racers)
+            EXECUTOR.execute(racer);
+
+        boolean interrupted = false;
+        try {
+            if (timeout == null)
+                race.remaining.await();
+            else if (!race.remaining.await(timeout.toNanos(), TimeUnit.NANOSECONDS))
+                race.stop();
+        } catch (InterruptedException e) {
+            interrupted = true;
+            race.stop();
+        }
+        while (race.remaining.getCount() > 0) {
+            try {
+                race.remaining.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+            Thread.currentThread().interrupt();
+
+        Result result = race.result(System.nanoTime());
+        synchronized (this) {
+            races++;
+            if (result.winner != null && statistics.containsKey(result.winner))
+                statistics.get(result.winner)[0]++;
+            for (Map.Entry<String, Integer> entry : race.improvements.entrySet()) {
+                int[] counters = statistics.get(entry.getKey());
+                if (counters != null)
+                    counters[1] += entry.getValue();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of races run so far
+     */
+    public synchronized int getRaces() {
+        return races;
+    }
+
+    /**
+     * @return for each configuration, how many races it won
+     */
+    public synchronized Map<String, Integer> getWins() {
+        Map<String, Integer> wins = new LinkedHashMap<>();
+        statistics.forEach((name, counters) -> wins.put(name, counters[0]));
+        return wins;
+    }
+
+    /**
+     * @return for each configuration, how many times it found a model that improved the best cost of a race
+     */
+    public synchronized Map<String, Integer> getImprovements() {
+        Map<String, Integer> improvements = new LinkedHashMap<>();
+        statistics.forEach((name, counters) -> improvements.put(name, counters[1]));
+        return improvements;
+    }
+
+    private static boolean sharesBound(Option... options) {
+        for (Option option : options) {
+            if (option instanceof OptMode && option != OptMode.Optimal)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * The state shared by the racers of a single call of {@link #solve(String, Duration)}.
+     */
+    private static final class Race {
+
+        private final String aspif;
+        private final ShowType showType;
+        private final long start;
+        private final List<Racer> racers = new ArrayList<>();
+        private final CountDownLatch remaining;
+        // guarded by this
+        private boolean done;
+        private Racer winner;
+        private SolveResult winnerResult;
+        private ModelSnapshot best;
+        private long[] bestCost;
+        private String finder;
+        private final Map<String, Integer> improvements = new LinkedHashMap<>();
+        private RuntimeException error;
+
+        private Race(String aspif, int racers, ShowType showType, long start) {
+            this.aspif = aspif;
+            this.remaining = new CountDownLatch(racers);
+            this.showType = showType;
+            this.start = start;
+        }
+
+        private synchronized long[] getBound() {
+            return bestCost;
+        }
+
+        private synchronized void improve(Racer racer, Model model) {
+            if (done)
+                return;
+            long[] cost = model.getCost();
+            if (best != null && Costs.compare(cost, bestCost) >= 0)
+                return;
+            best = model.snapshot(showType);
+            bestCost = cost;
+            finder = racer.name;
+            improvements.merge(racer.name, 1, Integer::sum);
+            if (cost.length == 0)
+                return;
+            for (Racer other : racers) {
+                if (other != racer && other.sharesBound && other.control != null) {
+                    other.restart = true;
+                    other.control.interrupt();
+                }
+            }
+        }
+
+        private synchronized void finish(Racer racer, SolveResult solveResult) {
+            if (done)
+                return;
+            done = true;
+            winner = racer;
+            winnerResult = solveResult;
+            interruptAll();
+        }
+
+        private synchronized void fail(RuntimeException e) {
+            if (error == null)
+                error = e;
+        }
+
+        private synchronized void stop() {
+            if (done)
+                return;
+            done = true;
+            interruptAll();
+        }
+
+        private void interruptAll() {
+            // only racers that are still running have a control, so no interrupt leaks into a finished control
+            for (Racer racer : racers) {
+                if (racer.control != null)
+                    racer.control.interrupt();
+            }
+        }
+
+        private synchronized Result result(long end) {
+            if (winner == null && best == null && error != null)
+                throw error;
+            String name = winner == null ? null : winner.name;
+            boolean optimal = best != null && winnerResult != null && winnerResult.exhausted();
+            return new Result(name, winnerResult, best, optimal, finder, end - start);
+        }
+    }
+
+    /**
+     * A single configuration of a race, which is also the callback of its solve calls.
+     */
+    private static final class Racer extends SolveEventCallback implements Runnable {
+
+        private final Race race;
+        private final String name;
+        private final Option[] options;
+        private final boolean sharesBound;
+        // guarded by race
+        private Control control;
+        private boolean restart;
+
+        private Racer(Race race, String name, Option[] options) {
+            this.race = race;
+            this.name = name;
+            this.options = options;
+            this.sharesBound = sharesBound(options);
+        }
+
+        @Override
+        public void run() {
+            try (Control control = Aspif.load(race.aspif, options)) {
+                synchronized (race) {
+                    if (race.done)
+                        return;
+                    this.control = control;
+                }
+                try {
+                    race(control);
+                } finally {
+                    synchronized (race) {
+                        this.control = null;
+                    }
+                }
+            } catch (RuntimeException e) {
+                race.fail(e);
+            } catch (Error e) {
+                race.fail(new CompletionException(e));
+                throw e;
+            } finally {
+                race.remaining.countDown();
+            }
+        }
+
+        private void race(Control control) {
+            while (true) {
+                long[] bound = race.getBound();
+                if (sharesBound && bound != null && bound.length > 0)
+                    control.getConfiguration().set("solve.opt_mode", Costs.optMode(bound));
+                SolveResult solveResult;
+                try (SolveHandle handle = control.solve(this)) {
+                    solveResult = handle.getSolveResult();
+                }
+                synchronized (race) {
+                    if (!solveResult.interrupted()) {
+                        race.finish(this, solveResult);
+                        return;
+                    }
+                    if (race.done || !restart)
+                        return;
+                    restart = false;
+                }
+            }
+        }
+
+        @Override
+        public void onModel(Model model) {
+            race.improve(this, model);
+        }
+    }
+
+    /**
+     * The outcome of a race.
+     */
+    public static final class Result {
+
+        private final String winner;
+        private final SolveResult solveResult;
+        private final ModelSnapshot best;
+        private final boolean optimal;
+        private final String finder;
+        private final long elapsedNanos;
+
+        private Result(String winner, SolveResult solveResult, ModelSnapshot best, boolean optimal, String finder,
+                       long elapsedNanos) {
+            this.winner = winner;
+            this.solveResult = solveResult;
+            this.best = best;
+            this.optimal = optimal;
+            this.finder = finder;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the name of the configuration that found the conclusive result, or null if the race timed out
+         */
+        public String getWinner() {
+            return winner;
+        }
+
+        /**
+         * @return the result of the winning solve call, or null if the race timed out. If the winner searched
+         * with the bound of another racer, an unsatisfiable result means that the best model is optimal.
+         */
+        public SolveResult getSolveResult() {
+            return solveResult;
+        }
+
+        /**
+         * @return the best model found by any racer, or null if no model was found
+         */
+        public ModelSnapshot getBest() {
+            return best;
+        }
+
+        /**
+         * @return whether the best model is known to be optimal
+         */
+        public boolean isOptimalityProven() {
+            return optimal;
+        }
+
+        /**
+         * @return the name of the configuration that found the best model, or null if no model was found
+         */
+        public String getFinder() {
+            return finder;
+        }
+
+        /**
+         * @return the duration of the whole race including the grounding
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{winner=" + winner + ", finder=" + finder + ", optimal=" + optimal
+                    + ", best=" + (best == null ? null : Arrays.toString(best.getCost())) + '}';
+        }
+    }
+}
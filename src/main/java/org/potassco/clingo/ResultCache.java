@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.potassco.clingo.configuration.args.Option;
+import org.potassco.clingo.solving.ModelType;
+import org.potassco.clingo.symbol.Symbol;
+
+/**
+ * Caches the answer sets of complete solve calls of a {@link Solver}.
+ * <p>
+ * Results are keyed by a SHA-256 hash of the program text, the assumptions, and the applied option values (see
+ * {@link #key(String, Symbol[], Option...)}). In memory, the least recently used results are evicted once the total
+ * weight of the cached results, i.e., the number of their symbols plus one per answer set, exceeds the maximum weight.
+ * <p>
+ * Optionally, results are also written to a directory, so that they survive restarts. Each result is stored in its own
+ * file that is memory-mapped for reading and promoted to the memory tier on a hit. The directory is never pruned.
+ * Since the cache only saves work, files that cannot be read or written are treated as misses.
+ */
+public class ResultCache {
+
+    private static final int MAGIC = 0x434c4e47;
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".answers";
+
+    private final long maxWeight;
+    private final Path directory;
+    private final LinkedHashMap<String, List<AnswerSet>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hits;
+    private long diskHits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Create an in-memory cache.
+     *
+     * @param maxWeight the maximum number of symbols kept in memory
+     */
+    public ResultCache(long maxWeight) {
+        this(maxWeight, null);
+    }
+
+    /**
+     * Create a cache that additionally keeps all results in the given directory.
+     *
+     * @param maxWeight the maximum number of symbols kept in memory
+     * @param directory the directory of the on-disk tier, or null to only cache in memory
+     */
+    public ResultCache(long maxWeight, Path directory) {
+        if (maxWeight < 0)
+            throw new IllegalArgumentException("maximum weight must not be negative: " + maxWeight);
+        this.maxWeight = maxWeight;
+        this.directory = directory;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Compute the stable cache key of a solve call.
+     * The key does not depend on the JVM, so it can be used across restarts.
+     *
+     * @param program     the complete program text
+     * @param assumptions the atoms assumed to be true
+     * @param options     the options applied to the configuration, in the order they are applied
+     * @return the hexadecimal SHA-256 hash of the inputs
+     */
+    public static String key(String program, Symbol[] assumptions, Option... options) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        update(digest, program);
+        for (Symbol assumption : assumptions) {
+            update(digest, assumption.toString());
+        }
+        digest.update((byte) 1);
+        for (Option option : options) {
+            update(digest, option.getNativeKey());
+            update(digest, option.getValue());
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Look up a result in memory and then on disk.
+     *
+     * @param key the key of the solve call
+     * @return the unmodifiable answer sets or null if the result is not cached
+     */
+    public List<AnswerSet> get(String key) {
+        synchronized (this) {
+            List<AnswerSet> answerSets = entries.get(key);
+            if (answerSets != null) {
+                hits++;
+                return answerSets;
+            }
+        }
+        List<AnswerSet> answerSets = directory == null ? null : read(directory.resolve(key + SUFFIX));
+        synchronized (this) {
+            if (answerSets == null) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            store(key, answerSets);
+            return answerSets;
+        }
+    }
+
+    /**
+     * Cache the result of a complete solve call.
+     *
+     * @param key        the key of the solve call
+     * @param answerSets all answer sets of the call
+     * @return the unmodifiable answer sets as they are cached
+     */
+    public List<AnswerSet> put(String key, List<AnswerSet> answerSets) {
+        answerSets = Collections.unmodifiableList(new ArrayList<>(answerSets));
+        if (directory != null)
+            write(directory.resolve(key + SUFFIX), answerSets);
+        synchronized (this) {
+            store(key, answerSets);
+        }
+        return answerSets;
+    }
+
+    /**
+     * Remove all results from memory. The on-disk tier is left untouched.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the current counters of the cache
+     */
+    public synchronized CacheMetrics getMetrics() {
+        return new CacheMetrics(hits, diskHits, misses, evictions, entries.size(), weight);
+    }
+
+    private void store(String key, List<AnswerSet> answerSets) {
+        long entryWeight = weight(answerSets);
+        if (entryWeight > maxWeight)
+            return;
+        List<AnswerSet> previous = entries.put(key, answerSets);
+        if (previous != null)
+            weight -= weight(previous);
+        weight += entryWeight;
+        Iterator<Map.Entry<String, List<AnswerSet>>> iterator = entries.entrySet().iterator();
+        while (weight > maxWeight) {
+            weight -= weight(iterator.next().getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static long weight(List<AnswerSet> answerSets) {
+        long weight = 0;
+        for (AnswerSet answerSet : answerSets) {
+            weight += answerSet.getSymbols().size() + 1;
+        }
+        return weight;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // prefix the length so that the concatenation of the inputs is unambiguous
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static List<AnswerSet> read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return null;
+            int size = buffer.getInt();
+            List<AnswerSet> answerSets = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ModelType type = ModelType.fromValue(buffer.getInt());
+                long[] cost = new long[buffer.getInt()];
+                for (int j = 0; j < cost.length; j++) {
+                    cost[j] = buffer.getLong();
+                }
+                Symbol[] symbols = new Symbol[buffer.getInt()];
+                for (int j = 0; j < symbols.length; j++) {
+                    byte[] bytes = new byte[buffer.getInt()];
+                    buffer.get(bytes);
+                    symbols[j] = Symbol.fromString(new String(bytes, StandardCharsets.UTF_8));
+                }
+                answerSets.add(new AnswerSet(List.of(symbols), type, cost));
+            }
+            return Collections.unmodifiableList(answerSets);
+        } catch (IOException | RuntimeException e) {
+            // a missing, truncated or otherwise unreadable entry is a miss, it is overwritten by the next put
+            return null;
+        }
+    }
+
+    private static void write(Path file, List<AnswerSet> answerSets) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(answerSets.size());
+            for (AnswerSet answerSet : answerSets) {
+                output.writeInt(answerSet.getType().getValue());
+                long[] cost = answerSet.getCost();
+                output.writeInt(cost.length);
+                for (long value : cost) {
+                    output.writeLong(value);
+                }
+                List<Symbol> symbols = answerSet.getSymbols();
+                output.writeInt(symbols.size());
+                for (Symbol symbol : symbols) {
+                    byte[] string = symbol.toString().getBytes(StandardCharsets.UTF_8);
+                    output.writeInt(string.length);
+                    output.write(string);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            // write to a temporary file first so that concurrent readers never see a partial entry
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, bytes.toByteArray());
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            // the result is still cached in memory
+        }
+    }
+}
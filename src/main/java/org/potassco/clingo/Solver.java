@@ -19,31 +19,190 @@
 
 package org.potassco.clingo;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.potassco.clingo.ast.Ast;
+import org.potassco.clingo.ast.AstType;
+import org.potassco.clingo.ast.nodes.Literal;
+import org.potassco.clingo.ast.nodes.Program;
+import org.potassco.clingo.ast.nodes.Rule;
+import org.potassco.clingo.backend.ExternalType;
+import org.potassco.clingo.collections.IntSet;
 import org.potassco.clingo.configuration.args.Option;
 import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.SymbolicAtom;
+import org.potassco.clingo.control.SymbolicAtoms;
 import org.potassco.clingo.solving.Model;
 import org.potassco.clingo.solving.ModelType;
 import org.potassco.clingo.solving.SolveHandle;
 import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.solving.SolveResult;
 import org.potassco.clingo.symbol.Symbol;
 
-public class Solver {
+/**
+ * Solves logic programs in a single call.
+ * <p>
+ * By default, every call creates, grounds and frees its own {@link Control}.
+ * A {@link #pooled(int, Duration) pooled} solver instead keeps the grounded encodings warm and only passes the
+ * instances of subsequent calls to them. For this, the encoding must declare every atom that an instance may contain
+ * as <code>#external</code>, e.g., <code>#external edge(X,Y) : node(X), node(Y).</code>. The facts of an instance
+ * are then assigned true for a single solve call and reset to false afterwards, so the encoding is grounded only
+ * once per combination of encoding and options.
+ * <p>
+ * Either kind of solver can answer repeated calls from a {@link ResultCache}.
+ */
+public class Solver implements AutoCloseable {
+
+    private final ControlPool pool;
+    private final ResultCache cache;
+
+    public Solver() {
+        this(null, null);
+    }
+
+    /**
+     * Create a solver that answers repeated solve calls from a cache.
+     * Only complete results are cached, i.e., results of searches that were not interrupted and, if the models have
+     * a cost, proved optimality by exhausting the search space.
+     *
+     * @param cache the cache, which may be shared between solvers
+     */
+    public Solver(ResultCache cache) {
+        this(null, cache);
+    }
+
+    private Solver(ControlPool pool, ResultCache cache) {
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    /**
+     * Create a solver that reuses grounded controls across calls of {@link #solve(String, String, Option...)}.
+     *
+     * @param maxIdle     the maximum number of idle controls kept over all encodings
+     * @param idleTimeout the time after which an idle control is closed
+     * @return the pooled solver, which must be closed to free its controls
+     */
+    public static Solver pooled(int maxIdle, Duration idleTimeout) {
+        return pooled(maxIdle, idleTimeout, null);
+    }
 
+    /**
+     * Create a solver that reuses grounded controls and answers repeated solve calls from a cache.
+     *
+     * @param maxIdle     the maximum number of idle controls kept over all encodings
+     * @param idleTimeout the time after which an idle control is closed
+     * @param cache       optional cache of the results
+     * @return the pooled solver, which must be closed to free its controls
+     * @see #Solver(ResultCache)
+     */
+    public static Solver pooled(int maxIdle, Duration idleTimeout, ResultCache cache) {
+        return new Solver(new ControlPool(maxIdle, idleTimeout.toNanos()), cache);
+    }
+
+    /**
+     * @return whether this solver reuses grounded controls
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    /**
+     * @return the current counters of the control pool
+     * @throws IllegalStateException if this solver is not {@link #isPooled() pooled}
+     */
+    public PoolMetrics getPoolMetrics() {
+        if (pool == null)
+            throw new IllegalStateException("solver is not pooled");
+        return pool.getMetrics();
+    }
+
+    /**
+     * Solve an encoding together with instance facts.
+     * <p>
+     * If this solver is {@link #isPooled() pooled}, the instances may only consist of facts over atoms declared
+     * <code>#external</code> by the encoding, otherwise an {@link IllegalArgumentException} is thrown.
+     *
+     * @param encoding  the non-ground encoding
+     * @param instances the instance facts
+     * @param options   the configuration of the solver
+     * @return all answer sets
+     */
     public List<AnswerSet> solve(String encoding, String instances, Option... options) {
-        return solve(instances + encoding, options);
+        if (pool == null)
+            return solve(instances + encoding, options);
+        String cacheKey = cache == null ? null : ResultCache.key(instances + encoding, new Symbol[0], options);
+        if (cacheKey != null) {
+            List<AnswerSet> cached = cache.get(cacheKey);
+            if (cached != null)
+                return cached;
+        }
+        String key = key(encoding, options);
+        Control control = pool.acquire(key, encoding, options);
+        boolean reusable = false;
+        try {
+            IntSet literals = externals(control.getSymbolicAtoms(), instances);
+            control.assignExternal(literals, ExternalType.TRUE);
+            List<AnswerSet> answers = solve(control, new int[0], cacheKey);
+            control.assignExternal(literals, ExternalType.FALSE);
+            reusable = true;
+            return answers;
+        } finally {
+            pool.release(key, control, reusable);
+        }
     }
 
     public List<AnswerSet> solve(String program, Option... options) {
-        Control control = new Control();
-        control.getConfiguration().set(options);
-        control.add(program);
-        control.ground();
+        return solve(program, new Symbol[0], options);
+    }
+
+    /**
+     * Solve a program under the assumption that some atoms are true.
+     *
+     * @param program     the program
+     * @param assumptions the atoms assumed to be true
+     * @param options     the configuration of the solver
+     * @return all answer sets
+     * @throws java.util.NoSuchElementException if an assumed atom does not occur in the ground program
+     */
+    public List<AnswerSet> solve(String program, Symbol[] assumptions, Option... options) {
+        String cacheKey = cache == null ? null : ResultCache.key(program, assumptions, options);
+        if (cacheKey != null) {
+            List<AnswerSet> cached = cache.get(cacheKey);
+            if (cached != null)
+                return cached;
+        }
+        try (Control control = new Control()) {
+            control.getConfiguration().set(options);
+            control.add(program);
+            control.ground();
+            SymbolicAtoms atoms = control.getSymbolicAtoms();
+            int[] literals = new int[assumptions.length];
+            for (int i = 0; i < assumptions.length; i++) {
+                literals[i] = atoms.getLiteral(assumptions[i].getLong());
+            }
+            return solve(control, literals, cacheKey);
+        }
+    }
+
+    /**
+     * Close all idle controls of a pooled solver.
+     * Controls that are currently in use are closed once their solve call returns.
+     */
+    @Override
+    public void close() {
+        if (pool != null)
+            pool.close();
+    }
+
+    private List<AnswerSet> solve(Control control, int[] assumptions, String cacheKey) {
         List<AnswerSet> answers = new ArrayList<>();
-        try (SolveHandle solveHandle = control.solve(new int[0], null, SolveMode.YIELD)) {
+        boolean optimizing = false;
+        SolveResult result;
+        try (SolveHandle solveHandle = control.solve(assumptions, null, SolveMode.YIELD)) {
             while (solveHandle.hasNext()) {
                 Model model = solveHandle.next();
                 Symbol[] symbols = model.getSymbols();
@@ -51,9 +210,54 @@ public class Solver {
                 long[] cost = model.getCost();
                 AnswerSet answer = new AnswerSet(Arrays.asList(symbols), type, cost);
                 answers.add(answer);
+                optimizing |= cost.length > 0;
             }
+            result = solveHandle.getSolveResult();
         }
-        control.close();
+        // without an exhausted search, the last model of an optimization is not known to be optimal
+        if (cacheKey != null && !result.interrupted() && (result.exhausted() || !optimizing))
+            return cache.put(cacheKey, answers);
         return answers;
     }
+
+    private static String key(String encoding, Option... options) {
+        StringBuilder key = new StringBuilder();
+        for (Option option : options) {
+            key.append(option.getNativeKey()).append('=').append(option.getValue()).append('\0');
+        }
+        return key.append(encoding).toString();
+    }
+
+    private static IntSet externals(SymbolicAtoms atoms, String instances) {
+        IntSet literals = new IntSet();
+        for (Ast statement : Ast.parseString(instances)) {
+            if (statement.getType() == AstType.PROGRAM && "base".equals(((Program) statement).getName()))
+                continue;
+            Symbol fact = toFact(statement);
+            if (!atoms.contains(fact.getLong()))
+                throw new IllegalArgumentException("Instance atom '" + fact + "' is not declared #external by the encoding");
+            SymbolicAtom atom = atoms.get(fact);
+            if (atom.isFact())
+                continue;
+            if (!atom.isExternal())
+                throw new IllegalArgumentException("Instance atom '" + fact + "' is not declared #external by the encoding");
+            literals.add(atom.getLiteral());
+        }
+        return literals;
+    }
+
+    private static Symbol toFact(Ast statement) {
+        if (statement.getType() == AstType.RULE) {
+            Rule rule = (Rule) statement;
+            Ast head = rule.getHead();
+            if (rule.getBody().size() == 0 && head.getType() == AstType.LITERAL) {
+                Literal literal = (Literal) head;
+                if (literal.getSign() == 0 && literal.getAtom().getType() == AstType.SYMBOLIC_ATOM) {
+                    Ast term = ((org.potassco.clingo.ast.nodes.SymbolicAtom) literal.getAtom()).getSymbol();
+                    return Symbol.fromString(term.toString());
+                }
+            }
+        }
+        throw new IllegalArgumentException("Pooled instances may only contain facts, got '" + statement + "'");
+    }
 }
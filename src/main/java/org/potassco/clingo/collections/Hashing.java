@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.collections;
+
+/**
+ * Sizing and hashing shared by the open-addressing collections.
+ */
+final class Hashing {
+
+    static final int MIN_CAPACITY = 8;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * @return the smallest power of two capacity that keeps the load factor at or below one half
+     */
+    static int capacity(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("negative expected size " + expectedSize);
+        long capacity = Math.max(MIN_CAPACITY, Long.highestOneBit(Math.max(1, 2L * expectedSize - 1)) << 1);
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("expected size too large " + expectedSize);
+        return (int) capacity;
+    }
+
+    /**
+     * @return whether a table of the given capacity holding the given number of entries has to grow
+     */
+    static boolean mustGrow(int size, int capacity) {
+        if (size <= capacity >> 1)
+            return false;
+        if (capacity == MAX_CAPACITY)
+            throw new IllegalStateException("collection exceeds the maximum capacity");
+        return true;
+    }
+
+    static int shift64(int capacity) {
+        return Long.numberOfLeadingZeros(capacity - 1);
+    }
+
+    static int shift32(int capacity) {
+        return Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    // fibonacci hashing, the upper bits of the product are the best mixed ones
+
+    static int index(long key, int shift) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    static int index(int key, int shift) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+}
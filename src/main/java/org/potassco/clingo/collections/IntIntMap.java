@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.collections;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive ints to primitive ints, e.g., from program literals to solver literals.
+ * <p>
+ * Neither keys nor values are boxed. Collisions are resolved by linear probing and removals shift entries back,
+ * so lookups never have to skip tombstones. Missing keys are reported by a configurable default value, which is
+ * <code>0</code> unless specified otherwise (<code>0</code> is never a valid literal).
+ * <p>
+ * This class is not thread-safe.
+ */
+public class IntIntMap {
+
+    private final int defaultValue;
+
+    // the key 0 marks empty slots and is stored separately
+    private int[] keys;
+    private int[] values;
+    private boolean hasZeroKey;
+    private int zeroValue;
+    private int size;
+    private int shift;
+
+    public IntIntMap() {
+        this(Hashing.MIN_CAPACITY >> 1);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map can hold without resizing
+     */
+    public IntIntMap(int expectedSize) {
+        this(expectedSize, 0);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map can hold without resizing
+     * @param defaultValue the value returned for missing keys
+     */
+    public IntIntMap(int expectedSize, int defaultValue) {
+        this.defaultValue = defaultValue;
+        allocate(Hashing.capacity(expectedSize));
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value of the key or the default value if the map does not contain the key
+     */
+    public int get(int key) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : defaultValue;
+        int mask = keys.length - 1;
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            int current = keys[i];
+            if (current == key)
+                return values[i];
+            if (current == 0)
+                return defaultValue;
+        }
+    }
+
+    /**
+     * @param key the key to look up
+     * @return whether the map contains the key
+     */
+    public boolean containsKey(int key) {
+        if (key == 0)
+            return hasZeroKey;
+        int mask = keys.length - 1;
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            int current = keys[i];
+            if (current == key)
+                return true;
+            if (current == 0)
+                return false;
+        }
+    }
+
+    /**
+     * @param key   the key to associate the value with
+     * @param value the value to store
+     * @return the previous value of the key or the default value if the map did not contain the key
+     */
+    public int put(int key, int value) {
+        if (key == 0) {
+            int previous = hasZeroKey ? zeroValue : defaultValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return previous;
+        }
+        int mask = keys.length - 1;
+        int i = index(key);
+        for (int current = keys[i]; current != 0; current = keys[i]) {
+            if (current == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (Hashing.mustGrow(++size, keys.length))
+            rehash(keys.length << 1);
+        return defaultValue;
+    }
+
+    /**
+     * @param key the key to remove
+     * @return the value of the removed key or the default value if the map did not contain the key
+     */
+    public int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey)
+                return defaultValue;
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int mask = keys.length - 1;
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            int current = keys[i];
+            if (current == 0)
+                return defaultValue;
+            if (current == key) {
+                int previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    /**
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries but keeps the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * @return the value returned for missing keys
+     */
+    public int getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * @return the keys of the map in no particular order
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int j = 0;
+        if (hasZeroKey)
+            result[j++] = 0;
+        for (int key : keys) {
+            if (key != 0)
+                result[j++] = key;
+        }
+        return result;
+    }
+
+    /**
+     * Performs the given action for each entry in no particular order.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(Consumer action) {
+        if (hasZeroKey)
+            action.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0)
+                action.accept(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * An action on the entries of a {@link IntIntMap}.
+     */
+    @FunctionalInterface
+    public interface Consumer {
+        void accept(int key, int value);
+    }
+
+    private int index(int key) {
+        return Hashing.index(key, shift);
+    }
+
+    private void shiftBack(int gap) {
+        int mask = keys.length - 1;
+        for (int i = (gap + 1) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            int home = index(keys[i]);
+            // the entry may only move to the gap if the gap lies between its home slot and its current slot
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            int key = oldKeys[j];
+            if (key == 0)
+                continue;
+            int i = index(key);
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = oldValues[j];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        shift = Hashing.shift32(capacity);
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.collections;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * An open-addressing hash set of primitive longs, e.g., of native symbol handles
+ * ({@link org.potassco.clingo.symbol.Symbol#getLong()}).
+ * <p>
+ * Elements are not boxed. Collisions are resolved by linear probing and removals shift elements back,
+ * so lookups never have to skip tombstones.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class LongSet {
+
+    // the element 0 marks empty slots and is stored separately
+    private long[] elements;
+    private boolean hasZero;
+    private int size;
+    private int shift;
+
+    public LongSet() {
+        this(Hashing.MIN_CAPACITY >> 1);
+    }
+
+    /**
+     * @param expectedSize the number of elements the set can hold without resizing
+     */
+    public LongSet(int expectedSize) {
+        allocate(Hashing.capacity(expectedSize));
+    }
+
+    /**
+     * @param elements the initial elements of the set
+     * @return a new set containing the given elements
+     */
+    public static LongSet of(long... elements) {
+        LongSet set = new LongSet(elements.length);
+        for (long element : elements) {
+            set.add(element);
+        }
+        return set;
+    }
+
+    /**
+     * @param element the element to look up
+     * @return whether the set contains the element
+     */
+    public boolean contains(long element) {
+        if (element == 0)
+            return hasZero;
+        int mask = elements.length - 1;
+        for (int i = index(element); ; i = (i + 1) & mask) {
+            long current = elements[i];
+            if (current == element)
+                return true;
+            if (current == 0)
+                return false;
+        }
+    }
+
+    /**
+     * @param element the element to add
+     * @return whether the set did not contain the element before
+     */
+    public boolean add(long element) {
+        if (element == 0) {
+            if (hasZero)
+                return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = elements.length - 1;
+        int i = index(element);
+        for (long current = elements[i]; current != 0; current = elements[i]) {
+            if (current == element)
+                return false;
+            i = (i + 1) & mask;
+        }
+        elements[i] = element;
+        if (Hashing.mustGrow(++size, elements.length))
+            rehash(elements.length << 1);
+        return true;
+    }
+
+    /**
+     * @param element the element to remove
+     * @return whether the set contained the element
+     */
+    public boolean remove(long element) {
+        if (element == 0) {
+            if (!hasZero)
+                return false;
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int mask = elements.length - 1;
+        for (int i = index(element); ; i = (i + 1) & mask) {
+            long current = elements[i];
+            if (current == 0)
+                return false;
+            if (current == element) {
+                shiftBack(i);
+                size--;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements but keeps the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(elements, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * @return the elements of the set in no particular order
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int j = 0;
+        if (hasZero)
+            result[j++] = 0;
+        for (long element : elements) {
+            if (element != 0)
+                result[j++] = element;
+        }
+        return result;
+    }
+
+    /**
+     * Performs the given action for each element in no particular order.
+     *
+     * @param action the action to perform
+     */
+    public void forEach(LongConsumer action) {
+        if (hasZero)
+            action.accept(0);
+        for (long element : elements) {
+            if (element != 0)
+                action.accept(element);
+        }
+    }
+
+    private int index(long element) {
+        return Hashing.index(element, shift);
+    }
+
+    private void shiftBack(int gap) {
+        int mask = elements.length - 1;
+        for (int i = (gap + 1) & mask; elements[i] != 0; i = (i + 1) & mask) {
+            int home = index(elements[i]);
+            // the element may only move to the gap if the gap lies between its home slot and its current slot
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                elements[gap] = elements[i];
+                gap = i;
+            }
+        }
+        elements[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldElements = elements;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (long element : oldElements) {
+            if (element == 0)
+                continue;
+            int i = index(element);
+            while (elements[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            elements[i] = element;
+        }
+    }
+
+    private void allocate(int capacity) {
+        elements = new long[capacity];
+        shift = Hashing.shift64(capacity);
+    }
+}
@@ -32,6 +32,7 @@ import org.potassco.clingo.control.Control;
 import org.potassco.clingo.internal.Clingo;
 import org.potassco.clingo.internal.NativeSize;
 import org.potassco.clingo.internal.NativeSizeByReference;
+import org.potassco.clingo.internal.Scratch;
 import org.potassco.clingo.statistics.Statistics;
 
 import static org.potassco.clingo.configuration.ConfigurationType.Type.*;
@@ -66,11 +67,11 @@ public class Configuration {
     private ConfigurationType typeBitset;
 
     public Configuration(Control control) {
-        PointerByReference configurationRef = new PointerByReference();
+        PointerByReference configurationRef = Scratch.pointerByReference();
         Clingo.check(Clingo.INSTANCE.clingo_control_configuration(control.getPointer(), configurationRef));
         this.configuration = configurationRef.getValue();
 
-        IntByReference intByReference = new IntByReference();
+        IntByReference intByReference = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_root(configuration, intByReference));
         this.key = intByReference.getValue();
     }
@@ -88,7 +89,7 @@ public class Configuration {
      */
     public ConfigurationType getType() {
         if (typeBitset == null) {
-            IntByReference intByReference = new IntByReference();
+            IntByReference intByReference = Scratch.intByReference();
             Clingo.check(Clingo.INSTANCE.clingo_configuration_type(configuration, key, intByReference));
             typeBitset = new ConfigurationType(intByReference.getValue());
         }
@@ -116,7 +117,7 @@ public class Configuration {
     public int arraySize() {
         if (!isArray())
             throw new IllegalStateException("configuration entry is not an array");
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_array_size(configuration, key, nativeSizeByReference));
         return (int) nativeSizeByReference.getValue();
     }
@@ -130,7 +131,7 @@ public class Configuration {
     public int mapSize() {
         if (!isMap())
             throw new IllegalStateException("configuration entry is not a map");
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_size(configuration, key, nativeSizeByReference));
         return (int) nativeSizeByReference.getValue();
     }
@@ -145,12 +146,12 @@ public class Configuration {
         if (!isMap())
             throw new IllegalStateException("configuration entry is not a map");
 
-        ByteByReference byteByReference = new ByteByReference();
+        ByteByReference byteByReference = Scratch.byteByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_has_subkey(configuration, key, name, byteByReference));
         if (byteByReference.getValue() == 0)
             throw new IllegalStateException("configuration entry does not have option '" + name + "'");
 
-        IntByReference intByReference = new IntByReference();
+        IntByReference intByReference = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_at(configuration, key, name, intByReference));
         int key = intByReference.getValue();
 
@@ -162,11 +163,11 @@ public class Configuration {
     private int getSubkey(String name) {
         if (!isMap())
             throw new IllegalStateException("configuration entry is not a map");
-        ByteByReference byteByReference = new ByteByReference();
+        ByteByReference byteByReference = Scratch.byteByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_has_subkey(configuration, key, name, byteByReference));
         if (byteByReference.getValue() == 0)
             throw new IllegalStateException("configuration entry does not have option '" + name + "'");
-        IntByReference intByReference = new IntByReference();
+        IntByReference intByReference = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_at(configuration, key, name, intByReference));
         return intByReference.getValue();
     }
@@ -214,7 +215,7 @@ public class Configuration {
      * @return whether the entry has a value
      */
     public boolean isAssigned() {
-        ByteByReference byteByReference = new ByteByReference();
+        ByteByReference byteByReference = Scratch.byteByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_value_is_assigned(configuration, key, byteByReference));
         return byteByReference.getValue() > 0;
     }
@@ -231,7 +232,7 @@ public class Configuration {
     public Configuration get(String name) {
         if (!isType(MAP))
             throw new IllegalStateException("Configuration entry is not a map");
-        IntByReference keyIdentifier = new IntByReference();
+        IntByReference keyIdentifier = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_at(configuration, key, name, keyIdentifier));
         return new Configuration(configuration, keyIdentifier.getValue());
     }
@@ -248,7 +249,7 @@ public class Configuration {
     public Configuration get(int index) {
         if (!isType(MAP))
             throw new IllegalStateException("Configuration entry is not an array");
-        IntByReference keyIdentifier = new IntByReference();
+        IntByReference keyIdentifier = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_array_at(configuration, key, new NativeSize(index), keyIdentifier));
         return new Configuration(configuration, keyIdentifier.getValue());
     }
@@ -263,7 +264,7 @@ public class Configuration {
     public String get() {
         if (!isType(VALUE))
             throw new IllegalStateException("Configuration entry is not a value");
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_value_get_size(configuration, key, nativeSizeByReference));
         int valueSize = (int) nativeSizeByReference.getValue();
         byte[] valueBytes = new byte[valueSize];
@@ -280,7 +281,7 @@ public class Configuration {
      * @param value the value to set
      */
     public void set(String name, String value) {
-        IntByReference keyIdentifier = new IntByReference();
+        IntByReference keyIdentifier = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_map_at(configuration, key, name, keyIdentifier));
         Clingo.check(Clingo.INSTANCE.clingo_configuration_value_set(configuration, keyIdentifier.getValue(), value));
     }
@@ -294,7 +295,7 @@ public class Configuration {
      * @param value the value to set
      */
     public void set(int index, String value) {
-        IntByReference keyIdentifier = new IntByReference();
+        IntByReference keyIdentifier = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_configuration_array_at(configuration, key, new NativeSize(index), keyIdentifier));
         Clingo.check(Clingo.INSTANCE.clingo_configuration_value_set(configuration, keyIdentifier.getValue(), value));
     }
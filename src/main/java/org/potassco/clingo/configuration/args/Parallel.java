@@ -64,6 +64,13 @@ public class Parallel implements Option {
         return new Parallel(nCores);
     }
 
+    /**
+     * @return the number of threads clingo uses to solve
+     */
+    public int getThreads() {
+        return nThreads;
+    }
+
     @Override
     public String getShellKey() {
         return "--parallel-mode";
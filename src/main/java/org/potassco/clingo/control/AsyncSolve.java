@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.control;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.solving.SolveResult;
+import org.potassco.clingo.statistics.Statistics;
+
+/**
+ * An asynchronous solve call that completes a future from the finish event instead of blocking a thread.
+ * <p>
+ * The future is completed once both the finish event was received on clingo's solving thread and the solve
+ * call has returned the handle. The handle cannot be closed from the finish event itself, because closing waits
+ * for the solving thread, so the handle is closed and the future completed on the common pool instead.
+ */
+final class AsyncSolve extends SolveEventCallback {
+
+    // native code only references the callback trampoline, this keeps running callbacks from being collected
+    private static final Set<AsyncSolve> RUNNING = ConcurrentHashMap.newKeySet();
+
+    private final Control control;
+    private final SolveEventCallback delegate;
+    private final CompletableFuture<SolveResult> future = new CompletableFuture<>();
+    // counts down the returned solve call and the finish event
+    private final AtomicInteger pending = new AtomicInteger(2);
+    private volatile SolveHandle handle;
+    private volatile ScheduledFuture<?> deadline;
+    private boolean finished;
+
+    private AsyncSolve(Control control, SolveEventCallback delegate) {
+        this.control = control;
+        this.delegate = delegate;
+    }
+
+    static CompletableFuture<SolveResult> start(Control control, int[] assumptions, SolveEventCallback callback, Duration timeout) {
+        AsyncSolve solve = new AsyncSolve(control, callback);
+        RUNNING.add(solve);
+        try {
+            solve.handle = control.solve(assumptions, solve, SolveMode.ASYNC);
+        } catch (RuntimeException e) {
+            RUNNING.remove(solve);
+            solve.future.completeExceptionally(e);
+            return solve.future;
+        }
+        if (timeout != null)
+            solve.deadline = Deadlines.SCHEDULER.schedule(solve::interrupt, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        solve.future.whenComplete((result, throwable) -> {
+            if (throwable instanceof CancellationException)
+                solve.interrupt();
+        });
+        solve.arrive();
+        return solve.future;
+    }
+
+    @Override
+    public void onModel(Model model) {
+        if (delegate != null)
+            delegate.onModel(model);
+    }
+
+    @Override
+    public void onUnsat(long[] cost) {
+        if (delegate != null)
+            delegate.onUnsat(cost);
+    }
+
+    @Override
+    public void onStatistics(Statistics perStep, Statistics accumulated) {
+        if (delegate != null)
+            delegate.onStatistics(perStep, accumulated);
+    }
+
+    @Override
+    public void onResult(SolveResult solveResult) {
+        try {
+            if (delegate != null)
+                delegate.onResult(solveResult);
+        } finally {
+            synchronized (this) {
+                finished = true;
+            }
+            arrive();
+        }
+    }
+
+    /**
+     * Interrupt the search unless it has already finished, in which case the interrupt would carry over to
+     * the next solve call of the control object.
+     */
+    private synchronized void interrupt() {
+        if (!finished)
+            control.interrupt();
+    }
+
+    private void arrive() {
+        if (pending.decrementAndGet() == 0)
+            ForkJoinPool.commonPool().execute(this::complete);
+    }
+
+    private void complete() {
+        ScheduledFuture<?> deadline = this.deadline;
+        if (deadline != null)
+            deadline.cancel(false);
+        try (SolveHandle handle = this.handle) {
+            future.complete(handle.getSolveResult());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            RUNNING.remove(this);
+        }
+    }
+
+    private static final class Deadlines {
+
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "clingo-solve-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.control;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking native calls, like grounding or waiting for a solve result, on a bounded pool of platform threads.
+ * <p>
+ * A virtual thread that enters a native call pins its carrier thread until the call returns. If a
+ * {@link Control} object is configured with a blocking executor (see {@link Control#setBlockingExecutor}), its
+ * blocking calls and those of its {@link org.potassco.clingo.solving.SolveHandle}s are handed to the pool instead,
+ * and the calling virtual thread parks until the result is ready, which frees its carrier.
+ * <p>
+ * By default, only calls from virtual threads are offloaded, while platform threads call clingo directly
+ * to save the hand-off. Virtual threads are detected on Java 21 and later.
+ */
+public class BlockingExecutor implements AutoCloseable {
+
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+    // nested calls on a pool thread, e.g., from callbacks, must not wait for the pool
+    private static final ThreadLocal<Boolean> POOL_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final ExecutorService pool;
+    private final boolean offloadPlatformThreads;
+
+    /**
+     * @param threads the number of platform threads, which bounds the number of concurrent blocking calls
+     */
+    public BlockingExecutor(int threads) {
+        this(threads, false);
+    }
+
+    /**
+     * @param threads                the number of platform threads, which bounds the number of concurrent blocking calls
+     * @param offloadPlatformThreads whether calls from platform threads are offloaded, too
+     */
+    public BlockingExecutor(int threads, boolean offloadPlatformThreads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("number of threads must be positive, got " + threads);
+        AtomicInteger count = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(() -> {
+                POOL_THREAD.set(true);
+                runnable.run();
+            }, "clingo-blocking-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.offloadPlatformThreads = offloadPlatformThreads;
+    }
+
+    /**
+     * Run a blocking call, offloading it to the pool if the current thread is virtual.
+     * <p>
+     * The native call cannot be aborted, so an interrupt of the waiting thread does not end the wait.
+     * The interrupt status is restored once the call has returned.
+     *
+     * @param call the blocking call
+     * @param <T>  the type of the result
+     * @return the result of the call
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!offload())
+            return call.get();
+        Future<T> future = pool.submit(call::get);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException)
+                        throw (RuntimeException) cause;
+                    if (cause instanceof Error)
+                        throw (Error) cause;
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Run a blocking call, offloading it to the pool if the current thread is virtual.
+     *
+     * @param call the blocking call
+     * @see #call(Supplier)
+     */
+    public void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Stop the threads of the pool once all submitted calls have returned.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private boolean offload() {
+        if (POOL_THREAD.get())
+            return false;
+        return offloadPlatformThreads || isVirtual(Thread.currentThread());
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null)
+            return false;
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // virtual threads are not available before Java 21
+            return null;
+        }
+    }
+}
@@ -20,26 +20,34 @@
 package org.potassco.clingo.control;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.LongByReference;
 import com.sun.jna.ptr.PointerByReference;
 import org.potassco.clingo.backend.Backend;
+import org.potassco.clingo.backend.BackendType;
 import org.potassco.clingo.backend.ExternalType;
+import org.potassco.clingo.collections.IntSet;
+import org.potassco.clingo.collections.LongSet;
 import org.potassco.clingo.configuration.Configuration;
 import org.potassco.clingo.internal.Clingo;
 import org.potassco.clingo.internal.NativeSize;
+import org.potassco.clingo.internal.SolverThreads;
 import org.potassco.clingo.propagator.Propagator;
+import org.potassco.clingo.propagator.ViewPropagator;
 import org.potassco.clingo.solving.GroundCallback;
 import org.potassco.clingo.solving.Observer;
 import org.potassco.clingo.solving.SolveControl;
 import org.potassco.clingo.solving.SolveEventCallback;
 import org.potassco.clingo.solving.SolveHandle;
 import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.solving.SolveResult;
 import org.potassco.clingo.statistics.Statistics;
 import org.potassco.clingo.symbol.Symbol;
 import org.potassco.clingo.theory.TheoryAtoms;
@@ -54,6 +62,7 @@ import org.potassco.clingo.theory.TheoryAtoms;
 public class Control implements AutoCloseable {
 
     private final Pointer control;
+    private volatile BlockingExecutor blockingExecutor;
 
     public Control() {
         this(null, 0);
@@ -157,11 +166,11 @@ public class Control implements AutoCloseable {
      */
     public void ground(String name, GroundCallback callback) {
         ProgramPart[] programParts = (ProgramPart[]) new ProgramPart(name).toArray(1);
-        Clingo.check(Clingo.INSTANCE.clingo_control_ground(
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_control_ground(
                 this.control,
                 programParts, new NativeSize(1),
                 callback, null)
-        );
+        ));
     }
 
     /**
@@ -196,11 +205,11 @@ public class Control implements AutoCloseable {
             contiguous[1 + i].size = programParts[i].size;
             contiguous[1 + i].params = programParts[i].params;
         }
-        Clingo.check(Clingo.INSTANCE.clingo_control_ground(
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_control_ground(
                 this.control,
                 contiguous, new NativeSize(contiguous.length),
                 groundCallback, control)
-        );
+        ));
     }
 
     /**
@@ -293,7 +302,9 @@ public class Control implements AutoCloseable {
      */
     public SolveHandle solve(int[] assumptions, SolveEventCallback callback, SolveMode solveMode) {
         PointerByReference pointerByReference = new PointerByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_control_solve(
+        SolverThreads.keepAttached(callback);
+        // starting a search prepares and preprocesses the program, which can take as long as grounding
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_control_solve(
                 control,
                 solveMode.getValue(),
                 assumptions,
@@ -301,8 +312,60 @@ public class Control implements AutoCloseable {
                 callback,
                 control,
                 pointerByReference
-        ));
-        return new SolveHandle(pointerByReference.getValue());
+        )));
+        return new SolveHandle(pointerByReference.getValue(), blockingExecutor);
+    }
+
+    /**
+     * Starts an asynchronous search and returns a future of its result.
+     * <p>
+     * No thread is blocked while the search is running: the future is completed from the finish event.
+     * Cancelling the future interrupts the search. The control object must not be used until the future is
+     * done, or, if it was cancelled, until the interrupted search has finished.
+     *
+     * @return the future result of the search
+     */
+    public CompletableFuture<SolveResult> solveAsync() {
+        return solveAsync(null, null);
+    }
+
+    /**
+     * Starts an asynchronous search that is interrupted after the given timeout.
+     * The future then completes normally with an {@link SolveResult#interrupted() interrupted} result.
+     *
+     * @param timeout the deadline of the search relative to now
+     * @return the future result of the search
+     * @see #solveAsync()
+     */
+    public CompletableFuture<SolveResult> solveAsync(Duration timeout) {
+        return solveAsync(null, timeout);
+    }
+
+    /**
+     * Starts an asynchronous search.
+     *
+     * @param callback Optional callbacks for intercepting models, lower bounds during optimization,
+     *                 statistics updates, or the end of the search (implement {@link SolveEventCallback}.
+     * @param timeout  Optional deadline of the search relative to now
+     * @return the future result of the search
+     * @see #solveAsync()
+     */
+    public CompletableFuture<SolveResult> solveAsync(SolveEventCallback callback, Duration timeout) {
+        return solveAsync(new int[0], callback, timeout);
+    }
+
+    /**
+     * Starts an asynchronous search.
+     *
+     * @param assumptions array of solver literals
+     * @param callback    Optional callbacks for intercepting models, lower bounds during optimization,
+     *                    statistics updates, or the end of the search (implement {@link SolveEventCallback}.
+     * @param timeout     Optional deadline of the search relative to now
+     * @return the future result of the search
+     * @see #solveAsync()
+     */
+    public CompletableFuture<SolveResult> solveAsync(int[] assumptions, SolveEventCallback callback, Duration timeout) {
+        return AsyncSolve.start(this, assumptions, callback, timeout);
     }
 
     /**
@@ -381,6 +444,28 @@ public class Control implements AutoCloseable {
         }
     }
 
+    /**
+     * Assigns truth values to multiple external literals of the program
+     *
+     * @param literals   Multiple program literals representing external atoms.
+     * @param truthValue Fixes the external to the respective truth value.
+     */
+    public void assignExternal(IntSet literals, ExternalType truthValue) {
+        literals.forEach(literal -> assignExternal(literal, truthValue));
+    }
+
+    /**
+     * Assigns truth values to multiple external symbols if they exist in the program,
+     * throws {@link NoSuchElementException} otherwise.
+     *
+     * @param symbols    The native handles of multiple external atoms.
+     * @param truthValue Fixes the external to the respective truth value.
+     */
+    public void assignExternal(LongSet symbols, ExternalType truthValue) {
+        SymbolicAtoms symbolicAtoms = getSymbolicAtoms();
+        symbols.forEach(symbol -> assignExternal(symbolicAtoms.getLiteral(symbol), truthValue));
+    }
+
     /**
      * Release an external atom represented by the given solver solver literal.
      * <p>
@@ -426,6 +511,26 @@ public class Control implements AutoCloseable {
         }
     }
 
+    /**
+     * Releases the truth values of multiple external literals of the program
+     *
+     * @param literals Multiple program literals to release
+     */
+    public void releaseExternal(IntSet literals) {
+        literals.forEach(this::releaseExternal);
+    }
+
+    /**
+     * Releases the truth values of multiple external symbols of the program,
+     * throws {@link NoSuchElementException} if they do not exist.
+     *
+     * @param symbols The native handles of multiple external atoms to release
+     */
+    public void releaseExternal(LongSet symbols) {
+        SymbolicAtoms symbolicAtoms = getSymbolicAtoms();
+        symbols.forEach(symbol -> releaseExternal(symbolicAtoms.getLiteral(symbol)));
+    }
+
     /**
      * Interrupt the active solve call.
      * <p>
@@ -524,6 +629,18 @@ public class Control implements AutoCloseable {
         Clingo.check(Clingo.INSTANCE.clingo_control_set_enable_enumeration_assumption(control, value ? (byte) 1 : 0));
     }
 
+    /**
+     * Registers a backend that writes the produced grounding to a file, e.g., in aspif format.
+     *
+     * @param type    the output format
+     * @param file    the file to write to
+     * @param replace If set to true, the output is just written to the file and no longer passed to
+     *                the underlying solver (or any previously registered observers).
+     */
+    public void registerBackend(BackendType type, Path file, boolean replace) {
+        Clingo.check(Clingo.INSTANCE.clingo_control_register_backend(control, type.getValue(), file.toString(), replace ? (byte) 1 : 0));
+    }
+
     /**
      * Registers the given observer to inspect the produced grounding.
      *
@@ -602,6 +719,7 @@ public class Control implements AutoCloseable {
         nativePropagator.undo = propagator::undo;
         nativePropagator.check = propagator::check;
         nativePropagator.decide = propagator::decide;
+        SolverThreads.keepAttached(nativePropagator.propagate, nativePropagator.undo, nativePropagator.check, nativePropagator.decide);
         Clingo.check(Clingo.INSTANCE.clingo_control_register_propagator(
                 control,
                 nativePropagator,
@@ -610,6 +728,36 @@ public class Control implements AutoCloseable {
         );
     }
 
+    /**
+     * Registers the given propagator with all solvers.
+     * <p>
+     * Unlike a {@link Propagator}, the propagator receives views of the native change sets and wrappers that are
+     * reused per solver thread, so that its callbacks do not allocate.
+     *
+     * @param propagator The propagator to register.
+     */
+    public void registerPropagator(ViewPropagator propagator) {
+        registerPropagator(propagator, false);
+    }
+
+    /**
+     * Registers the given propagator with all solvers.
+     * <p>
+     * If the sequential flag is set to true, the propagator is called sequentially
+     * when solving with multiple threads (default should be false).
+     *
+     * @param propagator   The propagator to register.
+     * @param sequentially Whether to call the propagator sequentially
+     */
+    public void registerPropagator(ViewPropagator propagator, boolean sequentially) {
+        Clingo.check(Clingo.INSTANCE.clingo_control_register_propagator(
+                control,
+                new ViewPropagatorCallbacks(propagator).toNative(),
+                control,
+                sequentially ? (byte) 1 : 0)
+        );
+    }
+
     /**
      * Whether the internal program representation is conflicting.
      * <p>
@@ -740,4 +888,30 @@ public class Control implements AutoCloseable {
     public Pointer getPointer() {
         return control;
     }
+
+    /**
+     * Offload blocking calls of this control object and its solve handles to the given executor, e.g.,
+     * to keep virtual threads from pinning their carrier while grounding, preprocessing or solving.
+     * Only affects solve handles created afterwards.
+     *
+     * @param blockingExecutor the executor for blocking calls or null to call clingo directly
+     */
+    public void setBlockingExecutor(BlockingExecutor blockingExecutor) {
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    /**
+     * @return the executor for blocking calls or null if clingo is called directly
+     */
+    public BlockingExecutor getBlockingExecutor() {
+        return blockingExecutor;
+    }
+
+    private void blocking(Runnable call) {
+        BlockingExecutor executor = blockingExecutor;
+        if (executor == null)
+            call.run();
+        else
+            executor.run(call);
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.control;
+
+import java.util.Collection;
+import java.util.NoSuchElementException;
+
+import org.potassco.clingo.backend.ExternalType;
+import org.potassco.clingo.collections.LongIntMap;
+import org.potassco.clingo.solving.GroundCallback;
+import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Symbol;
+
+/**
+ * A multi-shot solving session that translates symbols to program literals through a cached index.
+ * <p>
+ * The symbol-based methods of {@link Control} look up every symbol in the symbolic atoms on every call. A session
+ * instead builds a map from all atoms to their program literals once per ground step and answers all lookups of
+ * assumptions and externals from it. Since clingo never changes the literal of an existing atom, the index only has
+ * to be rebuilt when grounding added atoms. It is invalidated by the grounding methods of this class, and it is
+ * rebuilt as well if the number of atoms changed otherwise, e.g., if the underlying control was grounded directly.
+ * <p>
+ * Like the control object, a session must not be used concurrently.
+ */
+public class Session implements AutoCloseable {
+
+    private static final int NO_LITERAL = 0;
+
+    private final Control control;
+    private LongIntMap index;
+    private int indexedAtoms;
+
+    /**
+     * @param arguments Arguments to the grounder and solver like in the CLI, e.g. {"--models", "0"}
+     */
+    public Session(String... arguments) {
+        this(new Control(arguments));
+    }
+
+    /**
+     * Create a session over an existing control object. Closing the session closes the control.
+     *
+     * @param control the control object
+     */
+    public Session(Control control) {
+        this.control = control;
+    }
+
+    /**
+     * @return the underlying control object
+     */
+    public Control getControl() {
+        return control;
+    }
+
+    /**
+     * Extend the logic program with the given non-ground logic program in string form.
+     * This function puts the given program into a block of form: <code>#program base.</code>
+     *
+     * @param program The non-ground program in string form.
+     */
+    public void add(String program) {
+        control.add(program);
+    }
+
+    /**
+     * Extend the logic program with the given non-ground logic program in string form.
+     *
+     * @param name       The name of program block to add.
+     * @param program    The non-ground program in string form.
+     * @param parameters The parameters of the program block to add.
+     */
+    public void add(String name, String program, String... parameters) {
+        control.add(name, program, parameters);
+    }
+
+    /**
+     * Ground the base program.
+     */
+    public void ground() {
+        index = null;
+        control.ground();
+    }
+
+    /**
+     * Ground the given list of program parts specified by tuples of names and arguments.
+     *
+     * @param programPart  program part
+     * @param programParts additional program parts to ground
+     */
+    public void ground(ProgramPart programPart, ProgramPart... programParts) {
+        index = null;
+        control.ground(programPart, programParts);
+    }
+
+    /**
+     * Ground the given list of program parts.
+     *
+     * @param groundCallback callback to implement external functions
+     * @param programPart    program part
+     * @param programParts   additional program parts to ground
+     */
+    public void ground(GroundCallback groundCallback, ProgramPart programPart, ProgramPart... programParts) {
+        index = null;
+        control.ground(groundCallback, programPart, programParts);
+    }
+
+    /**
+     * @param symbol the symbol to check
+     * @return whether the symbol is an atom of the ground program
+     */
+    public boolean contains(Symbol symbol) {
+        return index().get(symbol.getLong()) != NO_LITERAL;
+    }
+
+    /**
+     * @param symbol the atom to return the program literal for
+     * @return the program literal of the atom
+     * @throws NoSuchElementException if the symbol is not an atom of the ground program
+     */
+    public int getLiteral(Symbol symbol) {
+        return getLiteral(index(), symbol);
+    }
+
+    /**
+     * @param symbols the atoms to return the program literals for
+     * @return the program literals of the atoms in the same order
+     * @throws NoSuchElementException if a symbol is not an atom of the ground program
+     */
+    public int[] getLiterals(Collection<Symbol> symbols) {
+        LongIntMap index = index();
+        int[] literals = new int[symbols.size()];
+        int i = 0;
+        for (Symbol symbol : symbols) {
+            literals[i++] = getLiteral(index, symbol);
+        }
+        return literals;
+    }
+
+    /**
+     * @param symbols the atoms to return the program literals for
+     * @return the program literals of the atoms in the same order
+     * @throws NoSuchElementException if a symbol is not an atom of the ground program
+     */
+    public int[] getLiterals(Symbol[] symbols) {
+        LongIntMap index = index();
+        int[] literals = new int[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            literals[i] = getLiteral(index, symbols[i]);
+        }
+        return literals;
+    }
+
+    /**
+     * Starts a search that yields its models.
+     *
+     * @return a solve-handle to interact with
+     */
+    public SolveHandle solve() {
+        return control.solve(new int[0], null, SolveMode.YIELD);
+    }
+
+    /**
+     * Starts a search that yields its models.
+     *
+     * @param assumptions Collection of atoms assumed to be true
+     * @return a solve-handle to interact with
+     */
+    public SolveHandle solve(Collection<Symbol> assumptions) {
+        return solve(assumptions, null, SolveMode.YIELD);
+    }
+
+    /**
+     * Starts a search.
+     *
+     * @param assumptions Collection of atoms assumed to be true
+     * @param callback    Optional callbacks for intercepting models, lower bounds during optimization,
+     *                    statistics updates, or the end of the search (implement {@link SolveEventCallback}.
+     * @param solveMode   whether the search is blocking / non-blocking
+     * @return a solve-handle to interact with
+     */
+    public SolveHandle solve(Collection<Symbol> assumptions, SolveEventCallback callback, SolveMode solveMode) {
+        return control.solve(getLiterals(assumptions), callback, solveMode);
+    }
+
+    /**
+     * Assigns truth values to multiple external atoms.
+     *
+     * @param symbols    Multiple external atoms.
+     * @param truthValue Fixes the external to the respective truth value.
+     * @throws NoSuchElementException if a symbol is not an atom of the ground program
+     */
+    public void assignExternal(Symbol[] symbols, ExternalType truthValue) {
+        control.assignExternal(getLiterals(symbols), truthValue);
+    }
+
+    /**
+     * Assigns truth values to multiple external atoms.
+     *
+     * @param symbols    Multiple external atoms.
+     * @param truthValue Fixes the external to the respective truth value.
+     * @throws NoSuchElementException if a symbol is not an atom of the ground program
+     */
+    public void assignExternal(Collection<Symbol> symbols, ExternalType truthValue) {
+        control.assignExternal(getLiterals(symbols), truthValue);
+    }
+
+    /**
+     * Releases multiple external atoms, which makes them permanently false if they are not defined by the program.
+     *
+     * @param symbols Multiple external atoms to release
+     * @throws NoSuchElementException if a symbol is not an atom of the ground program
+     */
+    public void releaseExternal(Symbol[] symbols) {
+        control.releaseExternal(getLiterals(symbols));
+    }
+
+    /**
+     * Releases multiple external atoms, which makes them permanently false if they are not defined by the program.
+     *
+     * @param symbols Multiple external atoms to release
+     * @throws NoSuchElementException if a symbol is not an atom of the ground program
+     */
+    public void releaseExternal(Collection<Symbol> symbols) {
+        control.releaseExternal(getLiterals(symbols));
+    }
+
+    /**
+     * Closes the underlying control object.
+     */
+    @Override
+    public void close() {
+        control.close();
+    }
+
+    private LongIntMap index() {
+        SymbolicAtoms atoms = control.getSymbolicAtoms();
+        int size = atoms.size();
+        if (index == null || size != indexedAtoms) {
+            index = atoms.getLiterals();
+            indexedAtoms = size;
+        }
+        return index;
+    }
+
+    private static int getLiteral(LongIntMap index, Symbol symbol) {
+        int literal = index.get(symbol.getLong());
+        if (literal == NO_LITERAL)
+            throw new NoSuchElementException("Symbol '" + symbol + "' has no symbolic atom");
+        return literal;
+    }
+}
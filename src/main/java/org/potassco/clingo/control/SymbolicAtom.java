@@ -24,6 +24,8 @@ import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.LongByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.Scratch;
 import org.potassco.clingo.symbol.Signature;
 import org.potassco.clingo.symbol.Symbol;
 
@@ -53,8 +55,8 @@ public class SymbolicAtom {
      * @return Whether the atom is an external atom.
      */
     public boolean isExternal() {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_is_external(symbolicAtoms, iterator, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_external(symbolicAtoms, iterator, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -62,8 +64,8 @@ public class SymbolicAtom {
      * @return Whether the atom is a fact.
      */
     public boolean isFact() {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_is_fact(symbolicAtoms, iterator, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_fact(symbolicAtoms, iterator, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -71,8 +73,8 @@ public class SymbolicAtom {
      * @return The program literal associated with the atom.
      */
     public int getLiteral() {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_literal(symbolicAtoms, iterator, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_literal(symbolicAtoms, iterator, intByReference));
         return intByReference.getValue();
     }
 
@@ -80,8 +82,8 @@ public class SymbolicAtom {
      * @return The representation of the atom in form of a symbol.
      */
     public Symbol getSymbol() {
-        LongByReference longByReference = new LongByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_symbol(symbolicAtoms, iterator, longByReference));
+        LongByReference longByReference = Scratch.longByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_symbol(symbolicAtoms, iterator, longByReference));
         return Symbol.fromLong(longByReference.getValue());
     }
 
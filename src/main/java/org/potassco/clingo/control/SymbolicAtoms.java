@@ -27,9 +27,13 @@ import java.util.NoSuchElementException;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.LongByReference;
+import com.sun.jna.ptr.IntByReference;
+import org.potassco.clingo.collections.LongIntMap;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
 import org.potassco.clingo.internal.NativeSize;
 import org.potassco.clingo.internal.NativeSizeByReference;
+import org.potassco.clingo.internal.Scratch;
 import org.potassco.clingo.symbol.Signature;
 import org.potassco.clingo.symbol.Symbol;
 
@@ -49,11 +53,11 @@ public class SymbolicAtoms implements Iterable<SymbolicAtom> {
      * @return the symbolic atom of the symbol
      */
     public SymbolicAtom get(Symbol symbol) {
-        LongByReference longByReference = new LongByReference();
-        ByteByReference byteByReference = new ByteByReference();
+        LongByReference longByReference = Scratch.longByReference();
+        ByteByReference byteByReference = Scratch.byteByReference();
 
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_find(symbolicAtoms, symbol.getLong(), longByReference));
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_is_valid(symbolicAtoms, longByReference.getValue(), byteByReference));
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_find(symbolicAtoms, symbol.getLong(), longByReference));
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_valid(symbolicAtoms, longByReference.getValue(), byteByReference));
 
         if (byteByReference.getValue() == 0)
             throw new NoSuchElementException("Symbol '" + symbol + "' has no symbolic atom");
@@ -75,21 +79,67 @@ public class SymbolicAtoms implements Iterable<SymbolicAtom> {
      * @return a boolean indicating whether the symbolic atom exists
      */
     public boolean contains(Symbol symbol) {
-        LongByReference longByReference = new LongByReference();
-        ByteByReference byteByReference = new ByteByReference();
+        return contains(symbol.getLong());
+    }
+
+    /**
+     * @param symbol the native handle of the symbol to check for if a symbolic atom exists
+     * @return a boolean indicating whether the symbolic atom exists
+     */
+    public boolean contains(long symbol) {
+        LongByReference longByReference = Scratch.longByReference();
+        ByteByReference byteByReference = Scratch.byteByReference();
 
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_find(symbolicAtoms, symbol.getLong(), longByReference));
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_is_valid(symbolicAtoms, longByReference.getValue(), byteByReference));
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_find(symbolicAtoms, symbol, longByReference));
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_valid(symbolicAtoms, longByReference.getValue(), byteByReference));
 
         return byteByReference.getValue() > 0;
     }
 
+    /**
+     * Get the program literal of an atom without creating a {@link SymbolicAtom}.
+     *
+     * @param symbol the native handle of the symbol to return the program literal for
+     * @return the program literal of the symbol
+     * @throws NoSuchElementException if the symbol has no symbolic atom
+     */
+    public int getLiteral(long symbol) {
+        LongByReference longByReference = Scratch.longByReference();
+        ByteByReference byteByReference = Scratch.byteByReference();
+
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_find(symbolicAtoms, symbol, longByReference));
+        long iterator = longByReference.getValue();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_valid(symbolicAtoms, iterator, byteByReference));
+
+        if (byteByReference.getValue() == 0)
+            throw new NoSuchElementException("Symbol '" + Symbol.fromLong(symbol) + "' has no symbolic atom");
+
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_literal(symbolicAtoms, iterator, intByReference));
+        return intByReference.getValue();
+    }
+
+    /**
+     * @return a map from the native handles of all atoms in the program to their program literals
+     */
+    public LongIntMap getLiterals() {
+        return getLiterals(nativeIterator());
+    }
+
+    /**
+     * @param signature the signature of the atoms
+     * @return a map from the native handles of all atoms matching the signature to their program literals
+     */
+    public LongIntMap getLiterals(Signature signature) {
+        return getLiterals(nativeIteratorBySignature(signature.getLong()));
+    }
+
     /**
      * @return The amount of symbolic atoms in the program.
      */
     public int size() {
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_size(symbolicAtoms, nativeSizeByReference));
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_size(symbolicAtoms, nativeSizeByReference));
         return (int) nativeSizeByReference.getValue();
     }
 
@@ -97,8 +147,8 @@ public class SymbolicAtoms implements Iterable<SymbolicAtom> {
      * @return The number of different predicate signatures used in the program.
      */
     public int amountSignatures() {
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_signatures_size(symbolicAtoms, nativeSizeByReference));
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_signatures_size(symbolicAtoms, nativeSizeByReference));
         return (int) nativeSizeByReference.getValue();
     }
 
@@ -108,7 +158,7 @@ public class SymbolicAtoms implements Iterable<SymbolicAtom> {
     public List<Signature> getSignatures() {
         int amountSignatures = amountSignatures();
         long[] signaturesLongs = new long[amountSignatures];
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_signatures(symbolicAtoms, signaturesLongs, new NativeSize(amountSignatures)));
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_signatures(symbolicAtoms, signaturesLongs, new NativeSize(amountSignatures)));
         List<Signature> signatures = new ArrayList<>();
         for (long signature : signaturesLongs) {
             signatures.add(new Signature(signature));
@@ -132,22 +182,44 @@ public class SymbolicAtoms implements Iterable<SymbolicAtom> {
         return iterator(nativeIterator);
     }
 
+    public Pointer getPointer() {
+        return symbolicAtoms;
+    }
+
+    private LongIntMap getLiterals(long nativeIterator) {
+        LongIntMap literals = new LongIntMap(size());
+        LongByReference longByReference = new LongByReference(nativeIterator);
+        ByteByReference byteByReference = new ByteByReference();
+        IntByReference intByReference = new IntByReference();
+        while (true) {
+            long iterator = longByReference.getValue();
+            Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_valid(symbolicAtoms, iterator, byteByReference));
+            if (byteByReference.getValue() == 0)
+                return literals;
+            Clingo.check(ClingoDirect.clingo_symbolic_atoms_symbol(symbolicAtoms, iterator, longByReference));
+            long symbol = longByReference.getValue();
+            Clingo.check(ClingoDirect.clingo_symbolic_atoms_literal(symbolicAtoms, iterator, intByReference));
+            literals.put(symbol, intByReference.getValue());
+            Clingo.check(ClingoDirect.clingo_symbolic_atoms_next(symbolicAtoms, iterator, longByReference));
+        }
+    }
+
     private long nativeIteratorBySignature(long signature) {
-        LongByReference iteratorReference = new LongByReference();
+        LongByReference iteratorReference = Scratch.longByReference();
         LongByReference signatureReference = new LongByReference(signature);
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_begin(symbolicAtoms, signatureReference, iteratorReference));
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_begin(symbolicAtoms, signatureReference, iteratorReference));
         return iteratorReference.getValue();
     }
 
     private long nativeIterator() {
-        LongByReference iteratorReference = new LongByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_begin(symbolicAtoms, null, iteratorReference));
+        LongByReference iteratorReference = Scratch.longByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_begin(symbolicAtoms, null, iteratorReference));
         return iteratorReference.getValue();
     }
 
     private boolean nativeIteratorEquals(long iteratorA, long iteratorB) {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_iterator_is_equal_to(symbolicAtoms, iteratorA, iteratorB, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_symbolic_atoms_iterator_is_equal_to(symbolicAtoms, iteratorA, iteratorB, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -160,14 +232,14 @@ public class SymbolicAtoms implements Iterable<SymbolicAtom> {
 
             @Override
             public boolean hasNext() {
-                Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_is_valid(symbolicAtoms, longByReference.getValue(), byteByReference));
+                Clingo.check(ClingoDirect.clingo_symbolic_atoms_is_valid(symbolicAtoms, longByReference.getValue(), byteByReference));
                 return byteByReference.getValue() > 0;
             }
 
             @Override
             public SymbolicAtom next() {
                 SymbolicAtom symbolicAtom = new SymbolicAtom(symbolicAtoms, longByReference.getValue());
-                Clingo.check(Clingo.INSTANCE.clingo_symbolic_atoms_next(symbolicAtoms, longByReference.getValue(), longByReference));
+                Clingo.check(ClingoDirect.clingo_symbolic_atoms_next(symbolicAtoms, longByReference.getValue(), longByReference));
                 return symbolicAtom;
             }
         };
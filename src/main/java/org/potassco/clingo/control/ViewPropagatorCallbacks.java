@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.control;
+
+import java.util.Arrays;
+
+import com.sun.jna.Pointer;
+import com.sun.jna.ptr.IntByReference;
+import org.potassco.clingo.internal.ChangeViewAccess;
+import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.MutablePointer;
+import org.potassco.clingo.internal.NativeSize;
+import org.potassco.clingo.internal.SolverThreads;
+import org.potassco.clingo.propagator.Assignment;
+import org.potassco.clingo.propagator.ChangeView;
+import org.potassco.clingo.propagator.PropagateControl;
+import org.potassco.clingo.propagator.ViewPropagator;
+
+/**
+ * The native callbacks of a {@link ViewPropagator}.
+ * <p>
+ * The callbacks override the default implementations of the {@link Clingo} callback interfaces, which copy the
+ * change set and create new wrappers, and pass the wrappers of the calling solver thread instead. The wrappers are
+ * indexed by the solver thread id rather than by the Java thread, so that they survive a native thread being attached
+ * to the JVM anew. Each registration has its own wrappers, so that the callbacks of two propagators may nest on the
+ * same thread. Calls from Java with a copied change set are passed on with a view of the given array.
+ */
+final class ViewPropagatorCallbacks {
+
+    private static final ChangeViewAccess CHANGE_VIEWS = ChangeViewAccess.get();
+
+    private final ViewPropagator propagator;
+    // one slot per solver thread, grown in init before the solver threads call back
+    private volatile Wrappers[] wrappers = new Wrappers[0];
+
+    ViewPropagatorCallbacks(ViewPropagator propagator) {
+        this.propagator = propagator;
+    }
+
+    Clingo.Propagator toNative() {
+        Clingo.Propagator nativePropagator = new Clingo.Propagator();
+        nativePropagator.init = init -> {
+            ensureThreads(init.getAmountThreads());
+            propagator.init(init);
+        };
+        nativePropagator.propagate = new Clingo.PropagatorPropagateCallback() {
+            @Override
+            public byte callback(Pointer control, Pointer changes, NativeSize size, Pointer data) {
+                Wrappers current = wrappers(control);
+                propagator.propagate(current.control(control), current.changes(changes, size));
+                return 1;
+            }
+
+            @Override
+            public void call(PropagateControl control, int[] literals) {
+                propagator.propagate(control, view(literals));
+            }
+        };
+        nativePropagator.undo = new Clingo.PropagatorUndoCallback() {
+            @Override
+            public void callback(Pointer control, Pointer changes, NativeSize size, Pointer data) {
+                Wrappers current = wrappers(control);
+                propagator.undo(current.control(control), current.changes(changes, size));
+            }
+
+            @Override
+            public void call(PropagateControl control, int[] changes) {
+                propagator.undo(control, view(changes));
+            }
+        };
+        nativePropagator.check = new Clingo.PropagatorCheckCallback() {
+            @Override
+            public byte callback(Pointer control, Pointer data) {
+                propagator.check(wrappers(control).control(control));
+                return 1;
+            }
+
+            @Override
+            public void call(PropagateControl control) {
+                propagator.check(control);
+            }
+        };
+        nativePropagator.decide = new Clingo.PropagatorDecideCallback() {
+            @Override
+            public byte callback(int threadId, Pointer assignment, int fallback, Pointer data, IntByReference decisionReference) {
+                decisionReference.setValue(propagator.decide(threadId, wrappers[threadId].assignment(assignment), fallback));
+                return 1;
+            }
+
+            @Override
+            public int call(int threadId, Assignment assignment, int fallbackLiteral) {
+                return propagator.decide(threadId, assignment, fallbackLiteral);
+            }
+        };
+        SolverThreads.keepAttached(nativePropagator.propagate, nativePropagator.undo, nativePropagator.check, nativePropagator.decide);
+        return nativePropagator;
+    }
+
+    private void ensureThreads(int threads) {
+        Wrappers[] current = wrappers;
+        if (current.length >= threads)
+            return;
+        Wrappers[] grown = Arrays.copyOf(current, threads);
+        for (int i = current.length; i < threads; i++)
+            grown[i] = new Wrappers();
+        wrappers = grown;
+    }
+
+    private Wrappers wrappers(Pointer control) {
+        return wrappers[ClingoDirect.clingo_propagate_control_thread_id(control)];
+    }
+
+    // a call from Java gets its own view, since the view of the thread may be in use by an enclosing callback
+    private static ChangeView view(int[] changes) {
+        ChangeView view = CHANGE_VIEWS.create();
+        CHANGE_VIEWS.wrap(view, changes);
+        return view;
+    }
+
+    /**
+     * The wrappers of a single solver thread.
+     */
+    private static final class Wrappers {
+
+        private final MutablePointer controlPointer = new MutablePointer();
+        private final PropagateControl control = new PropagateControl(controlPointer);
+        private final MutablePointer assignmentPointer = new MutablePointer();
+        private final Assignment assignment = new Assignment(assignmentPointer);
+        private final ChangeView changes = CHANGE_VIEWS.create();
+
+        private PropagateControl control(Pointer pointer) {
+            controlPointer.setAddress(pointer);
+            return control;
+        }
+
+        private Assignment assignment(Pointer pointer) {
+            assignmentPointer.setAddress(pointer);
+            return assignment;
+        }
+
+        private ChangeView changes(Pointer pointer, NativeSize size) {
+            CHANGE_VIEWS.wrap(changes, pointer, size.intValue());
+            return changes;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+import com.sun.jna.Pointer;
+import org.potassco.clingo.propagator.ChangeView;
+
+/**
+ * Gives the bindings access to the package-private parts of {@link ChangeView}, which are not part of the public API.
+ * <p>
+ * The implementation is registered by {@link ChangeView} when its class is initialized.
+ */
+public abstract class ChangeViewAccess {
+
+    private static volatile ChangeViewAccess access;
+
+    /**
+     * @return the registered implementation
+     */
+    public static ChangeViewAccess get() {
+        ChangeViewAccess current = access;
+        if (current == null) {
+            try {
+                Class.forName(ChangeView.class.getName(), true, ChangeView.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+            current = access;
+        }
+        return current;
+    }
+
+    /**
+     * Register the implementation. Only the first registration is kept.
+     *
+     * @param implementation the implementation
+     */
+    public static synchronized void register(ChangeViewAccess implementation) {
+        if (access == null)
+            access = implementation;
+    }
+
+    /**
+     * @return a new view of an empty change set
+     */
+    public abstract ChangeView create();
+
+    /**
+     * Point a view to a native change set.
+     *
+     * @param view    the view
+     * @param changes the native array of solver literals
+     * @param size    the number of literals
+     */
+    public abstract void wrap(ChangeView view, Pointer changes, int size);
+
+    /**
+     * Point a view to a Java array of literals, which is not copied.
+     *
+     * @param view    the view
+     * @param changes the solver literals
+     */
+    public abstract void wrap(ChangeView view, int[] changes);
+}
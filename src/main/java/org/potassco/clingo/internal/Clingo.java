@@ -1179,6 +1179,8 @@ public interface Clingo extends Library {
      */
     byte clingo_propagate_init_add_clause(Pointer init, int[] clause, NativeSize size, ByteByReference result);
 
+    byte clingo_propagate_init_add_clause(Pointer init, Pointer clause, NativeSize size, ByteByReference result);
+
     /**
      * Add the given weight constraint to the solver.
      * <p>
@@ -2121,6 +2123,8 @@ public interface Clingo extends Library {
      */
     byte clingo_solve_control_add_clause(Pointer control, int[] clause, NativeSize size);
 
+    byte clingo_solve_control_add_clause(Pointer control, Pointer clause, NativeSize size);
+
 
     // SOLVE RESULT
 
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.ptr.ByteByReference;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.LongByReference;
+import com.sun.jna.ptr.PointerByReference;
+
+/**
+ * Direct-mapped bindings for the frequently called subset of the clingo C API.
+ * <p>
+ * The interface mapping {@link Clingo#INSTANCE} dispatches every call through a reflective proxy,
+ * which dominates the cost of cheap native functions like symbol inspection, assignment queries,
+ * or model lookups. The functions in this class are registered via {@link Native#register(Class, String)}
+ * and bound directly to their native counterparts.
+ * <p>
+ * Every function has the same semantics as the identically named function of {@link Clingo}.
+ * Since direct mapping does not support <code>String[]</code> out parameters, functions that return
+ * internalized strings use a {@link PointerByReference} instead.
+ */
+public final class ClingoDirect {
+
+    static {
+        System.setProperty("jna.encoding", "UTF-8");
+        Native.register(ClingoDirect.class, "clingo");
+    }
+
+    private ClingoDirect() {
+    }
+
+    // SYMBOLS
+
+    public static native void clingo_symbol_create_number(int number, LongByReference symbol);
+
+    public static native void clingo_symbol_create_supremum(LongByReference symbol);
+
+    public static native void clingo_symbol_create_infimum(LongByReference symbol);
+
+    public static native byte clingo_symbol_create_string(String string, LongByReference symbol);
+
+    public static native byte clingo_symbol_create_id(String name, byte positive, LongByReference symbol);
+
+    public static native byte clingo_symbol_create_function(String name, long[] arguments, NativeSize arguments_size, byte positive, LongByReference symbol);
+
+    public static native byte clingo_symbol_number(long symbol, IntByReference number);
+
+    public static native byte clingo_symbol_name(long symbol, PointerByReference name);
+
+    public static native byte clingo_symbol_string(long symbol, PointerByReference string);
+
+    public static native byte clingo_symbol_is_positive(long symbol, ByteByReference positive);
+
+    public static native byte clingo_symbol_is_negative(long symbol, ByteByReference negative);
+
+    public static native byte clingo_symbol_arguments(long symbol, PointerByReference arguments, NativeSizeByReference arguments_size);
+
+    public static native int clingo_symbol_type(long symbol);
+
+    public static native byte clingo_symbol_to_string_size(long symbol, NativeSizeByReference size);
+
+    public static native byte clingo_symbol_to_string(long symbol, byte[] string, NativeSize size);
+
+    public static native byte clingo_symbol_is_equal_to(long a, long b);
+
+    public static native byte clingo_symbol_is_less_than(long a, long b);
+
+    public static native NativeSize clingo_symbol_hash(long symbol);
+
+    // SYMBOLIC ATOMS
+
+    public static native byte clingo_symbolic_atoms_size(Pointer atoms, NativeSizeByReference size);
+
+    public static native byte clingo_symbolic_atoms_begin(Pointer atoms, LongByReference signature, LongByReference iterator);
+
+    public static native byte clingo_symbolic_atoms_end(Pointer atoms, LongByReference iterator);
+
+    public static native byte clingo_symbolic_atoms_find(Pointer atoms, long symbol, LongByReference iterator);
+
+    public static native byte clingo_symbolic_atoms_iterator_is_equal_to(Pointer atoms, long a, long b, ByteByReference equal);
+
+    public static native byte clingo_symbolic_atoms_symbol(Pointer atoms, long iterator, LongByReference symbol);
+
+    public static native byte clingo_symbolic_atoms_is_fact(Pointer atoms, long iterator, ByteByReference fact);
+
+    public static native byte clingo_symbolic_atoms_is_external(Pointer atoms, long iterator, ByteByReference external);
+
+    public static native byte clingo_symbolic_atoms_literal(Pointer atoms, long iterator, IntByReference literal);
+
+    public static native byte clingo_symbolic_atoms_signatures_size(Pointer atoms, NativeSizeByReference size);
+
+    public static native byte clingo_symbolic_atoms_signatures(Pointer atoms, long[] signatures, NativeSize size);
+
+    public static native byte clingo_symbolic_atoms_next(Pointer atoms, long iterator, LongByReference next);
+
+    public static native byte clingo_symbolic_atoms_is_valid(Pointer atoms, long iterator, ByteByReference valid);
+
+    // ASSIGNMENT
+
+    public static native int clingo_assignment_decision_level(Pointer assignment);
+
+    public static native int clingo_assignment_root_level(Pointer assignment);
+
+    public static native byte clingo_assignment_has_conflict(Pointer assignment);
+
+    public static native byte clingo_assignment_has_literal(Pointer assignment, int literal);
+
+    public static native byte clingo_assignment_level(Pointer assignment, int literal, IntByReference level);
+
+    public static native byte clingo_assignment_decision(Pointer assignment, int level, IntByReference literal);
+
+    public static native byte clingo_assignment_is_fixed(Pointer assignment, int literal, ByteByReference is_fixed);
+
+    public static native byte clingo_assignment_is_true(Pointer assignment, int literal, ByteByReference is_true);
+
+    public static native byte clingo_assignment_is_false(Pointer assignment, int literal, ByteByReference is_false);
+
+    public static native byte clingo_assignment_truth_value(Pointer assignment, int literal, IntByReference value);
+
+    public static native NativeSize clingo_assignment_size(Pointer assignment);
+
+    public static native byte clingo_assignment_at(Pointer assignment, NativeSize offset, IntByReference literal);
+
+    public static native byte clingo_assignment_is_total(Pointer assignment);
+
+    public static native byte clingo_assignment_trail_size(Pointer assignment, IntByReference size);
+
+    public static native byte clingo_assignment_trail_begin(Pointer assignment, int level, IntByReference offset);
+
+    public static native byte clingo_assignment_trail_end(Pointer assignment, int level, IntByReference offset);
+
+    public static native byte clingo_assignment_trail_at(Pointer assignment, int offset, IntByReference literal);
+
+    // PROPAGATE CONTROL
+
+    public static native int clingo_propagate_control_thread_id(Pointer control);
+
+    public static native Pointer clingo_propagate_control_assignment(Pointer control);
+
+    public static native byte clingo_propagate_control_add_literal(Pointer control, IntByReference result);
+
+    public static native byte clingo_propagate_control_add_watch(Pointer control, int literal);
+
+    public static native byte clingo_propagate_control_has_watch(Pointer control, int literal);
+
+    public static native void clingo_propagate_control_remove_watch(Pointer control, int literal);
+
+    public static native byte clingo_propagate_control_add_clause(Pointer control, int[] clause, NativeSize size, int type, ByteByReference result);
+
+    public static native byte clingo_propagate_control_add_clause(Pointer control, Pointer clause, NativeSize size, int type, ByteByReference result);
+
+    public static native byte clingo_propagate_control_propagate(Pointer control, ByteByReference result);
+
+    // MODEL
+
+    public static native byte clingo_model_type(Pointer model, IntByReference type);
+
+    public static native byte clingo_model_number(Pointer model, LongByReference number);
+
+    public static native byte clingo_model_symbols_size(Pointer model, int show, NativeSizeByReference size);
+
+    public static native byte clingo_model_symbols(Pointer model, int show, long[] symbols, NativeSize size);
+
+    public static native byte clingo_model_symbols(Pointer model, int show, Pointer symbols, NativeSize size);
+
+    public static native byte clingo_model_contains(Pointer model, long atom, ByteByReference contained);
+
+    public static native byte clingo_model_is_true(Pointer model, int literal, ByteByReference result);
+
+    public static native byte clingo_model_is_consequence(Pointer model, int literal, IntByReference result);
+
+    public static native byte clingo_model_cost_size(Pointer model, NativeSizeByReference size);
+
+    public static native byte clingo_model_cost(Pointer model, long[] costs, NativeSize size);
+
+    public static native byte clingo_model_priority(Pointer model, int[] priorities, NativeSize size);
+
+    public static native byte clingo_model_optimality_proven(Pointer model, ByteByReference proven);
+
+    public static native byte clingo_model_thread_id(Pointer model, IntByReference id);
+
+    public static native byte clingo_model_extend(Pointer model, long[] symbols, NativeSize size);
+
+    public static native byte clingo_model_context(Pointer model, PointerByReference control);
+}
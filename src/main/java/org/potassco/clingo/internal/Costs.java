@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+/**
+ * Operations on the cost vectors of models, which are ordered by priority, highest first.
+ */
+public final class Costs {
+
+    private Costs() {
+    }
+
+    /**
+     * Compare two cost vectors lexicographically, where a lower cost is better.
+     *
+     * @param a a cost vector
+     * @param b another cost vector
+     * @return a negative number if a is better than b, zero if both are equal, and a positive number otherwise
+     */
+    public static int compare(long[] a, long[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            int comparison = Long.compare(a[i], b[i]);
+            if (comparison != 0)
+                return comparison;
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    /**
+     * @param bound a non-empty cost vector
+     * @return the value of {@code solve.opt_mode} that only accepts models with a cost below the bound
+     */
+    public static String optMode(long[] bound) {
+        StringBuilder builder = new StringBuilder("opt");
+        for (long cost : bound)
+            builder.append(',').append(cost);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+import com.sun.jna.Pointer;
+
+/**
+ * A pointer whose address can be changed.
+ * <p>
+ * Wrappers that are passed to callbacks are reused across calls by pointing them to the address of the current
+ * call. A wrapper built on top of a mutable pointer is only valid until the next call that reuses it.
+ */
+public final class MutablePointer extends Pointer {
+
+    public MutablePointer() {
+        super(0);
+    }
+
+    /**
+     * @param address the new native address
+     */
+    public void setAddress(long address) {
+        this.peer = address;
+    }
+
+    /**
+     * @param pointer the pointer to copy the address from, or null for the null pointer
+     */
+    public void setAddress(Pointer pointer) {
+        this.peer = Pointer.nativeValue(pointer);
+    }
+}
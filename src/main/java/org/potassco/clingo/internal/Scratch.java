@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+import com.sun.jna.ptr.ByteByReference;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.LongByReference;
+import com.sun.jna.ptr.PointerByReference;
+
+/**
+ * Per-thread out parameters for native calls.
+ * <p>
+ * Each {@link com.sun.jna.ptr.ByReference} allocates a small block of native memory that is only released on
+ * finalization, so creating one per native call puts a lot of pressure on the garbage collector.
+ * The slots of this class are allocated once per thread and reused instead. Clingo's solver threads stay attached
+ * between callbacks for this, see {@link SolverThreads}.
+ * <p>
+ * A slot is only valid until the next native call that uses the same slot on the same thread.
+ * Read its value right after the call returns and never hand it out to user code.
+ * Native functions that call back into Java before writing their out parameters must not use these slots.
+ */
+public final class Scratch {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ByteByReference byteByReference = new ByteByReference();
+    private final IntByReference intByReference = new IntByReference();
+    private final LongByReference longByReference = new LongByReference();
+    private final PointerByReference pointerByReference = new PointerByReference();
+    private final NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
+
+    private Scratch() {
+    }
+
+    public static ByteByReference byteByReference() {
+        return SCRATCH.get().byteByReference;
+    }
+
+    public static IntByReference intByReference() {
+        return SCRATCH.get().intByReference;
+    }
+
+    public static LongByReference longByReference() {
+        return SCRATCH.get().longByReference;
+    }
+
+    public static PointerByReference pointerByReference() {
+        return SCRATCH.get().pointerByReference;
+    }
+
+    public static NativeSizeByReference nativeSizeByReference() {
+        return SCRATCH.get().nativeSizeByReference;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+import com.sun.jna.Callback;
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
+
+/**
+ * Keeps clingo's solver threads attached to the JVM between callbacks.
+ * <p>
+ * By default, JNA attaches a native thread for each callback and detaches it afterwards, so that each callback runs
+ * on a new Java thread and finds all thread locals, like the slots of {@link Scratch}, empty again. Callbacks that
+ * are invoked on solver threads keep their thread attached instead, until the native thread exits.
+ */
+public final class SolverThreads {
+
+    private static final CallbackThreadInitializer ATTACHED = new CallbackThreadInitializer(true, false, "clingo-solver");
+
+    private SolverThreads() {
+    }
+
+    /**
+     * Keep the threads that invoke the given callbacks attached. Must be called before the callbacks are passed to
+     * native code.
+     *
+     * @param callbacks the callbacks, null entries are ignored
+     */
+    public static void keepAttached(Callback... callbacks) {
+        for (Callback callback : callbacks) {
+            if (callback != null)
+                Native.setCallbackThreadInitializer(callback, ATTACHED);
+        }
+    }
+}
@@ -19,13 +19,19 @@
 
 package org.potassco.clingo.propagator;
 
+import java.nio.BufferOverflowException;
+import java.nio.IntBuffer;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.IntByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
 import org.potassco.clingo.internal.NativeSize;
+import org.potassco.clingo.internal.Scratch;
 import org.potassco.clingo.solving.TruthValue;
 
 /**
@@ -49,7 +55,7 @@ public class Assignment implements Iterable<Integer> {
      * @return The number of (positive) literals in the assignment.
      */
     public int size() {
-        return Clingo.INSTANCE.clingo_assignment_size(assignment).intValue();
+        return ClingoDirect.clingo_assignment_size(assignment).intValue();
     }
 
     /**
@@ -57,8 +63,8 @@ public class Assignment implements Iterable<Integer> {
      * @return The (positive) literal at the given offset in the assignment.
      */
     public int get(int index) {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_at(assignment, new NativeSize(index), intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_at(assignment, new NativeSize(index), intByReference));
         return intByReference.getValue();
     }
 
@@ -68,12 +74,66 @@ public class Assignment implements Iterable<Integer> {
      * @return The (positive) literals at the given interval in the assignment.
      */
     public int[] get(int begin, int end) {
-        assert end > begin;
         int[] literals = new int[end - begin];
+        copyTo(begin, end, literals, 0);
+        return literals;
+    }
+
+    /**
+     * @return All (positive) literals in the assignment.
+     */
+    public int[] toArray() {
+        return get(0, size());
+    }
+
+    /**
+     * Copy the (positive) literals at the given interval into an existing array.
+     * <p>
+     * The C API only gives access to single literals, so this still makes one native call per literal,
+     * but it reuses the out parameter and does not box the literals.
+     *
+     * @param begin  the start index of the literal, inclusive
+     * @param end    the end index of the literal, exclusive
+     * @param target the array to copy into
+     * @param offset the index in the array of the first literal
+     * @return the number of copied literals
+     */
+    public int copyTo(int begin, int end, int[] target, int offset) {
+        if (begin < 0 || end < begin)
+            throw new IndexOutOfBoundsException("invalid range [" + begin + ", " + end + ")");
+        if (offset < 0 || offset + end - begin > target.length)
+            throw new IndexOutOfBoundsException("target array of length " + target.length + " is too small");
+        NativeSize index = new NativeSize();
+        IntByReference intByReference = Scratch.intByReference();
         for (int i = begin; i < end; i++) {
-            literals[i] = get(i);
+            index.setValue(i);
+            Clingo.check(ClingoDirect.clingo_assignment_at(assignment, index, intByReference));
+            target[offset++] = intByReference.getValue();
         }
-        return literals;
+        return end - begin;
+    }
+
+    /**
+     * Copy the (positive) literals at the given interval into a buffer at its current position.
+     *
+     * @param begin  the start index of the literal, inclusive
+     * @param end    the end index of the literal, exclusive
+     * @param target the buffer to copy into, whose position is advanced by the number of copied literals
+     * @return the number of copied literals
+     */
+    public int copyTo(int begin, int end, IntBuffer target) {
+        if (begin < 0 || end < begin)
+            throw new IndexOutOfBoundsException("invalid range [" + begin + ", " + end + ")");
+        if (target.remaining() < end - begin)
+            throw new BufferOverflowException();
+        NativeSize index = new NativeSize();
+        IntByReference intByReference = Scratch.intByReference();
+        for (int i = begin; i < end; i++) {
+            index.setValue(i);
+            Clingo.check(ClingoDirect.clingo_assignment_at(assignment, index, intByReference));
+            target.put(intByReference.getValue());
+        }
+        return end - begin;
     }
 
     /**
@@ -83,8 +143,8 @@ public class Assignment implements Iterable<Integer> {
      * @return a bool determining if the literal is assigned on the top level.
      */
     public TruthValue getTruthValue(int literal) {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_truth_value(assignment, literal, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_truth_value(assignment, literal, intByReference));
         return TruthValue.fromValue(intByReference.getValue());
     }
 
@@ -94,8 +154,8 @@ public class Assignment implements Iterable<Integer> {
      * @return the decision literal of the given level.
      */
     public int getDecision(int level) {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_decision(assignment, level, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_decision(assignment, level, intByReference));
         return intByReference.getValue();
     }
 
@@ -105,7 +165,7 @@ public class Assignment implements Iterable<Integer> {
      * @return the current decision level.
      */
     public int getDecisionLevel() {
-        return Clingo.INSTANCE.clingo_assignment_decision_level(assignment);
+        return ClingoDirect.clingo_assignment_decision_level(assignment);
     }
 
     /**
@@ -115,7 +175,7 @@ public class Assignment implements Iterable<Integer> {
      * @return the decision level
      */
     public int getRootLevel() {
-        return Clingo.INSTANCE.clingo_assignment_root_level(assignment);
+        return ClingoDirect.clingo_assignment_root_level(assignment);
     }
 
     /**
@@ -124,7 +184,7 @@ public class Assignment implements Iterable<Integer> {
      * @return whether the assignment is conflicting
      */
     public boolean isConflicting() {
-        return Clingo.INSTANCE.clingo_assignment_has_conflict(assignment) > 0;
+        return ClingoDirect.clingo_assignment_has_conflict(assignment) > 0;
     }
 
     /**
@@ -133,7 +193,7 @@ public class Assignment implements Iterable<Integer> {
      * @return whether the assignment is total
      */
     public boolean isTotal() {
-        return Clingo.INSTANCE.clingo_assignment_is_total(assignment) > 0;
+        return ClingoDirect.clingo_assignment_is_total(assignment) > 0;
     }
 
     /**
@@ -143,7 +203,7 @@ public class Assignment implements Iterable<Integer> {
      * @return a bool determining if the given literal is valid in this solver.
      */
     public boolean hasLiteral(int literal) {
-        return Clingo.INSTANCE.clingo_assignment_has_literal(assignment, literal) > 0;
+        return ClingoDirect.clingo_assignment_has_literal(assignment, literal) > 0;
     }
 
     /**
@@ -153,8 +213,8 @@ public class Assignment implements Iterable<Integer> {
      * @return a bool determining if the literal is false.
      */
     public boolean isFalse(int literal) {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_is_false(assignment, literal, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_is_false(assignment, literal, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -165,8 +225,8 @@ public class Assignment implements Iterable<Integer> {
      * @return a bool determining if the literal is assigned on the top level.
      */
     public boolean isFixed(int literal) {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_is_fixed(assignment, literal, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_is_fixed(assignment, literal, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -177,8 +237,8 @@ public class Assignment implements Iterable<Integer> {
      * @return a bool determining if the literal is true.
      */
     public boolean isTrue(int literal) {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_is_true(assignment, literal, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_is_true(assignment, literal, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -199,8 +259,8 @@ public class Assignment implements Iterable<Integer> {
      * @return the resulting level
      */
     public int getLevel(int literal) {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_level(assignment, literal, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_level(assignment, literal, intByReference));
         return intByReference.getValue();
     }
 
@@ -220,18 +280,27 @@ public class Assignment implements Iterable<Integer> {
 
     @Override
     public Iterator<Integer> iterator() {
-        return new Iterator<>() {
+        return intIterator();
+    }
+
+    /**
+     * @return an iterator over the (positive) literals in the assignment that does not box them
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new PrimitiveIterator.OfInt() {
 
             private final int size = size();
             private int i = 0;
 
             @Override
             public boolean hasNext() {
-                return i < size - 1;
+                return i < size;
             }
 
             @Override
-            public Integer next() {
+            public int nextInt() {
+                if (i >= size)
+                    throw new NoSuchElementException();
                 return get(i++);
             }
         };
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.propagator;
+
+import com.sun.jna.Pointer;
+import org.potassco.clingo.internal.ChangeViewAccess;
+import org.potassco.clingo.internal.MutablePointer;
+
+/**
+ * A read-only view of the native change set of a propagator callback.
+ * <p>
+ * The literals are read from native memory on access and are not copied. The view is only valid during the
+ * callback it was passed to, afterwards it is reused for the next callback of the same solver thread. Use
+ * {@link #toArray()} to keep the literals. A view can also wrap a Java array, e.g., if a callback is called from Java.
+ */
+public final class ChangeView {
+
+    static {
+        ChangeViewAccess.register(new ChangeViewAccess() {
+            @Override
+            public ChangeView create() {
+                return new ChangeView();
+            }
+
+            @Override
+            public void wrap(ChangeView view, Pointer changes, int size) {
+                view.wrap(changes, size);
+            }
+
+            @Override
+            public void wrap(ChangeView view, int[] changes) {
+                view.wrap(changes);
+            }
+        });
+    }
+
+    private final MutablePointer changes = new MutablePointer();
+    // the wrapped Java array, or null if native memory is wrapped
+    private int[] literals;
+    private int size;
+
+    private ChangeView() {
+    }
+
+    /**
+     * Point this view to another change set. Called by the bindings before each callback.
+     *
+     * @param changes the native array of solver literals
+     * @param size    the number of literals
+     */
+    void wrap(Pointer changes, int size) {
+        this.changes.setAddress(changes);
+        this.literals = null;
+        this.size = size;
+    }
+
+    /**
+     * Point this view to a Java array of literals, which is not copied.
+     *
+     * @param changes the solver literals
+     */
+    void wrap(int[] changes) {
+        this.literals = changes;
+        this.size = changes.length;
+    }
+
+    /**
+     * @return the number of literals in the change set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index the index of the literal
+     * @return the solver literal at the given index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        if (literals != null)
+            return literals[index];
+        return changes.getInt((long) index * Integer.BYTES);
+    }
+
+    /**
+     * Copy the literals into an existing array with a single native read.
+     *
+     * @param target the array to copy into, which must hold at least {@link #size()} literals
+     * @return the number of copied literals
+     */
+    public int copyTo(int[] target) {
+        if (target.length < size)
+            throw new IllegalArgumentException("target array of length " + target.length + " is too small for " + size + " literals");
+        if (literals != null)
+            System.arraycopy(literals, 0, target, 0, size);
+        else if (size > 0)
+            changes.read(0, target, 0, size);
+        return size;
+    }
+
+    /**
+     * @return a copy of the literals
+     */
+    public int[] toArray() {
+        int[] literals = new int[size];
+        copyTo(literals);
+        return literals;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0)
+                builder.append(", ");
+            builder.append(get(i));
+        }
+        return builder.append(']').toString();
+    }
+}
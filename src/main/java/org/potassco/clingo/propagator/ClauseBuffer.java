@@ -0,0 +1,471 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.propagator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+import com.sun.jna.ptr.ByteByReference;
+import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.MutablePointer;
+import org.potassco.clingo.internal.NativeSize;
+import org.potassco.clingo.internal.Scratch;
+import org.potassco.clingo.solving.SolveControl;
+
+/**
+ * Collects clauses and nogoods and adds them to the solver in one go.
+ * <p>
+ * The literals of all clauses are written to a single block of native memory, so adding a clause passes a
+ * pointer into this block instead of copying a Java array. Nogoods are negated while they are written, so that no
+ * negated copy is allocated. The buffer can be reused after it was flushed.
+ * <p>
+ * If deduplication is enabled, a locked clause that was already added since the last call of
+ * {@link #resetDeduplication()} is dropped. Clauses that are not locked are never dropped, since the solver may
+ * delete them and the propagator has to be able to add them again. A buffer is not thread-safe, so use one buffer
+ * per solver thread and reset its deduplication in {@link Propagator#init}.
+ *
+ * <pre>{@code
+ * ClauseBuffer buffer = buffers[control.getThreadId()];
+ * for (int[] nogood : violated)
+ *     buffer.addNoGood(nogood);
+ * if (!control.addClauses(buffer))
+ *     return;
+ * }</pre>
+ */
+public final class ClauseBuffer {
+
+    // owns the native memory that literals and address point into
+    private ByteBuffer memory;
+    private IntBuffer literals;
+    private long address;
+    private final MutablePointer clause = new MutablePointer();
+    private final NativeSize clauseSize = new NativeSize();
+
+    // the literals of clause i are at [ends[i - 1], ends[i])
+    private int[] ends = new int[16];
+    private ClauseType[] types = new ClauseType[16];
+    // the arena offset of the deduplication entry of clause i, or -1 if the clause was not remembered
+    private int[] marks = new int[16];
+    private int clauses;
+    private int size;
+    // the start of the clause that is currently written, or -1
+    private int start = -1;
+    private boolean negate;
+
+    private boolean deduplicate;
+    // open addressing table of offsets + 1 into the arena, which stores the sorted literals of a clause after its size
+    private int[] table = new int[16];
+    private int[] arena = new int[64];
+    private int arenaSize;
+    private int entries;
+    private int[] scratch = new int[16];
+    private long suppressed;
+
+    public ClauseBuffer() {
+        this(1024);
+    }
+
+    /**
+     * @param capacity the initial number of literals
+     */
+    public ClauseBuffer(int capacity) {
+        allocate(Math.max(16, capacity));
+    }
+
+    /**
+     * Start writing a clause literal by literal.
+     *
+     * @return this buffer
+     * @throws IllegalStateException if another clause was not ended
+     */
+    public ClauseBuffer beginClause() {
+        return begin(false);
+    }
+
+    /**
+     * Start writing a nogood literal by literal. Its literals are negated while they are written.
+     *
+     * @return this buffer
+     * @throws IllegalStateException if another clause was not ended
+     */
+    public ClauseBuffer beginNoGood() {
+        return begin(true);
+    }
+
+    /**
+     * @param literal the next solver literal of the current clause or nogood
+     * @return this buffer
+     */
+    public ClauseBuffer add(int literal) {
+        if (start < 0)
+            throw new IllegalStateException("no clause was begun");
+        ensureCapacity(size + 1);
+        literals.put(size++, negate ? -literal : literal);
+        return this;
+    }
+
+    /**
+     * End the current clause or nogood as a learnt clause.
+     */
+    public void end() {
+        end(false, false);
+    }
+
+    /**
+     * End the current clause or nogood.
+     *
+     * @param tag  If true, the clause applies only in the current solving step.
+     * @param lock If true, exclude clause from the solver's regular clause deletion policy.
+     */
+    public void end(boolean tag, boolean lock) {
+        if (start < 0)
+            throw new IllegalStateException("no clause was begun");
+        int begin = start;
+        start = -1;
+        int mark = -1;
+        if (lock && deduplicate) {
+            mark = arenaSize;
+            if (!remember(begin, size)) {
+                size = begin;
+                suppressed++;
+                return;
+            }
+        }
+        if (clauses == ends.length) {
+            ends = Arrays.copyOf(ends, clauses * 2);
+            types = Arrays.copyOf(types, clauses * 2);
+            marks = Arrays.copyOf(marks, clauses * 2);
+        }
+        marks[clauses] = mark;
+        ends[clauses] = size;
+        types[clauses++] = tag ? (lock ? ClauseType.VOLATILE_STATIC : ClauseType.VOLATILE) : (lock ? ClauseType.STATIC : ClauseType.LEARNT);
+    }
+
+    /**
+     * @param clause solver literals forming a learnt clause
+     */
+    public void addClause(int[] clause) {
+        addClause(clause, false, false);
+    }
+
+    /**
+     * @param clause solver literals forming the clause
+     * @param tag    If true, the clause applies only in the current solving step.
+     * @param lock   If true, exclude clause from the solver's regular clause deletion policy.
+     */
+    public void addClause(int[] clause, boolean tag, boolean lock) {
+        write(false, clause, tag, lock);
+    }
+
+    /**
+     * Equivalent to {@link #addClause(int[])} with the literals negated.
+     *
+     * @param nogood solver literals that must not all be true
+     */
+    public void addNoGood(int[] nogood) {
+        addNoGood(nogood, false, false);
+    }
+
+    /**
+     * Equivalent to {@link #addClause(int[], boolean, boolean)} with the literals negated.
+     *
+     * @param nogood solver literals that must not all be true
+     * @param tag    If true, the clause applies only in the current solving step.
+     * @param lock   If true, exclude clause from the solver's regular clause deletion policy.
+     */
+    public void addNoGood(int[] nogood, boolean tag, boolean lock) {
+        write(true, nogood, tag, lock);
+    }
+
+    /**
+     * @return the number of buffered clauses
+     */
+    public int getClauseCount() {
+        return clauses;
+    }
+
+    /**
+     * @return the number of buffered literals
+     */
+    public int getLiteralCount() {
+        return start < 0 ? size : start;
+    }
+
+    /**
+     * @return the number of clauses dropped as duplicates since the creation of the buffer
+     */
+    public long getSuppressed() {
+        return suppressed;
+    }
+
+    /**
+     * @param deduplicate whether to drop locked clauses that were already added
+     */
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    /**
+     * Forget the clauses seen by the deduplication, e.g., at the start of a solving step.
+     */
+    public void resetDeduplication() {
+        Arrays.fill(table, 0);
+        Arrays.fill(marks, 0, clauses, -1);
+        arenaSize = 0;
+        entries = 0;
+    }
+
+    /**
+     * Drop all buffered clauses, including a clause that was not ended. The deduplication forgets the dropped
+     * clauses, so they can be buffered again.
+     */
+    public void clear() {
+        forget(0);
+        reset();
+    }
+
+    /**
+     * Add the buffered clauses to the solver thread of a propagate control and clear the buffer.
+     * <p>
+     * The remaining clauses are dropped as soon as adding a clause fails, since the propagator must return then.
+     * The deduplication forgets the dropped clauses, so they can be added again later.
+     *
+     * @param control the control object of the solver thread
+     * @return false if the current propagation must be stopped
+     */
+    public boolean flush(PropagateControl control) {
+        checkEnded();
+        int added = 0;
+        try {
+            ByteByReference byteByReference = Scratch.byteByReference();
+            while (added < clauses) {
+                Clingo.check(ClingoDirect.clingo_propagate_control_add_clause(control.propagateControl, clause(added), clauseSize,
+                        types[added].getValue(), byteByReference));
+                // a clause that leads to a conflict is still added
+                added++;
+                if (byteByReference.getValue() == 0)
+                    return false;
+            }
+            return true;
+        } finally {
+            forget(added);
+            reset();
+        }
+    }
+
+    /**
+     * Statically add the buffered clauses to the problem and clear the buffer. The clause types are ignored.
+     * <p>
+     * The remaining clauses are dropped as soon as the problem becomes unsatisfiable.
+     *
+     * @param init the initialization object
+     * @return false if the program became unsatisfiable
+     */
+    public boolean flush(PropagateInit init) {
+        checkEnded();
+        int added = 0;
+        try {
+            ByteByReference byteByReference = Scratch.byteByReference();
+            while (added < clauses) {
+                Clingo.check(Clingo.INSTANCE.clingo_propagate_init_add_clause(init.getPointer(), clause(added), clauseSize, byteByReference));
+                added++;
+                if (byteByReference.getValue() == 0)
+                    return false;
+            }
+            return true;
+        } finally {
+            forget(added);
+            reset();
+        }
+    }
+
+    /**
+     * Add the buffered clauses over program literals to the current solving step and clear the buffer.
+     * The clause types are ignored.
+     *
+     * @param control the solve control of a model
+     */
+    public void flush(SolveControl control) {
+        checkEnded();
+        int added = 0;
+        try {
+            for (; added < clauses; added++)
+                Clingo.check(Clingo.INSTANCE.clingo_solve_control_add_clause(control.getPointer(), clause(added), clauseSize));
+        } finally {
+            forget(added);
+            reset();
+        }
+    }
+
+    private ClauseBuffer begin(boolean negate) {
+        if (start >= 0)
+            throw new IllegalStateException("the previous clause was not ended");
+        this.start = size;
+        this.negate = negate;
+        return this;
+    }
+
+    private void write(boolean negate, int[] clause, boolean tag, boolean lock) {
+        begin(negate);
+        ensureCapacity(size + clause.length);
+        for (int literal : clause)
+            literals.put(size++, negate ? -literal : literal);
+        end(tag, lock);
+    }
+
+    private void reset() {
+        clauses = 0;
+        size = 0;
+        start = -1;
+    }
+
+    /**
+     * Remove the deduplication entries of the buffered clauses from index first on, which were not added to the
+     * solver. Their entries are the last ones of the arena, so they are removed in reverse order.
+     */
+    private void forget(int first) {
+        for (int i = clauses - 1; i >= first; i--) {
+            if (marks[i] < 0)
+                continue;
+            remove(marks[i]);
+            arenaSize = marks[i];
+            entries--;
+        }
+    }
+
+    private void checkEnded() {
+        if (start >= 0)
+            throw new IllegalStateException("the last clause was not ended");
+    }
+
+    /**
+     * Point the reused pointer and size to clause i.
+     */
+    private Pointer clause(int i) {
+        int begin = i == 0 ? 0 : ends[i - 1];
+        clause.setAddress(address + (long) begin * Integer.BYTES);
+        clauseSize.setValue(ends[i] - begin);
+        return clause;
+    }
+
+    private void allocate(int capacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder());
+        IntBuffer view = grown.asIntBuffer();
+        if (literals != null) {
+            for (int i = 0; i < size; i++)
+                view.put(i, literals.get(i));
+        }
+        memory = grown;
+        literals = view;
+        address = Pointer.nativeValue(Native.getDirectBufferPointer(grown));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > literals.capacity())
+            allocate(Math.max(capacity, literals.capacity() * 2));
+    }
+
+    /**
+     * @return false if the clause at [begin, end) of the buffer was remembered before, otherwise remember it
+     */
+    private boolean remember(int begin, int end) {
+        int length = end - begin;
+        if (scratch.length < length)
+            scratch = new int[Math.max(length, scratch.length * 2)];
+        for (int i = 0; i < length; i++)
+            scratch[i] = literals.get(begin + i);
+        Arrays.sort(scratch, 0, length);
+        int hash = hash(scratch, 0, length);
+        int mask = table.length - 1;
+        int index = hash & mask;
+        while (table[index] != 0) {
+            if (equals(table[index] - 1, length))
+                return false;
+            index = (index + 1) & mask;
+        }
+        if (arena.length < arenaSize + length + 1)
+            arena = Arrays.copyOf(arena, Math.max(arenaSize + length + 1, arena.length * 2));
+        table[index] = arenaSize + 1;
+        arena[arenaSize] = length;
+        System.arraycopy(scratch, 0, arena, arenaSize + 1, length);
+        arenaSize += length + 1;
+        if (++entries > table.length >> 1)
+            rehash();
+        return true;
+    }
+
+    /**
+     * Remove the entry at the given arena offset from the table by shifting back the entries of its probe sequence.
+     */
+    private void remove(int offset) {
+        int mask = table.length - 1;
+        int hole = hash(arena, offset + 1, arena[offset]) & mask;
+        while (table[hole] != offset + 1)
+            hole = (hole + 1) & mask;
+        for (int index = (hole + 1) & mask; table[index] != 0; index = (index + 1) & mask) {
+            int entry = table[index];
+            int home = hash(arena, entry, arena[entry - 1]) & mask;
+            // the entry may fill the hole if the hole lies between its home and its slot
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                table[hole] = entry;
+                hole = index;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private boolean equals(int offset, int length) {
+        if (arena[offset] != length)
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (arena[offset + 1 + i] != scratch[i])
+                return false;
+        }
+        return true;
+    }
+
+    private void rehash() {
+        int[] grown = new int[table.length * 2];
+        int mask = grown.length - 1;
+        for (int entry : table) {
+            if (entry == 0)
+                continue;
+            int offset = entry - 1;
+            int index = hash(arena, offset + 1, arena[offset]) & mask;
+            while (grown[index] != 0)
+                index = (index + 1) & mask;
+            grown[index] = entry;
+        }
+        table = grown;
+    }
+
+    private static int hash(int[] values, int offset, int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++)
+            hash = 31 * hash + values[i];
+        // spread the bits for the power of two table
+        return (hash * 0x9E3779B9) ^ (hash >>> 16);
+    }
+}
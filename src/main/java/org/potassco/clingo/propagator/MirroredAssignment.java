@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.propagator;
+
+import java.util.Arrays;
+
+import org.potassco.clingo.solving.TruthValue;
+
+/**
+ * A copy of the truth values and decision levels of watched literals in Java arrays, one per solver thread.
+ * <p>
+ * Each query of an {@link Assignment} is a native call. Propagators often query the assignment of their watched
+ * literals far more often than they receive changes, so it is cheaper to mirror these literals and to update the
+ * mirror from the change sets of {@link Propagator#propagate} and {@link Propagator#undo}. Queries are then plain
+ * array reads.
+ * <p>
+ * Both polarities of a mirrored literal are watched, so that the mirror sees every assignment of its variable. The
+ * mirror relies on {@link Propagator#undo} being called for every change set passed to {@link Propagator#propagate},
+ * which holds for both {@link PropagatorUndoMode}s. The level of a change is the decision level of the propagate call,
+ * since clasp calls propagators before making the next decision.
+ *
+ * <pre>{@code
+ * public void init(PropagateInit init) {
+ *     mirror.init(init);
+ *     mirror.watch(init, literal);
+ * }
+ *
+ * public void propagate(PropagateControl control, int[] changes) {
+ *     int threadId = mirror.propagate(control, changes);
+ *     if (mirror.isTrue(threadId, literal)) ...
+ * }
+ *
+ * public void undo(PropagateControl control, int[] changes) {
+ *     mirror.undo(control, changes);
+ * }
+ * }</pre>
+ * <p>
+ * If validation is enabled, which is the default if assertions are enabled, the mirror is compared to the native
+ * assignment after each propagate call.
+ */
+public final class MirroredAssignment {
+
+    private static final byte FREE = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    // indexed by variable, i.e., the absolute value of a solver literal
+    private boolean[] mirrored = new boolean[0];
+    // indexed by thread id and variable, only written by the solver thread of the same id
+    private byte[][] values = new byte[0][];
+    private int[][] levels = new int[0][];
+    private boolean validation = MirroredAssignment.class.desiredAssertionStatus();
+
+    /**
+     * Clear the mirror for a new solve call. Call this from {@link Propagator#init} before adding watches.
+     *
+     * @param init the initialization object
+     */
+    public void init(PropagateInit init) {
+        int threads = init.getAmountThreads();
+        int capacity = init.getAssignment().size() + 1;
+        mirrored = new boolean[capacity];
+        values = new byte[threads][capacity];
+        levels = new int[threads][capacity];
+        for (int[] threadLevels : levels)
+            Arrays.fill(threadLevels, -1);
+    }
+
+    /**
+     * Watch both polarities of the given literal in all solver threads and mirror its assignment.
+     *
+     * @param init    the initialization object
+     * @param literal a solver literal
+     */
+    public void watch(PropagateInit init, int literal) {
+        int variable = Math.abs(literal);
+        ensureCapacity(variable + 1);
+        if (mirrored[variable])
+            return;
+        mirrored[variable] = true;
+        init.addWatch(variable);
+        init.addWatch(-variable);
+        // literals fixed before the search are not necessarily part of a change set
+        Assignment assignment = init.getAssignment();
+        byte value = assignment.isTrue(variable) ? TRUE : assignment.isFalse(variable) ? FALSE : FREE;
+        if (value == FREE)
+            return;
+        for (int thread = 0; thread < values.length; thread++) {
+            values[thread][variable] = value;
+            levels[thread][variable] = 0;
+        }
+    }
+
+    /**
+     * Record the changes of a propagate call.
+     *
+     * @param control the control object of the propagate call
+     * @param changes the change set of the propagate call
+     * @return the id of the solver thread, for the queries of the propagator
+     */
+    public int propagate(PropagateControl control, int[] changes) {
+        int threadId = control.getThreadId();
+        Assignment assignment = control.getAssignment();
+        int level = assignment.getDecisionLevel();
+        for (int literal : changes)
+            assign(threadId, literal, level);
+        if (validation)
+            validate(threadId, assignment);
+        return threadId;
+    }
+
+    /**
+     * Record the changes of a propagate call of a {@link ViewPropagator}.
+     *
+     * @param control the control object of the propagate call
+     * @param changes the change set of the propagate call
+     * @return the id of the solver thread, for the queries of the propagator
+     */
+    public int propagate(PropagateControl control, ChangeView changes) {
+        int threadId = control.getThreadId();
+        Assignment assignment = control.getAssignment();
+        int level = assignment.getDecisionLevel();
+        for (int i = 0; i < changes.size(); i++)
+            assign(threadId, changes.get(i), level);
+        if (validation)
+            validate(threadId, assignment);
+        return threadId;
+    }
+
+    /**
+     * Revert the changes of an undo call.
+     *
+     * @param control the control object of the undo call
+     * @param changes the change set of the undo call
+     */
+    public void undo(PropagateControl control, int[] changes) {
+        int threadId = control.getThreadId();
+        for (int literal : changes)
+            unassign(threadId, literal);
+    }
+
+    /**
+     * Revert the changes of an undo call of a {@link ViewPropagator}.
+     *
+     * @param control the control object of the undo call
+     * @param changes the change set of the undo call
+     */
+    public void undo(PropagateControl control, ChangeView changes) {
+        int threadId = control.getThreadId();
+        for (int i = 0; i < changes.size(); i++)
+            unassign(threadId, changes.get(i));
+    }
+
+    /**
+     * @param literal a solver literal
+     * @return whether the assignment of the literal is mirrored
+     */
+    public boolean isMirrored(int literal) {
+        int variable = Math.abs(literal);
+        return variable < mirrored.length && mirrored[variable];
+    }
+
+    /**
+     * @param threadId the id of the solver thread
+     * @param literal  a mirrored solver literal
+     * @return the truth value of the literal
+     */
+    public TruthValue getTruthValue(int threadId, int literal) {
+        byte value = value(threadId, literal);
+        return value == FREE ? TruthValue.FREE : value == TRUE ? TruthValue.TRUE : TruthValue.FALSE;
+    }
+
+    /**
+     * @param threadId the id of the solver thread
+     * @param literal  a mirrored solver literal
+     * @return whether the literal is true
+     */
+    public boolean isTrue(int threadId, int literal) {
+        return value(threadId, literal) == TRUE;
+    }
+
+    /**
+     * @param threadId the id of the solver thread
+     * @param literal  a mirrored solver literal
+     * @return whether the literal is false
+     */
+    public boolean isFalse(int threadId, int literal) {
+        return value(threadId, literal) == FALSE;
+    }
+
+    /**
+     * @param threadId the id of the solver thread
+     * @param literal  a mirrored solver literal
+     * @return whether the literal is unassigned
+     */
+    public boolean isFree(int threadId, int literal) {
+        return value(threadId, literal) == FREE;
+    }
+
+    /**
+     * @param threadId the id of the solver thread
+     * @param literal  a mirrored solver literal
+     * @return whether the literal is assigned on the top level
+     */
+    public boolean isFixed(int threadId, int literal) {
+        return value(threadId, literal) != FREE && levels[threadId][Math.abs(literal)] == 0;
+    }
+
+    /**
+     * @param threadId the id of the solver thread
+     * @param literal  a mirrored solver literal
+     * @return the decision level of the literal, or -1 if it is unassigned
+     */
+    public int getLevel(int threadId, int literal) {
+        if (value(threadId, literal) == FREE)
+            return -1;
+        return levels[threadId][Math.abs(literal)];
+    }
+
+    /**
+     * @param validation whether to compare the mirror to the native assignment after each propagate call
+     */
+    public void setValidation(boolean validation) {
+        this.validation = validation;
+    }
+
+    /**
+     * Compare the mirror of a solver thread to its native assignment.
+     *
+     * @param threadId   the id of the solver thread
+     * @param assignment the assignment of the same solver thread
+     * @throws IllegalStateException if the truth value or level of a mirrored literal differs
+     */
+    public void validate(int threadId, Assignment assignment) {
+        for (int variable = 1; variable < mirrored.length; variable++) {
+            if (!mirrored[variable])
+                continue;
+            TruthValue expected = assignment.getTruthValue(variable);
+            TruthValue actual = getTruthValue(threadId, variable);
+            if (expected != actual)
+                throw new IllegalStateException("literal " + variable + " is " + expected + " but mirrored as " + actual
+                        + " in thread " + threadId);
+            if (expected != TruthValue.FREE && assignment.getLevel(variable) != getLevel(threadId, variable))
+                throw new IllegalStateException("literal " + variable + " is assigned on level " + assignment.getLevel(variable)
+                        + " but mirrored on level " + getLevel(threadId, variable) + " in thread " + threadId);
+        }
+    }
+
+    private byte value(int threadId, int literal) {
+        int variable = Math.abs(literal);
+        if (variable >= mirrored.length || !mirrored[variable])
+            throw new IllegalArgumentException("literal " + literal + " is not mirrored");
+        byte value = values[threadId][variable];
+        if (literal < 0 && value != FREE)
+            return value == TRUE ? FALSE : TRUE;
+        return value;
+    }
+
+    private void assign(int threadId, int literal, int level) {
+        int variable = Math.abs(literal);
+        if (variable >= mirrored.length || !mirrored[variable])
+            return;
+        values[threadId][variable] = literal > 0 ? TRUE : FALSE;
+        levels[threadId][variable] = level;
+    }
+
+    private void unassign(int threadId, int literal) {
+        int variable = Math.abs(literal);
+        if (variable >= mirrored.length || !mirrored[variable])
+            return;
+        values[threadId][variable] = FREE;
+        levels[threadId][variable] = -1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= mirrored.length)
+            return;
+        int size = Math.max(capacity, mirrored.length * 2);
+        mirrored = Arrays.copyOf(mirrored, size);
+        for (int thread = 0; thread < values.length; thread++) {
+            values[thread] = Arrays.copyOf(values[thread], size);
+            int previous = levels[thread].length;
+            levels[thread] = Arrays.copyOf(levels[thread], size);
+            Arrays.fill(levels[thread], previous, size, -1);
+        }
+    }
+}
@@ -23,7 +23,10 @@ import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.IntByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.MutablePointer;
 import org.potassco.clingo.internal.NativeSize;
+import org.potassco.clingo.internal.Scratch;
 
 /**
  * This object can be used to add clauses and to propagate them.
@@ -31,9 +34,19 @@ import org.potassco.clingo.internal.NativeSize;
 public class PropagateControl {
 
     public final Pointer propagateControl;
+    // only set if this object is reused across callbacks, see ViewPropagator
+    private final MutablePointer assignmentPointer;
+    private final Assignment assignment;
 
     public PropagateControl(Pointer propagateControl) {
         this.propagateControl = propagateControl;
+        if (propagateControl instanceof MutablePointer) {
+            assignmentPointer = new MutablePointer();
+            assignment = new Assignment(assignmentPointer);
+        } else {
+            assignmentPointer = null;
+            assignment = null;
+        }
     }
 
     /**
@@ -62,8 +75,8 @@ public class PropagateControl {
 			type = lock ? ClauseType.STATIC : ClauseType.LEARNT;
 		}
 
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_propagate_control_add_clause(
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_propagate_control_add_clause(
                 propagateControl,
                 clause,
                 new NativeSize(clause.length),
@@ -73,6 +86,17 @@ public class PropagateControl {
         return byteByReference.getValue() > 0;
     }
 
+    /**
+     * Add the clauses of the buffer to the solver and clear the buffer.
+     *
+     * @param buffer the clauses over solver literals to add
+     * @return This method returns false if the current propagation must be stopped.
+     * @see ClauseBuffer#flush(PropagateControl)
+     */
+    public boolean addClauses(ClauseBuffer buffer) {
+        return buffer.flush(this);
+    }
+
     /**
      * Adds a new positive volatile literal to the underlying solver thread.
      * <p>
@@ -83,8 +107,8 @@ public class PropagateControl {
      * @return The added solver literal.
      */
     public int addLiteral() {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_propagate_control_add_literal(propagateControl, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_propagate_control_add_literal(propagateControl, intByReference));
         return intByReference.getValue();
     }
 
@@ -113,7 +137,7 @@ public class PropagateControl {
      * @param literal The target solver literal.
      */
     public void addWatch(int literal) {
-        Clingo.check(Clingo.INSTANCE.clingo_propagate_control_add_watch(propagateControl, literal));
+        Clingo.check(ClingoDirect.clingo_propagate_control_add_watch(propagateControl, literal));
     }
 
     /**
@@ -123,7 +147,7 @@ public class PropagateControl {
      * @return Whether the literal is watched.
      */
     public boolean hasWatch(int literal) {
-        return Clingo.INSTANCE.clingo_propagate_control_has_watch(propagateControl, literal) > 0;
+        return ClingoDirect.clingo_propagate_control_has_watch(propagateControl, literal) > 0;
     }
 
     /**
@@ -132,8 +156,8 @@ public class PropagateControl {
      * @return This method returns false if the current propagation must be stopped.
      */
     public boolean propagate() {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_propagate_control_propagate(propagateControl, byteByReference));
+        ByteByReference byteByReference = Scratch.byteByReference();
+        Clingo.check(ClingoDirect.clingo_propagate_control_propagate(propagateControl, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -143,21 +167,25 @@ public class PropagateControl {
      * @param literal The target solver literal.
      */
     public void removeWatch(int literal) {
-        Clingo.INSTANCE.clingo_propagate_control_remove_watch(propagateControl, literal);
+        ClingoDirect.clingo_propagate_control_remove_watch(propagateControl, literal);
     }
 
     /**
      * @return {@link Assignment} object capturing the partial assignment of the current solver thread.
+     * If this object was passed to a {@link ViewPropagator}, the assignment is reused as well.
      */
     public Assignment getAssignment() {
-        Pointer assignment = Clingo.INSTANCE.clingo_propagate_control_assignment(propagateControl);
-        return new Assignment(assignment);
+        Pointer assignment = ClingoDirect.clingo_propagate_control_assignment(propagateControl);
+        if (this.assignment == null)
+            return new Assignment(assignment);
+        assignmentPointer.setAddress(assignment);
+        return this.assignment;
     }
 
     /**
      * @return The numeric id of the current solver thread.
      */
     public int getThreadId() {
-        return Clingo.INSTANCE.clingo_propagate_control_thread_id(propagateControl);
+        return ClingoDirect.clingo_propagate_control_thread_id(propagateControl);
     }
 }
@@ -40,6 +40,21 @@ public class PropagateInit {
         this.propagateInit = propagateInit;
     }
 
+    public Pointer getPointer() {
+        return propagateInit;
+    }
+
+    /**
+     * Statically adds the clauses of the buffer to the problem and clears the buffer.
+     *
+     * @param buffer the clauses over solver literals to add
+     * @return Returns false if the program becomes unsatisfiable.
+     * @see ClauseBuffer#flush(PropagateInit)
+     */
+    public boolean addClauses(ClauseBuffer buffer) {
+        return buffer.flush(this);
+    }
+
     /**
      * Statically adds the given clause to the problem.
      * If this function returns false, initialization should be stopped and no
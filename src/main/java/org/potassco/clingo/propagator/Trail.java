@@ -19,11 +19,17 @@
 
 package org.potassco.clingo.propagator;
 
+import java.nio.BufferOverflowException;
+import java.nio.IntBuffer;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.IntByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.Scratch;
 
 /**
  * Class to access literals assigned by the solver in chronological order.
@@ -52,8 +58,8 @@ public class Trail implements Iterable<Integer> {
      * @return the number of literals in the trail
      */
     public int size() {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_trail_size(assignment, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_trail_size(assignment, intByReference));
         return intByReference.getValue();
     }
 
@@ -71,8 +77,8 @@ public class Trail implements Iterable<Integer> {
      * @return the offset of the decision literal
      */
     public int begin(int level) {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_trail_begin(assignment, level, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_trail_begin(assignment, level, intByReference));
         return intByReference.getValue();
     }
 
@@ -90,31 +96,130 @@ public class Trail implements Iterable<Integer> {
      * @return the offset of the decision literal
      */
     public int end(int level) {
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_assignment_trail_end(assignment, level, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_trail_end(assignment, level, intByReference));
         return intByReference.getValue();
     }
 
+    /**
+     * Returns the literal at the given offset in the trail.
+     *
+     * @param offset the offset in the trail
+     * @return the literal at the offset
+     */
+    public int get(int offset) {
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_assignment_trail_at(assignment, offset, intByReference));
+        return intByReference.getValue();
+    }
+
+    /**
+     * @return all literals in the trail
+     */
+    public int[] toArray() {
+        return toArray(0, size());
+    }
+
+    /**
+     * @param begin the first offset, inclusive
+     * @param end   the last offset, exclusive
+     * @return the literals in the given range of the trail
+     */
+    public int[] toArray(int begin, int end) {
+        int[] literals = new int[end - begin];
+        copyTo(begin, end, literals, 0);
+        return literals;
+    }
+
+    /**
+     * @param level the decision level
+     * @return the decision literal of the level followed by the literals it implied
+     */
+    public int[] getLiterals(int level) {
+        return toArray(begin(level), end(level));
+    }
+
+    /**
+     * Copy a range of the trail into an existing array.
+     * <p>
+     * The C API only gives access to single literals of the trail, so this still makes one native call per literal,
+     * but it reuses the out parameter and does not box the literals.
+     *
+     * @param begin  the first offset, inclusive
+     * @param end    the last offset, exclusive
+     * @param target the array to copy into
+     * @param offset the index in the array of the first literal
+     * @return the number of copied literals
+     */
+    public int copyTo(int begin, int end, int[] target, int offset) {
+        if (begin < 0 || end < begin)
+            throw new IndexOutOfBoundsException("invalid range [" + begin + ", " + end + ")");
+        if (offset < 0 || offset + end - begin > target.length)
+            throw new IndexOutOfBoundsException("target array of length " + target.length + " is too small");
+        IntByReference intByReference = Scratch.intByReference();
+        for (int i = begin; i < end; i++) {
+            Clingo.check(ClingoDirect.clingo_assignment_trail_at(assignment, i, intByReference));
+            target[offset++] = intByReference.getValue();
+        }
+        return end - begin;
+    }
+
+    /**
+     * Copy a range of the trail into a buffer at its current position.
+     *
+     * @param begin  the first offset, inclusive
+     * @param end    the last offset, exclusive
+     * @param target the buffer to copy into, whose position is advanced by the number of copied literals
+     * @return the number of copied literals
+     */
+    public int copyTo(int begin, int end, IntBuffer target) {
+        if (begin < 0 || end < begin)
+            throw new IndexOutOfBoundsException("invalid range [" + begin + ", " + end + ")");
+        if (target.remaining() < end - begin)
+            throw new BufferOverflowException();
+        IntByReference intByReference = Scratch.intByReference();
+        for (int i = begin; i < end; i++) {
+            Clingo.check(ClingoDirect.clingo_assignment_trail_at(assignment, i, intByReference));
+            target.put(intByReference.getValue());
+        }
+        return end - begin;
+    }
+
     @Override
     public Iterator<Integer> iterator() {
-        return iterator(0);
+        return intIterator(0);
     }
 
     public Iterator<Integer> iterator(int begin) {
-        return new Iterator<>() {
-            private final IntByReference intByReference = new IntByReference();
+        return intIterator(begin);
+    }
+
+    /**
+     * @return an iterator over all literals in the trail that does not box them
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return intIterator(0);
+    }
+
+    /**
+     * @param begin the offset of the first literal
+     * @return an iterator over the literals of the trail from the given offset on that does not box them
+     */
+    public PrimitiveIterator.OfInt intIterator(int begin) {
+        return new PrimitiveIterator.OfInt() {
             private final int size = size();
             private int i = begin;
 
             @Override
             public boolean hasNext() {
-                return i < size - 1;
+                return i < size;
             }
 
             @Override
-            public Integer next() {
-                Clingo.check(Clingo.INSTANCE.clingo_assignment_trail_at(assignment, i++, intByReference));
-                return intByReference.getValue();
+            public int nextInt() {
+                if (i >= size)
+                    throw new NoSuchElementException();
+                return get(i++);
             }
         };
     }
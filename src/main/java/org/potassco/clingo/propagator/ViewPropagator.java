@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.propagator;
+
+/**
+ * A {@link Propagator} whose callbacks do not allocate.
+ * <p>
+ * Instead of a copy of the change set, {@link #propagate} and {@link #undo} receive a {@link ChangeView} of the
+ * native memory. The {@link PropagateControl}, its {@link Assignment}, and the change view are cached per solver
+ * thread and reused for every callback, so none of them must be kept beyond the callback they were passed to.
+ * Register it with {@link org.potassco.clingo.control.Control#registerPropagator(ViewPropagator)}.
+ */
+public interface ViewPropagator {
+
+    /**
+     * @param init initialization object
+     * @see Propagator#init(PropagateInit)
+     */
+    default void init(PropagateInit init) {
+
+    }
+
+    /**
+     * @param control control object for the target solver, only valid during this call
+     * @param changes the change set, only valid during this call
+     * @see Propagator#propagate(PropagateControl, int[])
+     */
+    default void propagate(PropagateControl control, ChangeView changes) {
+
+    }
+
+    /**
+     * @param control control object for the target solver, only valid during this call
+     * @param changes the change set, only valid during this call
+     * @see Propagator#undo(PropagateControl, int[])
+     */
+    default void undo(PropagateControl control, ChangeView changes) {
+
+    }
+
+    /**
+     * @param control control object for the target solver, only valid during this call
+     * @see Propagator#check(PropagateControl)
+     */
+    default void check(PropagateControl control) {
+
+    }
+
+    /**
+     * @param threadId   the solver's thread id
+     * @param assignment the assignment of the solver, only valid during this call
+     * @param fallback   the literal chosen by the solver's heuristic
+     * @return the literal to make true
+     * @see Propagator#decide(int, Assignment, int)
+     */
+    default int decide(int threadId, Assignment assignment, int fallback) {
+        return fallback;
+    }
+}
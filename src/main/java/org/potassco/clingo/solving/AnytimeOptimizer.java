@@ -0,0 +1,372 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.solving;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+import org.potassco.clingo.internal.Costs;
+
+/**
+ * Runs an optimization within a time budget and returns the best model found.
+ * <p>
+ * Every model that improves the best cost so far is reported to an optional listener as an {@link Improvement}.
+ * The search stops as soon as one of the following happens:
+ * <ul>
+ *     <li>the search space is exhausted, i.e., the best model is optimal,</li>
+ *     <li>the deadline passes,</li>
+ *     <li>a model reaches the target cost,</li>
+ *     <li>no improvement was found within the stall timeout.</li>
+ * </ul>
+ * The optimizer records the time of each improvement and the interrupt latency, i.e., the time between requesting
+ * the stop and the return of the solve call, so that budgets can be tuned against real cost curves.
+ *
+ * <pre>{@code
+ * AnytimeOptimizer optimizer = new AnytimeOptimizer(control);
+ * optimizer.setDeadline(Duration.ofSeconds(10));
+ * optimizer.setStallTimeout(Duration.ofSeconds(2));
+ * AnytimeOptimizer.Result result = optimizer.optimize();
+ * }</pre>
+ */
+public class AnytimeOptimizer {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clingo-anytime-optimizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Why an optimization stopped.
+     */
+    public enum StopReason {
+        /**
+         * The search space was exhausted, so the best model is optimal or there is no model.
+         */
+        EXHAUSTED,
+        /**
+         * The deadline passed.
+         */
+        DEADLINE,
+        /**
+         * A model reached the target cost.
+         */
+        TARGET,
+        /**
+         * No improvement was found within the stall timeout.
+         */
+        STALLED,
+        /**
+         * The search was interrupted by someone else, e.g., by {@link Control#interrupt()}.
+         */
+        INTERRUPTED
+    }
+
+    private final Control control;
+    private ShowType showType = ShowType.shown();
+    private Duration deadline;
+    private Duration stallTimeout;
+    private long[] targetCost;
+    private Consumer<Improvement> listener;
+
+    /**
+     * @param control the grounded control object of an optimization problem
+     */
+    public AnytimeOptimizer(Control control) {
+        this.control = control;
+    }
+
+    /**
+     * @param deadline the time budget of the optimization, or null for no deadline
+     */
+    public void setDeadline(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * @param stallTimeout the time to wait for the next improvement, or null to wait indefinitely
+     */
+    public void setStallTimeout(Duration stallTimeout) {
+        this.stallTimeout = stallTimeout;
+    }
+
+    /**
+     * @param targetCost a cost vector that is good enough, compared lexicographically, or null to not stop early
+     */
+    public void setTargetCost(long... targetCost) {
+        this.targetCost = targetCost == null ? null : targetCost.clone();
+    }
+
+    /**
+     * @param listener called on the solving thread for every improvement, or null
+     */
+    public void setListener(Consumer<Improvement> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param showType the symbols to copy into the snapshots of improving models
+     */
+    public void setShowType(ShowType showType) {
+        this.showType = showType;
+    }
+
+    /**
+     * Solve until the search space is exhausted or one of the stop conditions holds.
+     *
+     * @return the best model and the recorded cost curve
+     */
+    public Result optimize() {
+        Run run = new Run(System.nanoTime());
+        ScheduledFuture<?> deadlineTask = null;
+        SolveResult solveResult;
+        try (SolveHandle handle = control.solve(run, SolveMode.ASYNC)) {
+            if (deadline != null)
+                deadlineTask = SCHEDULER.schedule(() -> run.stop(StopReason.DEADLINE), deadline.toNanos(), TimeUnit.NANOSECONDS);
+            run.resetStallTimer();
+            solveResult = handle.getSolveResult();
+        } finally {
+            if (deadlineTask != null)
+                deadlineTask.cancel(false);
+            run.cancelStallTimer();
+        }
+        long end = System.nanoTime();
+        return run.result(solveResult, end);
+    }
+
+    /**
+     * The state of a single call of {@link #optimize()}, which is also the callback of its solve call.
+     */
+    private final class Run extends SolveEventCallback {
+
+        private final long start;
+        // guarded by this
+        private StopReason stopReason;
+        private long stopRequested;
+        private final List<Improvement> improvements = new ArrayList<>();
+        private ModelSnapshot best;
+        private ScheduledFuture<?> stallTask;
+        private boolean finished;
+
+        private Run(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onModel(Model model) {
+            long[] cost = model.getCost();
+            Improvement improvement;
+            synchronized (this) {
+                if (best != null && Costs.compare(cost, best.getCost()) >= 0)
+                    return;
+                best = model.snapshot(showType);
+                improvement = new Improvement(cost, System.nanoTime() - start, model.getNumber(), model.getThreadId());
+                improvements.add(improvement);
+            }
+            resetStallTimer();
+            if (listener != null)
+                listener.accept(improvement);
+            if (targetCost != null && Costs.compare(cost, targetCost) <= 0)
+                stop(StopReason.TARGET);
+        }
+
+        @Override
+        public void onResult(SolveResult solveResult) {
+            cancelStallTimer();
+        }
+
+        private synchronized void stop(StopReason reason) {
+            // an interrupt after the search finished would interrupt the next solve call of the control
+            if (finished || stopReason != null)
+                return;
+            stopReason = reason;
+            stopRequested = System.nanoTime();
+            control.interrupt();
+        }
+
+        private synchronized void resetStallTimer() {
+            if (stallTimeout == null || finished)
+                return;
+            if (stallTask != null)
+                stallTask.cancel(false);
+            stallTask = SCHEDULER.schedule(() -> stop(StopReason.STALLED), stallTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private synchronized void cancelStallTimer() {
+            finished = true;
+            if (stallTask != null)
+                stallTask.cancel(false);
+        }
+
+        private synchronized Result result(SolveResult solveResult, long end) {
+            StopReason reason = stopReason;
+            // a stop requested right when the search finished on its own does not count
+            if (solveResult.exhausted())
+                reason = StopReason.EXHAUSTED;
+            else if (reason == null)
+                reason = StopReason.INTERRUPTED;
+            long latency = reason == StopReason.EXHAUSTED || stopRequested == 0 ? 0 : end - stopRequested;
+            boolean optimal = best != null && (solveResult.exhausted() || best.getOptimalityProven());
+            return new Result(best, optimal, reason, solveResult, improvements, latency, end - start);
+        }
+    }
+
+    /**
+     * A model that improved the best cost of an optimization.
+     */
+    public static final class Improvement {
+
+        private final long[] cost;
+        private final long elapsedNanos;
+        private final long number;
+        private final int threadId;
+
+        private Improvement(long[] cost, long elapsedNanos, long number, int threadId) {
+            this.cost = cost;
+            this.elapsedNanos = elapsedNanos;
+            this.number = number;
+            this.threadId = threadId;
+        }
+
+        /**
+         * @return the improved cost vector
+         */
+        public long[] getCost() {
+            return cost.clone();
+        }
+
+        /**
+         * @return the time since the start of the optimization
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the running number of the improving model
+         */
+        public long getNumber() {
+            return number;
+        }
+
+        /**
+         * @return the id of the solver thread that found the model
+         */
+        public int getThreadId() {
+            return threadId;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(cost) + " after " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms";
+        }
+    }
+
+    /**
+     * The outcome of an optimization.
+     */
+    public static final class Result {
+
+        private final ModelSnapshot best;
+        private final boolean optimal;
+        private final StopReason stopReason;
+        private final SolveResult solveResult;
+        private final List<Improvement> improvements;
+        private final long interruptLatencyNanos;
+        private final long elapsedNanos;
+
+        private Result(ModelSnapshot best, boolean optimal, StopReason stopReason, SolveResult solveResult,
+                       List<Improvement> improvements, long interruptLatencyNanos, long elapsedNanos) {
+            this.best = best;
+            this.optimal = optimal;
+            this.stopReason = stopReason;
+            this.solveResult = solveResult;
+            this.improvements = Collections.unmodifiableList(new ArrayList<>(improvements));
+            this.interruptLatencyNanos = interruptLatencyNanos;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the best model found, or null if no model was found
+         */
+        public ModelSnapshot getBest() {
+            return best;
+        }
+
+        /**
+         * @return whether the best model is known to be optimal
+         */
+        public boolean isOptimalityProven() {
+            return optimal;
+        }
+
+        /**
+         * @return why the optimization stopped
+         */
+        public StopReason getStopReason() {
+            return stopReason;
+        }
+
+        /**
+         * @return the result of the underlying solve call
+         */
+        public SolveResult getSolveResult() {
+            return solveResult;
+        }
+
+        /**
+         * @return all improvements in the order in which they were found
+         */
+        public List<Improvement> getImprovements() {
+            return improvements;
+        }
+
+        /**
+         * @return the time between requesting the stop and the return of the solve call, or 0 if the search
+         * stopped on its own
+         */
+        public long getInterruptLatencyNanos() {
+            return interruptLatencyNanos;
+        }
+
+        /**
+         * @return the duration of the whole optimization
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{stopReason=" + stopReason + ", optimal=" + optimal + ", improvements=" + improvements.size()
+                    + ", best=" + (best == null ? null : Arrays.toString(best.getCost())) + '}';
+        }
+    }
+}
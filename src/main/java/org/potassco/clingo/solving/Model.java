@@ -19,22 +19,30 @@
 
 package org.potassco.clingo.solving;
 
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.LongByReference;
 import com.sun.jna.ptr.PointerByReference;
+import org.potassco.clingo.collections.LongSet;
 import org.potassco.clingo.control.Control;
 import org.potassco.clingo.control.ShowType;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
 import org.potassco.clingo.internal.NativeSize;
 import org.potassco.clingo.internal.NativeSizeByReference;
+import org.potassco.clingo.internal.Scratch;
 import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.SymbolView;
 
 /**
  * Provides access to a model during a solve call and provides a {@link SolveControl} object to influence the running
@@ -64,8 +72,18 @@ public class Model {
 	 * @return Whether the given atom is contained in the model.
 	 */
 	public boolean contains(Symbol atom) {
-		ByteByReference byteByReference = new ByteByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_contains(model, atom.getLong(), byteByReference));
+		return contains(atom.getLong());
+	}
+
+	/**
+	 * Efficiently check if an atom is contained in the model.
+	 *
+	 * @param atom The native handle of the function symbol representing the atom.
+	 * @return Whether the given atom is contained in the model.
+	 */
+	public boolean contains(long atom) {
+		ByteByReference byteByReference = Scratch.byteByReference();
+		Clingo.check(ClingoDirect.clingo_model_contains(model, atom, byteByReference));
 		return byteByReference.getValue() > 0;
 	}
 
@@ -78,7 +96,7 @@ public class Model {
 	 */
 	public void extend(Collection<Symbol> symbols) {
 		long[] symbolLongs = symbols.stream().mapToLong(Symbol::getLong).toArray();
-		Clingo.check(Clingo.INSTANCE.clingo_model_extend(model, symbolLongs, new NativeSize(symbolLongs.length)));
+		Clingo.check(ClingoDirect.clingo_model_extend(model, symbolLongs, new NativeSize(symbolLongs.length)));
 	}
 
 	/**
@@ -90,7 +108,7 @@ public class Model {
 	 */
 	public void extend(Symbol symbol) {
 		long[] symbolLongs = new long[] { symbol.getLong() };
-		Clingo.check(Clingo.INSTANCE.clingo_model_extend(model, symbolLongs, new NativeSize(symbolLongs.length)));
+		Clingo.check(ClingoDirect.clingo_model_extend(model, symbolLongs, new NativeSize(symbolLongs.length)));
 	}
 
 	/**
@@ -100,8 +118,8 @@ public class Model {
 	 * @return Whether the given program literal is true.
 	 */
 	public boolean isTrue(int literal) {
-		ByteByReference byteByReference = new ByteByReference();
-		Clingo.INSTANCE.clingo_model_is_true(model, literal, byteByReference);
+		ByteByReference byteByReference = Scratch.byteByReference();
+		ClingoDirect.clingo_model_is_true(model, literal, byteByReference);
 		return byteByReference.getValue() > 0;
 	}
 
@@ -118,8 +136,8 @@ public class Model {
 	 * @return whether the literal is a consequence
 	 */
 	public ConsequenceType getConsequenceType(int literal) {
-		IntByReference intByReference = new IntByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_is_consequence(model, literal, intByReference));
+		IntByReference intByReference = Scratch.intByReference();
+		Clingo.check(ClingoDirect.clingo_model_is_consequence(model, literal, intByReference));
 		ConsequenceType type = ConsequenceType.fromValue(intByReference.getValue());
 		return Objects.requireNonNull(type);
 	}
@@ -163,25 +181,157 @@ public class Model {
 	 * @return The selected symbols.
 	 */
 	public Symbol[] getSymbols(ShowType showType) {
-		NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_symbols_size(model, showType.getBitset(), nativeSizeByReference));
-		int modelSize = (int) nativeSizeByReference.getValue();
+		long[] modelSymbols = getSymbolLongs(showType);
+		Symbol[] symbols = new Symbol[modelSymbols.length];
+
+		for (int i = 0; i < modelSymbols.length; i++) {
+			symbols[i] = Symbol.fromLong(modelSymbols[i]);
+		}
+
+		return symbols;
+	}
+
+	/**
+	 * Return the native handles of the shown symbols as a set without creating {@link Symbol} objects.
+	 *
+	 * @return The projected symbols.
+	 */
+	public LongSet getSymbolSet() {
+		return getSymbolSet(ShowType.shown());
+	}
+
+	/**
+	 * Return the native handles of the selected symbols as a set without creating {@link Symbol} objects.
+	 *
+	 * @param showType The symbols to select.
+	 * @return The selected symbols.
+	 */
+	public LongSet getSymbolSet(ShowType showType) {
+		return LongSet.of(getSymbolLongs(showType));
+	}
+
+	/**
+	 * Return a lazy view of the selected symbols that only creates {@link Symbol} objects for accessed entries.
+	 *
+	 * @param showType The symbols to select.
+	 * @return The selected symbols.
+	 */
+	public SymbolView getSymbolView(ShowType showType) {
+		return new SymbolView(getSymbolLongs(showType));
+	}
+
+	/**
+	 * Return the native handles of the selected symbols without creating {@link Symbol} objects.
+	 *
+	 * @param showType The symbols to select.
+	 * @return The native handles of the selected symbols.
+	 */
+	public long[] getSymbolLongs(ShowType showType) {
+		int modelSize = getSymbolCount(showType);
 		long[] modelSymbols = new long[modelSize];
+		Clingo.check(ClingoDirect.clingo_model_symbols(model, showType.getBitset(), modelSymbols, new NativeSize(modelSize)));
+		return modelSymbols;
+	}
 
-		Clingo.check(Clingo.INSTANCE.clingo_model_symbols(
-				model,
-				showType.getBitset(),
-				modelSymbols,
-				new NativeSize(modelSize))
-		);
+	/**
+	 * Write the native handles of the selected symbols to the beginning of a reusable array.
+	 * <p>
+	 * If the array is too small, nothing is written and the required length is returned, so a caller can grow
+	 * its array and try again:
+	 * <pre>{@code
+	 * int size = model.getSymbolLongs(showType, symbols);
+	 * if (size > symbols.length) {
+	 *     symbols = new long[size];
+	 *     model.getSymbolLongs(showType, symbols);
+	 * }
+	 * }</pre>
+	 *
+	 * @param showType The symbols to select.
+	 * @param reuse    The array to write the handles to.
+	 * @return The number of selected symbols.
+	 */
+	public int getSymbolLongs(ShowType showType, long[] reuse) {
+		int modelSize = getSymbolCount(showType);
+		if (modelSize <= reuse.length)
+			Clingo.check(ClingoDirect.clingo_model_symbols(model, showType.getBitset(), reuse, new NativeSize(modelSize)));
+		return modelSize;
+	}
 
-		Symbol[] symbols = new Symbol[modelSize];
+	/**
+	 * Write the native handles of the selected symbols to a buffer, starting at its current position.
+	 * <p>
+	 * Direct buffers are written by clingo without any intermediate copy and must use the native byte order.
+	 * If the buffer has less remaining space than there are symbols, nothing is written and the buffer is unchanged.
+	 * Otherwise, the position of the buffer is advanced by the number of symbols.
+	 *
+	 * @param showType The symbols to select.
+	 * @param buffer   The buffer to write the handles to.
+	 * @return The number of selected symbols.
+	 */
+	public int getSymbolLongs(ShowType showType, LongBuffer buffer) {
+		if (buffer.isReadOnly())
+			throw new ReadOnlyBufferException();
+		int modelSize = getSymbolCount(showType);
+		if (modelSize > buffer.remaining())
+			return modelSize;
+		int position = buffer.position();
+		if (buffer.isDirect()) {
+			if (buffer.order() != ByteOrder.nativeOrder())
+				throw new IllegalArgumentException("direct buffers must use the native byte order");
+			Pointer symbols = Native.getDirectBufferPointer(buffer).share((long) position * Long.BYTES);
+			Clingo.check(ClingoDirect.clingo_model_symbols(model, showType.getBitset(), symbols, new NativeSize(modelSize)));
+		} else if (buffer.hasArray() && buffer.arrayOffset() + position == 0) {
+			Clingo.check(ClingoDirect.clingo_model_symbols(model, showType.getBitset(), buffer.array(), new NativeSize(modelSize)));
+		} else {
+			buffer.put(getSymbolLongs(showType));
+			return modelSize;
+		}
+		buffer.position(position + modelSize);
+		return modelSize;
+	}
 
-		for (int i = 0; i < modelSize; i++) {
-			symbols[i] = Symbol.fromLong(modelSymbols[i]);
+	/**
+	 * @param showType The symbols to select.
+	 * @return The number of selected symbols.
+	 */
+	public int getSymbolCount(ShowType showType) {
+		NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+		Clingo.check(ClingoDirect.clingo_model_symbols_size(model, showType.getBitset(), nativeSizeByReference));
+		return (int) nativeSizeByReference.getValue();
+	}
+
+	/**
+	 * Copy the shown symbols and the properties of the model into an immutable snapshot.
+	 *
+	 * @return A snapshot that remains valid after the search continues.
+	 */
+	public ModelSnapshot snapshot() {
+		return snapshot(ShowType.shown());
+	}
+
+	/**
+	 * Copy the selected symbols and the properties of the model into an immutable snapshot.
+	 * <p>
+	 * Each property is read with a single native call and no symbols are decoded, which keeps the time
+	 * spent on the solving thread low.
+	 *
+	 * @param showType The symbols to select.
+	 * @return A snapshot that remains valid after the search continues.
+	 */
+	public ModelSnapshot snapshot(ShowType showType) {
+		long[] symbols = getSymbolLongs(showType);
+
+		NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+		Clingo.check(ClingoDirect.clingo_model_cost_size(model, nativeSizeByReference));
+		int costSize = (int) nativeSizeByReference.getValue();
+		long[] cost = new long[costSize];
+		int[] priorities = new int[costSize];
+		if (costSize > 0) {
+			Clingo.check(ClingoDirect.clingo_model_cost(model, cost, new NativeSize(costSize)));
+			Clingo.check(ClingoDirect.clingo_model_priority(model, priorities, new NativeSize(costSize)));
 		}
 
-		return symbols;
+		return new ModelSnapshot(symbols, cost, priorities, getNumber(), getType(), getThreadId(), getOptimalityProven());
 	}
 
 	@Override
@@ -194,8 +344,8 @@ public class Model {
 	 * @return Object that allows for controlling the running search.
 	 */
 	public SolveControl getContext() {
-		PointerByReference pointerByReference = new PointerByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_context(model, pointerByReference));
+		PointerByReference pointerByReference = Scratch.pointerByReference();
+		Clingo.check(ClingoDirect.clingo_model_context(model, pointerByReference));
 		return new SolveControl(pointerByReference.getValue());
 	}
 
@@ -206,12 +356,12 @@ public class Model {
 	 * @return array of integer costs
 	 */
 	public long[] getCost() {
-		NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_cost_size(model, nativeSizeByReference));
+		NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+		Clingo.check(ClingoDirect.clingo_model_cost_size(model, nativeSizeByReference));
 		int costSize = (int) nativeSizeByReference.getValue();
 
 		long[] costs = new long[costSize];
-		Clingo.check(Clingo.INSTANCE.clingo_model_cost(model, costs, new NativeSize(costSize)));
+		Clingo.check(ClingoDirect.clingo_model_cost(model, costs, new NativeSize(costSize)));
 		return costs;
 	}
 
@@ -221,12 +371,12 @@ public class Model {
 	 * @return the resulting priorities
 	 */
 	public int[] getPriorities() {
-		NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_cost_size(model, nativeSizeByReference));
+		NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+		Clingo.check(ClingoDirect.clingo_model_cost_size(model, nativeSizeByReference));
 		int costSize = (int) nativeSizeByReference.getValue();
 
 		int[] priorities = new int[costSize];
-		Clingo.check(Clingo.INSTANCE.clingo_model_priority(model, priorities, new NativeSize(costSize)));
+		Clingo.check(ClingoDirect.clingo_model_priority(model, priorities, new NativeSize(costSize)));
 		return priorities;
 	}
 
@@ -234,8 +384,8 @@ public class Model {
 	 * @return The running number of the model.
 	 */
 	public long getNumber() {
-		LongByReference longByReference = new LongByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_number(model, longByReference));
+		LongByReference longByReference = Scratch.longByReference();
+		Clingo.check(ClingoDirect.clingo_model_number(model, longByReference));
 		return longByReference.getValue();
 	}
 
@@ -243,8 +393,8 @@ public class Model {
 	 * @return Whether the optimality of the model has been proven.
 	 */
 	public boolean getOptimalityProven() {
-		ByteByReference byteByReference = new ByteByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_optimality_proven(model, byteByReference));
+		ByteByReference byteByReference = Scratch.byteByReference();
+		Clingo.check(ClingoDirect.clingo_model_optimality_proven(model, byteByReference));
 		return byteByReference.getValue() > 0;
 	}
 
@@ -252,8 +402,8 @@ public class Model {
 	 * @return The id of the thread which found the model.
 	 */
 	public int getThreadId() {
-		IntByReference intByReference = new IntByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_thread_id(model, intByReference));
+		IntByReference intByReference = Scratch.intByReference();
+		Clingo.check(ClingoDirect.clingo_model_thread_id(model, intByReference));
 		return intByReference.getValue();
 	}
 
@@ -261,8 +411,8 @@ public class Model {
 	 * @return The type of the model.
 	 */
 	public ModelType getType() {
-		IntByReference intByReference = new IntByReference();
-		Clingo.check(Clingo.INSTANCE.clingo_model_type(model, intByReference));
+		IntByReference intByReference = Scratch.intByReference();
+		Clingo.check(ClingoDirect.clingo_model_type(model, intByReference));
 		return ModelType.fromValue(intByReference.getValue());
 	}
 
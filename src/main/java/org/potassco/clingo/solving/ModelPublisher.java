@@ -0,0 +1,428 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.solving;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+
+/**
+ * Publishes the models of a solve call as {@link ModelSnapshot}s with backpressure.
+ * <p>
+ * Solving starts when the publisher is subscribed to and runs in {@link SolveMode#ASYNC_YIELD} mode, driven by
+ * a single thread of the given executor. The search runs ahead of the subscriber by at most <code>bufferSize</code>
+ * models and is paused while the buffer is full. Cancelling the subscription interrupts a running search and
+ * cancels the solve call.
+ * <p>
+ * A publisher solves once and thus only supports a single subscriber. The control object must not be used
+ * otherwise until the publisher has completed or the subscription was cancelled.
+ * <pre>{@code
+ * try (Stream<ModelSnapshot> models = new ModelPublisher(control).stream()) {
+ *     models.map(ModelSnapshot::getSymbols).forEach(System.out::println);
+ * }
+ * }</pre>
+ */
+public class ModelPublisher implements Flow.Publisher<ModelSnapshot> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 16;
+
+    private final Control control;
+    private final ShowType showType;
+    private final int bufferSize;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Create a publisher of the shown symbols that drives the search on a new daemon thread.
+     *
+     * @param control the control object to solve
+     */
+    public ModelPublisher(Control control) {
+        this(control, ShowType.shown(), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a publisher that drives the search on a new daemon thread.
+     *
+     * @param control    the control object to solve
+     * @param showType   the symbols of the models to publish
+     * @param bufferSize the maximum number of models to search ahead of the demand
+     */
+    public ModelPublisher(Control control, ShowType showType, int bufferSize) {
+        this(control, showType, bufferSize, ModelPublisher::startDaemon);
+    }
+
+    /**
+     * @param control    the control object to solve
+     * @param showType   the symbols of the models to publish
+     * @param bufferSize the maximum number of models to search ahead of the demand
+     * @param executor   the executor to drive the search, which occupies one of its threads until the search is done
+     */
+    public ModelPublisher(Control control, ShowType showType, int bufferSize, Executor executor) {
+        if (bufferSize < 1)
+            throw new IllegalArgumentException("buffer size must be positive, got " + bufferSize);
+        this.control = Objects.requireNonNull(control);
+        this.showType = Objects.requireNonNull(showType);
+        this.bufferSize = bufferSize;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ModelSnapshot> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("a model publisher only supports a single subscriber"));
+            return;
+        }
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        try {
+            executor.execute(subscription::run);
+        } catch (RejectedExecutionException e) {
+            subscriber.onError(e);
+        }
+    }
+
+    /**
+     * Publish the models in batches. The demand of the returned publisher counts batches and every batch holds
+     * <code>batchSize</code> models, except for the last one, which may be smaller.
+     *
+     * @param batchSize the number of models per batch
+     * @return a publisher of batches of models
+     */
+    public Flow.Publisher<List<ModelSnapshot>> batched(int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batch size must be positive, got " + batchSize);
+        return subscriber -> subscribe(new BatchSubscriber(Objects.requireNonNull(subscriber), batchSize));
+    }
+
+    /**
+     * Consume the models as a sequential stream. Closing the stream cancels the search, so the stream should be
+     * used in a <code>try</code>-with-resources statement.
+     *
+     * @return a stream of the models
+     */
+    public Stream<ModelSnapshot> stream() {
+        BlockingSubscriber subscriber = new BlockingSubscriber();
+        subscribe(subscriber);
+        return StreamSupport.stream(subscriber, false).onClose(subscriber::cancel);
+    }
+
+    private static void startDaemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, "clingo-model-publisher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static long addCapped(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private final class Subscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ModelSnapshot> subscriber;
+        private final ArrayDeque<ModelSnapshot> buffer = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+
+        // guarded by lock
+        private long demand;
+        private boolean cancelled;
+        private boolean searching;
+        private Throwable failure;
+
+        private Subscription(Flow.Subscriber<? super ModelSnapshot> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            lock.lock();
+            try {
+                if (n <= 0 && failure == null)
+                    failure = new IllegalArgumentException("non-positive subscription request " + n);
+                else
+                    demand = addCapped(demand, n);
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                // interrupting is thread-safe, but must only happen while the search runs, otherwise it would
+                // interrupt the next solve call
+                if (searching)
+                    control.interrupt();
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void run() {
+            SolveHandle handle = null;
+            boolean exhausted = false;
+            try {
+                handle = control.solve(SolveMode.ASYNC_YIELD);
+                while (true) {
+                    ModelSnapshot next = null;
+                    lock.lock();
+                    try {
+                        while (!cancelled && failure == null && (demand == 0 || buffer.isEmpty())
+                                && !(exhausted && buffer.isEmpty()) && (exhausted || buffer.size() >= bufferSize)) {
+                            changed.await();
+                        }
+                        if (cancelled)
+                            return;
+                        if (failure != null)
+                            break;
+                        if (demand > 0 && !buffer.isEmpty()) {
+                            next = buffer.poll();
+                            demand--;
+                        } else if (exhausted) {
+                            cancelled = true;
+                        } else {
+                            searching = true;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (next != null) {
+                        subscriber.onNext(next);
+                        continue;
+                    }
+                    if (exhausted) {
+                        // release the control object before the subscriber may use it again
+                        SolveHandle finished = handle;
+                        handle = null;
+                        finished.close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    handle.resume();
+                    Model model = handle.getModel();
+                    ModelSnapshot snapshot = model == null ? null : model.snapshot(showType);
+                    lock.lock();
+                    try {
+                        searching = false;
+                        if (snapshot == null)
+                            exhausted = true;
+                        else
+                            buffer.add(snapshot);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            } catch (Throwable throwable) {
+                lock.lock();
+                try {
+                    searching = false;
+                    if (failure == null)
+                        failure = throwable;
+                } finally {
+                    lock.unlock();
+                }
+            } finally {
+                if (handle != null)
+                    close(handle);
+            }
+            boolean signal;
+            lock.lock();
+            try {
+                signal = !cancelled;
+                cancelled = true;
+            } finally {
+                lock.unlock();
+            }
+            if (signal)
+                subscriber.onError(failure);
+        }
+
+        private void close(SolveHandle handle) {
+            try {
+                handle.close();
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    if (failure == null)
+                        failure = e;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private static final class BatchSubscriber implements Flow.Subscriber<ModelSnapshot>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super List<ModelSnapshot>> downstream;
+        private final int batchSize;
+        private Flow.Subscription upstream;
+        private List<ModelSnapshot> batch;
+
+        private BatchSubscriber(Flow.Subscriber<? super List<ModelSnapshot>> downstream, int batchSize) {
+            this.downstream = downstream;
+            this.batchSize = batchSize;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(ModelSnapshot item) {
+            batch.add(item);
+            if (batch.size() == batchSize) {
+                List<ModelSnapshot> full = batch;
+                batch = new ArrayList<>(batchSize);
+                downstream.onNext(full);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!batch.isEmpty())
+                downstream.onNext(batch);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0)
+                upstream.request(n);
+            else
+                upstream.request(n > Long.MAX_VALUE / batchSize ? Long.MAX_VALUE : n * batchSize);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+
+    private final class BlockingSubscriber extends Spliterators.AbstractSpliterator<ModelSnapshot>
+            implements Flow.Subscriber<ModelSnapshot> {
+
+        private final Object end = new Object();
+        private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private boolean done;
+
+        private BlockingSubscriber() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(bufferSize);
+        }
+
+        @Override
+        public void onNext(ModelSnapshot item) {
+            queue.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            queue.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(end);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ModelSnapshot> action) {
+            if (done)
+                return false;
+            Object next;
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new IllegalStateException("interrupted while waiting for the next model", e);
+            }
+            if (next == end) {
+                done = true;
+                return false;
+            }
+            if (next instanceof Throwable) {
+                done = true;
+                Throwable throwable = (Throwable) next;
+                if (throwable instanceof RuntimeException)
+                    throw (RuntimeException) throwable;
+                if (throwable instanceof Error)
+                    throw (Error) throwable;
+                throw new IllegalStateException(throwable);
+            }
+            action.accept((ModelSnapshot) next);
+            subscription.request(1);
+            return true;
+        }
+
+        private void cancel() {
+            done = true;
+            subscription.cancel();
+        }
+    }
+}
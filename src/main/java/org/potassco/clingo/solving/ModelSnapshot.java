@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.solving;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.SymbolView;
+
+/**
+ * An immutable copy of a {@link Model} that stays valid after the search continues.
+ * <p>
+ * Snapshots only hold the native symbol handles and plain values, so taking one is cheap and they can be handed
+ * to other threads. Symbols are decoded lazily when they are accessed, on whatever thread accesses them.
+ * A solver thread can thus take snapshots and leave the decoding to a pool of workers.
+ */
+public final class ModelSnapshot {
+
+    private final long[] symbols;
+    private final long[] cost;
+    private final int[] priorities;
+    private final long number;
+    private final ModelType type;
+    private final int threadId;
+    private final boolean optimalityProven;
+
+    ModelSnapshot(long[] symbols, long[] cost, int[] priorities, long number, ModelType type, int threadId, boolean optimalityProven) {
+        this.symbols = symbols;
+        this.cost = cost;
+        this.priorities = priorities;
+        this.number = number;
+        this.type = type;
+        this.threadId = threadId;
+        this.optimalityProven = optimalityProven;
+    }
+
+    /**
+     * @return A lazy view of the symbols of the model.
+     */
+    public SymbolView getSymbols() {
+        return new SymbolView(symbols);
+    }
+
+    /**
+     * @return A copy of the native handles of the symbols of the model.
+     */
+    public long[] getSymbolLongs() {
+        return symbols.clone();
+    }
+
+    /**
+     * @return The number of symbols of the model.
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * @return The integer cost values of the model.
+     */
+    public long[] getCost() {
+        return cost.clone();
+    }
+
+    /**
+     * @return The priorities of the costs.
+     */
+    public int[] getPriorities() {
+        return priorities.clone();
+    }
+
+    /**
+     * @return The running number of the model.
+     */
+    public long getNumber() {
+        return number;
+    }
+
+    /**
+     * @return The type of the model.
+     */
+    public ModelType getType() {
+        return type;
+    }
+
+    /**
+     * @return The id of the thread which found the model.
+     */
+    public int getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * @return Whether the optimality of the model had been proven when the snapshot was taken.
+     */
+    public boolean getOptimalityProven() {
+        return optimalityProven;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(symbols).mapToObj(Symbol::fromLong).map(Symbol::toString).collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.solving;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.potassco.clingo.collections.LongIntMap;
+import org.potassco.clingo.control.ShowType;
+import org.potassco.clingo.symbol.Signature;
+import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.SymbolView;
+
+/**
+ * An append-only store of enumerated models that keeps its data off the heap.
+ * <p>
+ * Each symbol is stored once in a dictionary, and a model is stored as a run of 4-byte dictionary ids. The ids, the
+ * costs, and the per-model properties are kept in separate columns of direct byte buffers, so the heap only holds the
+ * dictionary, no matter how many models are stored. If a spill directory is given, columns continue in
+ * memory-mapped files once the direct memory of the store exceeds its limit, so the number of models is bounded by
+ * the disk rather than by the memory. The files are deleted when the store is closed.
+ * <p>
+ * Since symbols are only valid within the process that created them, a store cannot be reopened after a restart.
+ * A store is not thread-safe.
+ *
+ * <pre>{@code
+ * try (ModelStore store = new ModelStore(); SolveHandle handle = control.solve(SolveMode.YIELD)) {
+ *     while (handle.hasNext())
+ *         store.add(handle.next());
+ *     for (ModelSnapshot model : store)
+ *         System.out.println(model.getSymbols());
+ * }
+ * }</pre>
+ */
+public class ModelStore implements Iterable<ModelSnapshot>, AutoCloseable {
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final int OPTIMALITY_PROVEN = 1 << 8;
+    private static final int THREAD_SHIFT = 16;
+
+    private final Path directory;
+    private final long memoryLimit;
+    private long memory;
+
+    // the dictionary is the only part of the store on the heap
+    private final LongIntMap ids = new LongIntMap(1024, -1);
+    private long[] symbols = new long[1024];
+    private int dictionarySize;
+    private final Map<Long, Match> matches = new HashMap<>();
+
+    private final Column symbolIds = new Column("symbols");
+    private final Column symbolOffsets = new Column("symbol-offsets");
+    private final Column costs = new Column("costs");
+    private final Column costOffsets = new Column("cost-offsets");
+    private final Column numbers = new Column("numbers");
+    private final Column properties = new Column("properties");
+    private final Column[] columns = {symbolIds, symbolOffsets, costs, costOffsets, numbers, properties};
+
+    private int size;
+    private int[] priorities = new int[0];
+    private long[] reuse = new long[64];
+    private boolean closed;
+
+    /**
+     * Create a store that keeps all models in direct memory.
+     */
+    public ModelStore() {
+        this(null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a store that spills to memory-mapped files.
+     *
+     * @param directory   the directory to create the files in
+     * @param memoryLimit the number of bytes of direct memory to use before spilling
+     */
+    public ModelStore(Path directory, long memoryLimit) {
+        if (memoryLimit < 0)
+            throw new IllegalArgumentException("memory limit must not be negative: " + memoryLimit);
+        this.directory = directory;
+        this.memoryLimit = memoryLimit;
+        symbolOffsets.putLong(0, 0);
+        costOffsets.putLong(0, 0);
+    }
+
+    /**
+     * Append the shown symbols and the properties of a model.
+     *
+     * @param model the model to store
+     * @return the index of the stored model
+     */
+    public int add(Model model) {
+        return add(model, ShowType.shown());
+    }
+
+    /**
+     * Append the selected symbols and the properties of a model.
+     *
+     * @param model    the model to store
+     * @param showType the symbols to select
+     * @return the index of the stored model
+     */
+    public int add(Model model, ShowType showType) {
+        int count = model.getSymbolLongs(showType, reuse);
+        if (count > reuse.length) {
+            reuse = new long[Math.max(count, reuse.length << 1)];
+            model.getSymbolLongs(showType, reuse);
+        }
+        long[] cost = model.getCost();
+        if (cost.length > 0 && priorities.length == 0)
+            priorities = model.getPriorities();
+        return add(reuse, count, cost, model.getNumber(), model.getType(), model.getThreadId(), model.getOptimalityProven());
+    }
+
+    /**
+     * Append a model given by the native handles of its symbols.
+     *
+     * @param symbols the native handles of the symbols
+     * @param count   the number of handles to take from the array
+     * @param cost    the cost vector of the model
+     * @return the index of the stored model
+     */
+    public int add(long[] symbols, int count, long[] cost) {
+        return add(symbols, count, cost, size + 1, ModelType.STABLE_MODEL, 0, false);
+    }
+
+    private int add(long[] symbols, int count, long[] cost, long number, ModelType type, int threadId, boolean optimalityProven) {
+        if (closed)
+            throw new IllegalStateException("model store is closed");
+        if (size == Integer.MAX_VALUE - 1)
+            throw new IllegalStateException("model store is full");
+        long start = symbolOffsets.getLong(size);
+        for (int i = 0; i < count; i++) {
+            symbolIds.putInt(start + i, id(symbols[i]));
+        }
+        symbolOffsets.putLong(size + 1, start + count);
+        long costStart = costOffsets.getLong(size);
+        for (int i = 0; i < cost.length; i++) {
+            costs.putLong(costStart + i, cost[i]);
+        }
+        costOffsets.putLong(size + 1, costStart + cost.length);
+        numbers.putLong(size, number);
+        properties.putInt(size, type.getValue() | (optimalityProven ? OPTIMALITY_PROVEN : 0) | (threadId << THREAD_SHIFT));
+        return size++;
+    }
+
+    /**
+     * @return the number of stored models
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of distinct symbols of all stored models
+     */
+    public int getDictionarySize() {
+        return dictionarySize;
+    }
+
+    /**
+     * @return the number of bytes of direct memory used by the columns, excluding memory-mapped files
+     */
+    public long getMemoryUsage() {
+        return memory;
+    }
+
+    /**
+     * @param index the index of the model
+     * @return the number of symbols of the model
+     */
+    public int getSymbolCount(int index) {
+        checkIndex(index);
+        return (int) (symbolOffsets.getLong(index + 1) - symbolOffsets.getLong(index));
+    }
+
+    /**
+     * @param index the index of the model
+     * @return the native handles of the symbols of the model
+     */
+    public long[] getSymbolLongs(int index) {
+        checkIndex(index);
+        long start = symbolOffsets.getLong(index);
+        int count = (int) (symbolOffsets.getLong(index + 1) - start);
+        long[] handles = new long[count];
+        for (int i = 0; i < count; i++) {
+            handles[i] = symbols[symbolIds.getInt(start + i)];
+        }
+        return handles;
+    }
+
+    /**
+     * Get the native handles of the symbols of a model that match a signature.
+     * Whether a symbol matches is decided once per symbol of the dictionary and signature.
+     *
+     * @param index     the index of the model
+     * @param signature the signature to filter by
+     * @return the native handles of the matching symbols
+     */
+    public long[] getSymbolLongs(int index, Signature signature) {
+        checkIndex(index);
+        BitSet matching = matching(signature);
+        long start = symbolOffsets.getLong(index);
+        int count = (int) (symbolOffsets.getLong(index + 1) - start);
+        long[] handles = new long[count];
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            int id = symbolIds.getInt(start + i);
+            if (matching.get(id))
+                handles[matches++] = symbols[id];
+        }
+        return matches == count ? handles : Arrays.copyOf(handles, matches);
+    }
+
+    /**
+     * @param index the index of the model
+     * @return a lazy view of the symbols of the model
+     */
+    public SymbolView getSymbols(int index) {
+        return new SymbolView(getSymbolLongs(index));
+    }
+
+    /**
+     * @param index     the index of the model
+     * @param signature the signature to filter by
+     * @return a lazy view of the symbols of the model that match the signature
+     */
+    public SymbolView getSymbols(int index, Signature signature) {
+        return new SymbolView(getSymbolLongs(index, signature));
+    }
+
+    /**
+     * @param index the index of the model
+     * @return the cost vector of the model
+     */
+    public long[] getCost(int index) {
+        checkIndex(index);
+        long start = costOffsets.getLong(index);
+        long[] cost = new long[(int) (costOffsets.getLong(index + 1) - start)];
+        for (int i = 0; i < cost.length; i++) {
+            cost[i] = costs.getLong(start + i);
+        }
+        return cost;
+    }
+
+    /**
+     * @param index the index of the model
+     * @return the type of the model
+     */
+    public ModelType getType(int index) {
+        checkIndex(index);
+        return ModelType.fromValue(properties.getInt(index) & 0xFF);
+    }
+
+    /**
+     * Copy a model out of the store.
+     *
+     * @param index the index of the model
+     * @return the snapshot of the model
+     */
+    public ModelSnapshot get(int index) {
+        long[] cost = getCost(index);
+        int[] priorities = cost.length == this.priorities.length ? this.priorities.clone() : new int[cost.length];
+        int flags = properties.getInt(index);
+        return new ModelSnapshot(getSymbolLongs(index), cost, priorities, numbers.getLong(index),
+                ModelType.fromValue(flags & 0xFF), flags >>> THREAD_SHIFT, (flags & OPTIMALITY_PROVEN) != 0);
+    }
+
+    /**
+     * Iterate over the models in the order in which they were added.
+     * Each model is copied into a snapshot once the iterator reaches it.
+     */
+    @Override
+    public Iterator<ModelSnapshot> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public ModelSnapshot next() {
+                if (next >= size)
+                    throw new NoSuchElementException();
+                return get(next++);
+            }
+        };
+    }
+
+    /**
+     * Release the columns and delete the spill files.
+     * Direct memory is returned once the garbage collector reclaims the buffers.
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+        List<IOException> exceptions = new ArrayList<>();
+        for (Column column : columns) {
+            try {
+                column.close();
+            } catch (IOException e) {
+                exceptions.add(e);
+            }
+        }
+        if (!exceptions.isEmpty())
+            throw new UncheckedIOException(exceptions.get(0));
+    }
+
+    private int id(long symbol) {
+        int id = ids.get(symbol);
+        if (id >= 0)
+            return id;
+        if (dictionarySize == symbols.length)
+            symbols = Arrays.copyOf(symbols, dictionarySize << 1);
+        symbols[dictionarySize] = symbol;
+        ids.put(symbol, dictionarySize);
+        return dictionarySize++;
+    }
+
+    private BitSet matching(Signature signature) {
+        Match match = matches.computeIfAbsent(signature.getLong(), key -> new Match());
+        for (; match.checked < dictionarySize; match.checked++) {
+            if (Symbol.fromLong(symbols[match.checked]).match(signature))
+                match.matching.set(match.checked);
+        }
+        return match.matching;
+    }
+
+    private void checkIndex(int index) {
+        if (closed)
+            throw new IllegalStateException("model store is closed");
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("model " + index + " out of bounds for " + size + " models");
+    }
+
+    private static final class Match {
+        private final BitSet matching = new BitSet();
+        private int checked;
+    }
+
+    /**
+     * A column of fixed size values in chunks of direct or memory-mapped buffers.
+     * Chunks are a multiple of the value size, so values never span two chunks.
+     */
+    private final class Column {
+
+        private final String name;
+        private ByteBuffer[] chunks = new ByteBuffer[8];
+        private FileChannel file;
+        private long fileSize;
+
+        private Column(String name) {
+            this.name = name;
+        }
+
+        private int getInt(long index) {
+            long position = index * Integer.BYTES;
+            return chunks[(int) (position >>> CHUNK_SHIFT)].getInt((int) (position & CHUNK_MASK));
+        }
+
+        private void putInt(long index, int value) {
+            long position = index * Integer.BYTES;
+            chunk(position).putInt((int) (position & CHUNK_MASK), value);
+        }
+
+        private long getLong(long index) {
+            long position = index * Long.BYTES;
+            return chunks[(int) (position >>> CHUNK_SHIFT)].getLong((int) (position & CHUNK_MASK));
+        }
+
+        private void putLong(long index, long value) {
+            long position = index * Long.BYTES;
+            chunk(position).putLong((int) (position & CHUNK_MASK), value);
+        }
+
+        private ByteBuffer chunk(long position) {
+            int chunk = (int) (position >>> CHUNK_SHIFT);
+            if (chunk >= chunks.length)
+                chunks = Arrays.copyOf(chunks, Math.max(chunk + 1, chunks.length << 1));
+            if (chunks[chunk] == null)
+                chunks[chunk] = allocate();
+            return chunks[chunk];
+        }
+
+        private ByteBuffer allocate() {
+            if (directory == null || memory + CHUNK_SIZE <= memoryLimit) {
+                memory += CHUNK_SIZE;
+                return ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.nativeOrder());
+            }
+            try {
+                if (file == null) {
+                    Path path = Files.createTempFile(directory, "models-", "-" + name);
+                    file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+                }
+                ByteBuffer chunk = file.map(FileChannel.MapMode.READ_WRITE, fileSize, CHUNK_SIZE).order(ByteOrder.nativeOrder());
+                fileSize += CHUNK_SIZE;
+                return chunk;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() throws IOException {
+            chunks = new ByteBuffer[0];
+            if (file != null)
+                file.close();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import com.sun.jna.ptr.PointerByReference;
 import org.potassco.clingo.control.SymbolicAtoms;
 import org.potassco.clingo.internal.Clingo;
 import org.potassco.clingo.internal.NativeSize;
+import org.potassco.clingo.propagator.ClauseBuffer;
 import org.potassco.clingo.symbol.Symbol;
 
 /**
@@ -39,6 +40,20 @@ public class SolveControl {
         this.solveControl = solveControl;
     }
 
+    public Pointer getPointer() {
+        return solveControl;
+    }
+
+    /**
+     * Add the clauses of the buffer to the current solving step and clear the buffer.
+     *
+     * @param buffer the clauses over program literals to add
+     * @see ClauseBuffer#flush(SolveControl)
+     */
+    public void addClauses(ClauseBuffer buffer) {
+        buffer.flush(this);
+    }
+
     /**
      * Add a clause that applies to the current solving step during model
      * enumeration.
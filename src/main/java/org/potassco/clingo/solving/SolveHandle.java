@@ -26,6 +26,7 @@ import com.sun.jna.Pointer;
 import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.PointerByReference;
+import org.potassco.clingo.control.BlockingExecutor;
 import org.potassco.clingo.internal.Clingo;
 import org.potassco.clingo.internal.NativeSizeByReference;
 
@@ -39,31 +40,41 @@ import org.potassco.clingo.internal.NativeSizeByReference;
 public class SolveHandle implements AutoCloseable, Iterator<Model> {
 
     private final Pointer solveHandle;
+    private final BlockingExecutor blockingExecutor;
     private Model currentModel;
 
     private boolean continueIteration = true;
 
     public SolveHandle(Pointer solveHandle) {
+        this(solveHandle, null);
+    }
+
+    /**
+     * @param solveHandle      the native solve handle
+     * @param blockingExecutor the executor for blocking calls or null to call clingo directly
+     */
+    public SolveHandle(Pointer solveHandle, BlockingExecutor blockingExecutor) {
         this.solveHandle = solveHandle;
+        this.blockingExecutor = blockingExecutor;
     }
 
     /**
      * Cancel the running search.
      */
     public void cancel() {
-        Clingo.check(Clingo.INSTANCE.clingo_solve_handle_cancel(solveHandle));
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_solve_handle_cancel(solveHandle)));
     }
 
     @Override
     public void close() {
-        Clingo.check(Clingo.INSTANCE.clingo_solve_handle_close(solveHandle));
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_solve_handle_close(solveHandle)));
     }
 
     /**
      * Discards the last model and starts searching for the next one.
      */
     public void resume() {
-        Clingo.check(Clingo.INSTANCE.clingo_solve_handle_resume(solveHandle));
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_solve_handle_resume(solveHandle)));
     }
 
     /**
@@ -89,7 +100,10 @@ public class SolveHandle implements AutoCloseable, Iterator<Model> {
      */
     public boolean wait(double timeout) {
         ByteByReference byteByReference = new ByteByReference();
-        Clingo.INSTANCE.clingo_solve_handle_wait(solveHandle, timeout, byteByReference);
+        if (timeout == 0.)
+            Clingo.INSTANCE.clingo_solve_handle_wait(solveHandle, timeout, byteByReference);
+        else
+            blocking(() -> Clingo.INSTANCE.clingo_solve_handle_wait(solveHandle, timeout, byteByReference));
         return byteByReference.getValue() > 0;
     }
 
@@ -101,7 +115,7 @@ public class SolveHandle implements AutoCloseable, Iterator<Model> {
      */
     public SolveResult getSolveResult() {
         IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_solve_handle_get(solveHandle, intByReference));
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_solve_handle_get(solveHandle, intByReference)));
         return new SolveResult(intByReference.getValue());
     }
 
@@ -127,7 +141,7 @@ public class SolveHandle implements AutoCloseable, Iterator<Model> {
      */
     public Model getModel() {
         PointerByReference pointerByReference = new PointerByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_solve_handle_model(solveHandle, pointerByReference));
+        blocking(() -> Clingo.check(Clingo.INSTANCE.clingo_solve_handle_model(solveHandle, pointerByReference)));
         if (pointerByReference.getValue() == null)
             return null;
         return new Model(pointerByReference.getValue());
@@ -165,4 +179,11 @@ public class SolveHandle implements AutoCloseable, Iterator<Model> {
         }
         throw new NoSuchElementException();
     }
+
+    private void blocking(Runnable call) {
+        if (blockingExecutor == null)
+            call.run();
+        else
+            blockingExecutor.run(call);
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.solving;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.potassco.clingo.configuration.args.NumModels;
+import org.potassco.clingo.configuration.args.OptMode;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+
+/**
+ * Collects the k best models of an optimization problem by lexicographic cost.
+ * <p>
+ * Models are kept in a bounded max-heap over their primitive cost vectors. A model is only copied into a
+ * {@link ModelSnapshot} if its cost can still make the top k, so the intermediate improvements of a long
+ * optimization do not accumulate. Among models of equal cost, the ones found first are kept.
+ * <p>
+ * A model is kept only once, even if it is reported again. In {@link OptMode#OptimalN} mode, clasp reports the first
+ * optimal model a second time when it starts enumerating optimal models. Models of equal cost are compared by their
+ * selected symbols, and the copy whose optimality is proven replaces the other one.
+ * <p>
+ * {@link #solve(Control)} configures clingo to enumerate optimal models ({@link OptMode#OptimalN}) and stops after k
+ * of them. If the problem has at least k optimal models, the result are k optimal models. Otherwise, the remaining
+ * places are taken by the best intermediate models found on the way, which are not necessarily the next best models
+ * of the problem.
+ * <p>
+ * Models may be reported by different solver threads in parallel solving. Reported models are processed one at a
+ * time and do not need to arrive in the order of their cost.
+ */
+public class TopKCollector extends SolveEventCallback {
+
+    private final int k;
+    private final ShowType showType;
+
+    // guarded by this
+    private final ModelSnapshot[] models;
+    // the sorted symbol handles of the kept models, computed when a model of equal cost arrives
+    private final long[][] keys;
+    private final long[] sequence;
+    private long[] costs;
+    private int costSize = -1;
+    private final int[] heap;
+    private int size;
+    private long added;
+
+    /**
+     * @param k the number of models to keep
+     */
+    public TopKCollector(int k) {
+        this(k, ShowType.shown());
+    }
+
+    /**
+     * @param k        the number of models to keep
+     * @param showType the symbols to copy into the snapshots of the kept models
+     */
+    public TopKCollector(int k, ShowType showType) {
+        if (k < 1)
+            throw new IllegalArgumentException("k must be positive, got " + k);
+        this.k = k;
+        this.showType = showType;
+        this.models = new ModelSnapshot[k];
+        this.keys = new long[k][];
+        this.sequence = new long[k];
+        this.heap = new int[k];
+    }
+
+    /**
+     * Configure the control to enumerate optimal models and solve it, collecting the k best models.
+     * Models collected by previous calls are discarded.
+     *
+     * @param control the control object of an optimization problem
+     * @return the collected models, best first
+     */
+    public List<ModelSnapshot> solve(Control control) {
+        control.getConfiguration().set(OptMode.OptimalN);
+        control.getConfiguration().set(new NumModels(k));
+        reset();
+        try (SolveHandle handle = control.solve(this, SolveMode.NONE)) {
+            handle.getSolveResult();
+        }
+        return getModels();
+    }
+
+    @Override
+    public synchronized void onModel(Model model) {
+        long[] cost = model.getCost();
+        if (costSize < 0) {
+            costSize = cost.length;
+            costs = new long[k * costSize];
+        } else if (cost.length != costSize) {
+            throw new IllegalStateException("expected a cost vector of size " + costSize + ", got " + cost.length);
+        }
+        // a model that ties with the worst kept one may still be a proven copy of a kept model
+        int worst = size == k ? compare(cost, heap[0]) : -1;
+        if (worst > 0)
+            return;
+        ModelSnapshot snapshot = model.snapshot(showType);
+        long[] key = null;
+        for (int i = 0; i < size; i++) {
+            int kept = heap[i];
+            if (compare(cost, kept) != 0)
+                continue;
+            if (key == null)
+                key = key(snapshot);
+            if (keys[kept] == null)
+                keys[kept] = key(models[kept]);
+            if (Arrays.equals(key, keys[kept])) {
+                if (snapshot.getOptimalityProven() && !models[kept].getOptimalityProven())
+                    models[kept] = snapshot;
+                return;
+            }
+        }
+        // ties keep the model found first
+        if (worst == 0)
+            return;
+        int slot = size < k ? size : heap[0];
+        models[slot] = snapshot;
+        keys[slot] = key;
+        sequence[slot] = added++;
+        System.arraycopy(cost, 0, costs, slot * costSize, costSize);
+        if (size < k) {
+            heap[size] = slot;
+            siftUp(size++);
+        } else {
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return the number of models collected so far
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the collected models ordered by their cost, best first
+     */
+    public synchronized List<ModelSnapshot> getModels() {
+        Integer[] slots = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = heap[i];
+        }
+        Arrays.sort(slots, this::compareSlots);
+        List<ModelSnapshot> sorted = new ArrayList<>(size);
+        for (int slot : slots) {
+            sorted.add(models[slot]);
+        }
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Discard all collected models.
+     */
+    public synchronized void reset() {
+        Arrays.fill(models, null);
+        Arrays.fill(keys, null);
+        size = 0;
+        added = 0;
+        costSize = -1;
+        costs = null;
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compareSlots(slot, heap[parent]) <= 0)
+                break;
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = slot;
+    }
+
+    private void siftDown(int index) {
+        int slot = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && compareSlots(heap[child + 1], heap[child]) > 0)
+                child++;
+            if (compareSlots(slot, heap[child]) >= 0)
+                break;
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = slot;
+    }
+
+    private static long[] key(ModelSnapshot snapshot) {
+        long[] key = snapshot.getSymbolLongs();
+        Arrays.sort(key);
+        return key;
+    }
+
+    // compares the cost of a new model with a kept one, a tie counts as worse since the kept model was found first
+    private int compare(long[] cost, int slot) {
+        int offset = slot * costSize;
+        for (int i = 0; i < costSize; i++) {
+            int comparison = Long.compare(cost[i], costs[offset + i]);
+            if (comparison != 0)
+                return comparison;
+        }
+        return 0;
+    }
+
+    private int compareSlots(int a, int b) {
+        int offsetA = a * costSize;
+        int offsetB = b * costSize;
+        for (int i = 0; i < costSize; i++) {
+            int comparison = Long.compare(costs[offsetA + i], costs[offsetB + i]);
+            if (comparison != 0)
+                return comparison;
+        }
+        return Long.compare(sequence[a], sequence[b]);
+    }
+}
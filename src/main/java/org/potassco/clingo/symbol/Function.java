@@ -23,8 +23,10 @@ import com.sun.jna.ptr.ByteByReference;
 import com.sun.jna.ptr.LongByReference;
 import com.sun.jna.ptr.PointerByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
 import org.potassco.clingo.internal.NativeSize;
 import org.potassco.clingo.internal.NativeSizeByReference;
+import org.potassco.clingo.internal.Scratch;
 
 /**
  * Construct a function symbol.
@@ -35,6 +37,11 @@ import org.potassco.clingo.internal.NativeSizeByReference;
  */
 public class Function extends Symbol {
 
+    // decoded lazily on first access, threads racing on the first access decode the same values
+    private volatile String name;
+    private volatile Boolean positive;
+    private volatile Symbol[] arguments;
+
     /**
      * Creates a java function representation for a native clingo function.
      *
@@ -62,6 +69,12 @@ public class Function extends Symbol {
      */
     public Function(Symbol argument, Symbol... arguments) {
         this(Function.create(argument, arguments));
+        Symbol[] elements = new Symbol[1 + arguments.length];
+        elements[0] = argument;
+        System.arraycopy(arguments, 0, elements, 1, arguments.length);
+        this.name = "";
+        this.positive = true;
+        this.arguments = elements;
     }
 
     /**
@@ -73,64 +86,84 @@ public class Function extends Symbol {
      */
     public Function(String name, boolean positive, Symbol... arguments) {
         super(Function.create(name, positive, arguments));
+        this.name = name;
+        this.positive = positive;
+        this.arguments = arguments.clone();
     }
 
     /**
      * @return Get the name of a symbol.
      */
     public String getName() {
-        String[] stringByRef = new String[1];
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_name(symbol, stringByRef));
-        return stringByRef[0];
+        String name = this.name;
+        if (name == null) {
+            PointerByReference pointerByReference = Scratch.pointerByReference();
+            Clingo.check(ClingoDirect.clingo_symbol_name(symbol, pointerByReference));
+            name = pointerByReference.getValue().getString(0);
+            this.name = name;
+        }
+        return name;
     }
 
     /**
      * @return Check if a function is positive (does not have a sign).
      */
     public boolean isPositive() {
-        ByteByReference byteByRef = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_is_positive(symbol, byteByRef));
-        return byteByRef.getValue() > 0;
+        Boolean positive = this.positive;
+        if (positive == null) {
+            ByteByReference byteByRef = Scratch.byteByReference();
+            Clingo.check(ClingoDirect.clingo_symbol_is_positive(symbol, byteByRef));
+            positive = byteByRef.getValue() > 0;
+            this.positive = positive;
+        }
+        return positive;
     }
 
     /**
      * @return boolean if a function is negative (has a sign).
      */
     public boolean isNegative() {
-        ByteByReference byteByReference = new ByteByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_is_negative(symbol, byteByReference));
-        return byteByReference.getValue() > 0;
+        return !isPositive();
     }
 
     /**
      * @return Get the symbolic arguments of the function.
      */
     public Symbol[] getArguments() {
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-        PointerByReference argumentsReference = new PointerByReference();
+        return decodeArguments().clone();
+    }
 
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_arguments(symbol, argumentsReference, nativeSizeByReference));
-        int argCount = (int) nativeSizeByReference.getValue();
-        Symbol[] arguments = new Symbol[argCount];
+    /**
+     * @return The arity of the function.
+     */
+    public int getArity() {
+        return decodeArguments().length;
+    }
 
-        if (argCount > 0) {
-            long[] argumentsLongs = argumentsReference.getValue().getLongArray(0, argCount);
-            for (int i = 0; i < argCount; i++) {
-                arguments[i] = Symbol.fromLong(argumentsLongs[i]);
+    private Symbol[] decodeArguments() {
+        Symbol[] arguments = this.arguments;
+        if (arguments == null) {
+            NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
+            PointerByReference argumentsReference = Scratch.pointerByReference();
+
+            Clingo.check(ClingoDirect.clingo_symbol_arguments(symbol, argumentsReference, nativeSizeByReference));
+            int argCount = (int) nativeSizeByReference.getValue();
+            arguments = new Symbol[argCount];
+
+            if (argCount > 0) {
+                long[] argumentsLongs = argumentsReference.getValue().getLongArray(0, argCount);
+                for (int i = 0; i < argCount; i++) {
+                    arguments[i] = Symbol.fromLong(argumentsLongs[i]);
+                }
             }
+            this.arguments = arguments;
         }
-
         return arguments;
     }
 
-    /**
-     * @return The arity of the function.
-     */
-    public int getArity() {
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
-        PointerByReference pointerByReference = new PointerByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_arguments(symbol, pointerByReference, nativeSizeByReference));
-        return (int) nativeSizeByReference.getValue();
+    @Override
+    public SymbolType getType() {
+        return SymbolType.FUNCTION;
     }
 
     /**
@@ -141,8 +174,8 @@ public class Function extends Symbol {
      * @return the newly created native function
      */
     private static long create(String name, boolean positive) {
-        LongByReference longByReference = new LongByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_create_id(name, positive ? (byte) 1 : 0, longByReference));
+        LongByReference longByReference = Scratch.longByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_create_id(name, positive ? (byte) 1 : 0, longByReference));
         return longByReference.getValue();
     }
 
@@ -159,8 +192,8 @@ public class Function extends Symbol {
         for (int i = 0; i < symbols.length; i++) {
             arguments[1 + i] = symbols[i].getLong();
         }
-        LongByReference longByReference = new LongByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_create_function(
+        LongByReference longByReference = Scratch.longByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_create_function(
                 "",
                 arguments,
                 new NativeSize(arguments.length),
@@ -185,8 +218,8 @@ public class Function extends Symbol {
         }
         NativeSize argumentsSize = new NativeSize(arguments.length);
 
-        LongByReference longByReference = new LongByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_create_function(
+        LongByReference longByReference = Scratch.longByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_create_function(
                 name,
                 argumentSymbols,
                 argumentsSize,
@@ -20,7 +20,8 @@
 package org.potassco.clingo.symbol;
 
 import com.sun.jna.ptr.LongByReference;
-import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.Scratch;
 
 public class Infimum extends Symbol {
 
@@ -36,9 +37,14 @@ public class Infimum extends Symbol {
         return "#inf";
     }
 
+    @Override
+    public SymbolType getType() {
+        return SymbolType.INFIMUM;
+    }
+
     private static long create() {
-        LongByReference longByReference = new LongByReference();
-        Clingo.INSTANCE.clingo_symbol_create_infimum(longByReference);
+        LongByReference longByReference = Scratch.longByReference();
+        ClingoDirect.clingo_symbol_create_infimum(longByReference);
         return longByReference.getValue();
     }
 
@@ -22,6 +22,8 @@ package org.potassco.clingo.symbol;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.ptr.LongByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.Scratch;
 
 public class Number extends Symbol {
 
@@ -29,8 +31,8 @@ public class Number extends Symbol {
 
     protected Number(long symbol) {
         super(symbol);
-        IntByReference intByReference = new IntByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_number(symbol, intByReference));
+        IntByReference intByReference = Scratch.intByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_number(symbol, intByReference));
         this.number = intByReference.getValue();
     }
 
@@ -125,9 +127,14 @@ public class Number extends Symbol {
         return new Number(this.number / number.number);
     }
 
+    @Override
+    public SymbolType getType() {
+        return SymbolType.NUMBER;
+    }
+
     private static long create(int number) {
-        LongByReference longByReference = new LongByReference();
-        Clingo.INSTANCE.clingo_symbol_create_number(number, longByReference);
+        LongByReference longByReference = Scratch.longByReference();
+        ClingoDirect.clingo_symbol_create_number(number, longByReference);
         return longByReference.getValue();
     }
 }
@@ -23,8 +23,10 @@ import com.sun.jna.Native;
 import com.sun.jna.ptr.LongByReference;
 import org.potassco.clingo.control.LoggerCallback;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
 import org.potassco.clingo.internal.NativeSize;
 import org.potassco.clingo.internal.NativeSizeByReference;
+import org.potassco.clingo.internal.Scratch;
 
 public abstract class Symbol implements Comparable<Symbol> {
 
@@ -55,22 +57,45 @@ public abstract class Symbol implements Comparable<Symbol> {
      * @return the {@link SymbolType type} of the symbol
      */
     public SymbolType getType() {
-        int typeId = Clingo.INSTANCE.clingo_symbol_type(symbol);
+        int typeId = ClingoDirect.clingo_symbol_type(symbol);
         return SymbolType.fromValue(typeId);
     }
 
+    /**
+     * Compare two symbols according to the total order of clingo (see {@link #lessThan(Symbol)}).
+     * <p>
+     * Numbers, strings, infimum, and supremum are ordered without calling into native code.
+     * Only comparisons involving functions are delegated to clingo, because identifiers are ordered
+     * differently to other functions internally.
+     *
+     * @param other second symbol
+     * @return a negative integer, zero, or a positive integer if this is less than, equal to, or greater than other
+     */
     @Override
     public int compareTo(Symbol other) {
-        return equals(other) ? 0 : lessThan(other) ? -1 : 1;
+        if (symbol == other.symbol)
+            return 0;
+        SymbolType type = getType();
+        SymbolType otherType = other.getType();
+        if (type == SymbolType.FUNCTION && (otherType == SymbolType.FUNCTION || otherType == SymbolType.STRING)
+                || type == SymbolType.STRING && otherType == SymbolType.FUNCTION)
+            return lessThan(other) ? -1 : 1;
+        if (type != otherType)
+            return Integer.compare(type.getValue(), otherType.getValue());
+        if (type == SymbolType.NUMBER)
+            return Integer.compare(((Number) this).getNumber(), ((Number) other).getNumber());
+        if (type == SymbolType.STRING)
+            return compareCodePoints(((Text) this).getText(), ((Text) other).getText());
+        return 0;
     }
 
     @Override
     public String toString() {
-        NativeSizeByReference nativeSizeByRef = new NativeSizeByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_to_string_size(symbol, nativeSizeByRef));
+        NativeSizeByReference nativeSizeByRef = Scratch.nativeSizeByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_to_string_size(symbol, nativeSizeByRef));
         int length = (int) nativeSizeByRef.getValue();
         byte[] symbolBytes = new byte[length];
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_to_string(symbol, symbolBytes, new NativeSize(length)));
+        Clingo.check(ClingoDirect.clingo_symbol_to_string(symbol, symbolBytes, new NativeSize(length)));
         return Native.toString(symbolBytes);
     }
 
@@ -102,13 +127,20 @@ public abstract class Symbol implements Comparable<Symbol> {
     }
 
     /**
-     * Returns a java object for the native long symbol
+     * Returns a java object for the native long symbol.
+     * <p>
+     * Recently used symbols are served from a bounded cache, so converting the same symbol repeatedly,
+     * e.g., across models, neither calls into native code nor decodes the arguments of functions again.
      *
      * @param symbol the native long id
      * @return the java symbol
      */
     public static Symbol fromLong(long symbol) {
-        int typeId = Clingo.INSTANCE.clingo_symbol_type(symbol);
+        return SymbolCache.get(symbol);
+    }
+
+    static Symbol create(long symbol) {
+        int typeId = ClingoDirect.clingo_symbol_type(symbol);
         SymbolType type = SymbolType.fromValue(typeId);
         switch (type) {
             case INFIMUM:
@@ -136,19 +168,24 @@ public abstract class Symbol implements Comparable<Symbol> {
      */
     @Override
     public boolean equals(Object other) {
+        if (this == other)
+            return true;
         if (!(other instanceof Symbol))
             return false;
-        return Clingo.INSTANCE.clingo_symbol_is_equal_to(symbol, ((Symbol) other).getLong()) > 0;
+        // symbols are interned, so two symbols are equal if and only if their handles are
+        return symbol == ((Symbol) other).symbol;
     }
 
     /**
      * Calculate a hash code of a symbol.
+     * <p>
+     * The hash code is derived from the interned handle and thus only stable within one process.
      *
      * @return the hash code of the symbol
      */
     @Override
     public int hashCode() {
-        return Clingo.INSTANCE.clingo_symbol_hash(symbol).intValue();
+        return Long.hashCode(symbol);
     }
 
     /**
@@ -162,11 +199,28 @@ public abstract class Symbol implements Comparable<Symbol> {
      * @return whether this &lt; other
      */
     public boolean lessThan(Symbol other) {
-        return Clingo.INSTANCE.clingo_symbol_is_less_than(symbol, other.getLong()) > 0;
+        return ClingoDirect.clingo_symbol_is_less_than(symbol, other.getLong()) > 0;
     }
 
     public long getLong() {
         return symbol;
     }
 
+    /**
+     * Compares two strings like strcmp compares their UTF-8 encodings, i.e., by unicode code points.
+     */
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int x = a.codePointAt(i);
+            int y = b.codePointAt(j);
+            if (x != y)
+                return Integer.compare(x, y);
+            i += Character.charCount(x);
+            j += Character.charCount(y);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
 }
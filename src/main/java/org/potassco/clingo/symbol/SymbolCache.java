@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.symbol;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free cache of symbol wrappers keyed by their native handle.
+ * <p>
+ * The cache is direct-mapped: every handle hashes to exactly one slot and a new entry replaces whatever was stored
+ * there before. This bounds the memory to the number of slots without any bookkeeping on lookups.
+ * Since symbols are immutable and never freed by clingo, handing out the same wrapper to several threads is safe.
+ * <p>
+ * The number of slots can be set with the system property <code>clingo.symbolCacheSize</code>
+ * (rounded up to a power of two, 0 disables the cache).
+ */
+final class SymbolCache {
+
+    private static final int SIZE = Integer.getInteger("clingo.symbolCacheSize", 1 << 14);
+
+    private static final SymbolCache INSTANCE = new SymbolCache(SIZE);
+
+    private final AtomicReferenceArray<Symbol> slots;
+    private final int shift;
+
+    private SymbolCache(int size) {
+        int bits = size <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(size - 1);
+        this.slots = size <= 0 ? null : new AtomicReferenceArray<>(1 << bits);
+        this.shift = 64 - bits;
+    }
+
+    static Symbol get(long symbol) {
+        return INSTANCE.lookup(symbol);
+    }
+
+    private Symbol lookup(long symbol) {
+        if (slots == null)
+            return Symbol.create(symbol);
+        // fibonacci hashing spreads the tagged handles evenly over the slots
+        int index = shift == 64 ? 0 : (int) ((symbol * 0x9E3779B97F4A7C15L) >>> shift);
+        Symbol cached = slots.get(index);
+        if (cached != null && cached.symbol == symbol)
+            return cached;
+        Symbol created = Symbol.create(symbol);
+        slots.lazySet(index, created);
+        return created;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.symbol;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A read-only list of symbols backed by their native handles.
+ * <p>
+ * Entries are only wrapped into {@link Symbol} objects when they are accessed via {@link #get(int)}.
+ * Queries on the raw handles, like {@link #getLong(int)}, {@link #contains(Object)}, or {@link #indexOf(long)},
+ * never create symbol objects. Since clingo never frees symbols, a view stays valid after the model it
+ * was taken from is gone.
+ */
+public final class SymbolView extends AbstractList<Symbol> implements RandomAccess {
+
+    private final long[] symbols;
+    private final int size;
+
+    /**
+     * Create a view of the first <code>size</code> handles of the given array. The array is not copied.
+     *
+     * @param symbols native symbol handles
+     * @param size    the number of valid handles
+     */
+    public SymbolView(long[] symbols, int size) {
+        if (size < 0 || size > symbols.length)
+            throw new IndexOutOfBoundsException("size " + size + " out of bounds for length " + symbols.length);
+        this.symbols = symbols;
+        this.size = size;
+    }
+
+    /**
+     * Create a view of all handles of the given array. The array is not copied.
+     *
+     * @param symbols native symbol handles
+     */
+    public SymbolView(long[] symbols) {
+        this(symbols, symbols.length);
+    }
+
+    /**
+     * Decode the symbol at the given index.
+     *
+     * @param index the index of the symbol
+     * @return the symbol at the given index
+     */
+    @Override
+    public Symbol get(int index) {
+        return Symbol.fromLong(getLong(index));
+    }
+
+    /**
+     * @param index the index of the symbol
+     * @return the native handle of the symbol at the given index
+     */
+    public long getLong(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for size " + size);
+        return symbols[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object other) {
+        return other instanceof Symbol && indexOf(((Symbol) other).getLong()) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object other) {
+        return other instanceof Symbol ? indexOf(((Symbol) other).getLong()) : -1;
+    }
+
+    /**
+     * @param symbol the native handle of a symbol
+     * @return the index of the first occurrence of the symbol or -1 if the view does not contain it
+     */
+    public int indexOf(long symbol) {
+        for (int i = 0; i < size; i++) {
+            if (symbols[i] == symbol)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return a copy of the native handles
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(symbols, size);
+    }
+}
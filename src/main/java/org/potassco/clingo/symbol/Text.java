@@ -20,7 +20,10 @@
 package org.potassco.clingo.symbol;
 
 import com.sun.jna.ptr.LongByReference;
+import com.sun.jna.ptr.PointerByReference;
 import org.potassco.clingo.internal.Clingo;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.internal.Scratch;
 
 public class Text extends Symbol {
 
@@ -28,9 +31,9 @@ public class Text extends Symbol {
 
     protected Text(long symbol) {
         super(symbol);
-        String[] stringByReference = new String[1];
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_string(symbol, stringByReference));
-        this.text = stringByReference[0];
+        PointerByReference pointerByReference = Scratch.pointerByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_string(symbol, pointerByReference));
+        this.text = pointerByReference.getValue().getString(0);
     }
 
     public Text(String text) {
@@ -42,9 +45,14 @@ public class Text extends Symbol {
         return text;
     }
 
+    @Override
+    public SymbolType getType() {
+        return SymbolType.STRING;
+    }
+
     private static long create(String text) {
-        LongByReference longByReference = new LongByReference();
-        Clingo.check(Clingo.INSTANCE.clingo_symbol_create_string(text, longByReference));
+        LongByReference longByReference = Scratch.longByReference();
+        Clingo.check(ClingoDirect.clingo_symbol_create_string(text, longByReference));
         return longByReference.getValue();
     }
 }
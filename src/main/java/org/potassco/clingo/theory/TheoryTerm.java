@@ -26,6 +26,7 @@ import com.sun.jna.ptr.PointerByReference;
 import org.potassco.clingo.internal.Clingo;
 import org.potassco.clingo.internal.NativeSize;
 import org.potassco.clingo.internal.NativeSizeByReference;
+import org.potassco.clingo.internal.Scratch;
 
 /**
  * <code>TheoryTerm</code> objects represent theory terms.
@@ -56,7 +57,7 @@ public class TheoryTerm implements Comparable<TheoryTerm> {
      * @return The numeric representation of the term (for numbers).
      */
     public int getNumber() {
-        IntByReference intByReference = new IntByReference();
+        IntByReference intByReference = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_theory_atoms_term_number(theoryAtoms, id, intByReference));
         return intByReference.getValue();
     }
@@ -65,7 +66,7 @@ public class TheoryTerm implements Comparable<TheoryTerm> {
      * @return The type of the theory term.
      */
     public TheoryTermType getType() {
-        IntByReference intByReference = new IntByReference();
+        IntByReference intByReference = Scratch.intByReference();
         Clingo.check(Clingo.INSTANCE.clingo_theory_atoms_term_type(theoryAtoms, id, intByReference));
         return TheoryTermType.fromValue(intByReference.getValue());
    }
@@ -74,8 +75,8 @@ public class TheoryTerm implements Comparable<TheoryTerm> {
      * @return The arguments of the term (for functions, tuples, list, and sets).
      */
     public TheoryTerm[] getArguments() {
-        PointerByReference pointerByReference = new PointerByReference();
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
+        PointerByReference pointerByReference = Scratch.pointerByReference();
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
         Clingo.check(Clingo.INSTANCE.clingo_theory_atoms_term_arguments(theoryAtoms, id, pointerByReference, nativeSizeByReference));
         int amountElements = (int) nativeSizeByReference.getValue();
         TheoryTerm[] theoryTerms = new TheoryTerm[amountElements];
@@ -108,7 +109,7 @@ public class TheoryTerm implements Comparable<TheoryTerm> {
 
     @Override
     public String toString() {
-        NativeSizeByReference nativeSizeByReference = new NativeSizeByReference();
+        NativeSizeByReference nativeSizeByReference = Scratch.nativeSizeByReference();
         Clingo.check(Clingo.INSTANCE.clingo_theory_atoms_term_to_string_size(theoryAtoms, id, nativeSizeByReference));
         int stringSize = (int) nativeSizeByReference.getValue();
         byte[] termBytes = new byte[stringSize];
@@ -0,0 +1,766 @@
+/*
+ * Copyright (C) 2021 denkbares GmbH, Germany
+ *
+ * This is free software; you can redistribute it and/or modify it under the
+ * terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This software is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this software; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA, or see the FSF
+ * site: http://www.fsf.org.
+ */
+
+package org.potassco.clingo.internal;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import com.sun.jna.NativeLibrary;
+import com.sun.jna.Pointer;
+import com.sun.jna.PointerType;
+import com.sun.jna.ptr.ByteByReference;
+import com.sun.jna.ptr.IntByReference;
+import com.sun.jna.ptr.LongByReference;
+import com.sun.jna.ptr.PointerByReference;
+
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * Bindings for the frequently called subset of the clingo C API based on the Foreign Function and Memory API.
+ * <p>
+ * This is the Java 22+ variant of this class in the multi-release jar. It keeps the signatures of the
+ * direct-mapped JNA variant, so the wrapper classes are agnostic to the binding in use, but performs every
+ * call through a downcall {@link MethodHandle} instead of going through libffi.
+ * The library itself is still located and loaded by JNA, see {@link NativeLibrary#getInstance(String)}.
+ * <p>
+ * Functions that cannot call back into Java are linked with {@link Linker.Option#critical(boolean)}, which skips
+ * the thread state transition, and those receiving Java arrays pass the arrays without copying.
+ * Calling back into Java from a critical function is undefined, so functions that can reach the propagation of the
+ * solver, which runs registered propagators, are linked as regular downcalls.
+ * <p>
+ * Only downcalls are bound here. Callbacks from clingo into Java, like those of propagators, are still registered
+ * through {@link Clingo} and invoked by JNA.
+ */
+public final class ClingoDirect {
+
+    private static final Linker LINKER = Linker.nativeLinker();
+    private static final NativeLibrary LIBRARY;
+    private static final MemoryLayout SIZE_T = LINKER.canonicalLayouts().get("size_t").withName("size_t");
+    private static final Linker.Option HEAP_ACCESS = Linker.Option.critical(true);
+    private static final Linker.Option NO_HEAP_ACCESS = Linker.Option.critical(false);
+
+    static {
+        System.setProperty("jna.encoding", "UTF-8");
+        LIBRARY = NativeLibrary.getInstance("clingo");
+    }
+
+    private static final MethodHandle CLINGO_SYMBOL_CREATE_NUMBER = downcall("clingo_symbol_create_number", FunctionDescriptor.ofVoid(JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_CREATE_SUPREMUM = downcall("clingo_symbol_create_supremum", FunctionDescriptor.ofVoid(ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_CREATE_INFIMUM = downcall("clingo_symbol_create_infimum", FunctionDescriptor.ofVoid(ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_CREATE_STRING = downcall("clingo_symbol_create_string", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_CREATE_ID = downcall("clingo_symbol_create_id", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_BYTE, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_CREATE_FUNCTION = downcall("clingo_symbol_create_function", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, SIZE_T, JAVA_BYTE, ADDRESS), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_NUMBER = downcall("clingo_symbol_number", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_NAME = downcall("clingo_symbol_name", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_STRING = downcall("clingo_symbol_string", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_IS_POSITIVE = downcall("clingo_symbol_is_positive", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_IS_NEGATIVE = downcall("clingo_symbol_is_negative", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_ARGUMENTS = downcall("clingo_symbol_arguments", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_TYPE = downcall("clingo_symbol_type", FunctionDescriptor.of(JAVA_INT, JAVA_LONG), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_TO_STRING_SIZE = downcall("clingo_symbol_to_string_size", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_TO_STRING = downcall("clingo_symbol_to_string", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, ADDRESS, SIZE_T), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_IS_EQUAL_TO = downcall("clingo_symbol_is_equal_to", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, JAVA_LONG), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_IS_LESS_THAN = downcall("clingo_symbol_is_less_than", FunctionDescriptor.of(JAVA_BYTE, JAVA_LONG, JAVA_LONG), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOL_HASH = downcall("clingo_symbol_hash", FunctionDescriptor.of(SIZE_T, JAVA_LONG), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_SIZE = downcall("clingo_symbolic_atoms_size", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_BEGIN = downcall("clingo_symbolic_atoms_begin", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_END = downcall("clingo_symbolic_atoms_end", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_FIND = downcall("clingo_symbolic_atoms_find", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_ITERATOR_IS_EQUAL_TO = downcall("clingo_symbolic_atoms_iterator_is_equal_to", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_SYMBOL = downcall("clingo_symbolic_atoms_symbol", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_IS_FACT = downcall("clingo_symbolic_atoms_is_fact", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_IS_EXTERNAL = downcall("clingo_symbolic_atoms_is_external", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_LITERAL = downcall("clingo_symbolic_atoms_literal", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_SIGNATURES_SIZE = downcall("clingo_symbolic_atoms_signatures_size", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_SIGNATURES = downcall("clingo_symbolic_atoms_signatures", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, SIZE_T), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_NEXT = downcall("clingo_symbolic_atoms_next", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_SYMBOLIC_ATOMS_IS_VALID = downcall("clingo_symbolic_atoms_is_valid", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_DECISION_LEVEL = downcall("clingo_assignment_decision_level", FunctionDescriptor.of(JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_ROOT_LEVEL = downcall("clingo_assignment_root_level", FunctionDescriptor.of(JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_HAS_CONFLICT = downcall("clingo_assignment_has_conflict", FunctionDescriptor.of(JAVA_BYTE, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_HAS_LITERAL = downcall("clingo_assignment_has_literal", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_LEVEL = downcall("clingo_assignment_level", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_DECISION = downcall("clingo_assignment_decision", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_IS_FIXED = downcall("clingo_assignment_is_fixed", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_IS_TRUE = downcall("clingo_assignment_is_true", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_IS_FALSE = downcall("clingo_assignment_is_false", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_TRUTH_VALUE = downcall("clingo_assignment_truth_value", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_SIZE = downcall("clingo_assignment_size", FunctionDescriptor.of(SIZE_T, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_AT = downcall("clingo_assignment_at", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, SIZE_T, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_IS_TOTAL = downcall("clingo_assignment_is_total", FunctionDescriptor.of(JAVA_BYTE, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_TRAIL_SIZE = downcall("clingo_assignment_trail_size", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_TRAIL_BEGIN = downcall("clingo_assignment_trail_begin", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_TRAIL_END = downcall("clingo_assignment_trail_end", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_ASSIGNMENT_TRAIL_AT = downcall("clingo_assignment_trail_at", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_THREAD_ID = downcall("clingo_propagate_control_thread_id", FunctionDescriptor.of(JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_ASSIGNMENT = downcall("clingo_propagate_control_assignment", FunctionDescriptor.of(ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_ADD_LITERAL = downcall("clingo_propagate_control_add_literal", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_ADD_WATCH = downcall("clingo_propagate_control_add_watch", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_HAS_WATCH = downcall("clingo_propagate_control_has_watch", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_REMOVE_WATCH = downcall("clingo_propagate_control_remove_watch", FunctionDescriptor.ofVoid(ADDRESS, JAVA_INT), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_ADD_CLAUSE = downcall("clingo_propagate_control_add_clause", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, SIZE_T, JAVA_INT, ADDRESS), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_PROPAGATE_CONTROL_PROPAGATE = downcall("clingo_propagate_control_propagate", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS));
+    private static final MethodHandle CLINGO_MODEL_TYPE = downcall("clingo_model_type", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_NUMBER = downcall("clingo_model_number", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_SYMBOLS_SIZE = downcall("clingo_model_symbols_size", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_SYMBOLS = downcall("clingo_model_symbols", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS, SIZE_T), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_CONTAINS = downcall("clingo_model_contains", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_LONG, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_IS_TRUE = downcall("clingo_model_is_true", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_IS_CONSEQUENCE = downcall("clingo_model_is_consequence", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, JAVA_INT, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_COST_SIZE = downcall("clingo_model_cost_size", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_COST = downcall("clingo_model_cost", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, SIZE_T), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_PRIORITY = downcall("clingo_model_priority", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, SIZE_T), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_OPTIMALITY_PROVEN = downcall("clingo_model_optimality_proven", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_THREAD_ID = downcall("clingo_model_thread_id", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_EXTEND = downcall("clingo_model_extend", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS, SIZE_T), HEAP_ACCESS);
+    private static final MethodHandle CLINGO_MODEL_CONTEXT = downcall("clingo_model_context", FunctionDescriptor.of(JAVA_BYTE, ADDRESS, ADDRESS), NO_HEAP_ACCESS);
+
+    private ClingoDirect() {
+    }
+
+    // SYMBOLS
+
+    public static void clingo_symbol_create_number(int number, LongByReference symbol) {
+        try {
+            CLINGO_SYMBOL_CREATE_NUMBER.invokeExact(number, address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static void clingo_symbol_create_supremum(LongByReference symbol) {
+        try {
+            CLINGO_SYMBOL_CREATE_SUPREMUM.invokeExact(address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static void clingo_symbol_create_infimum(LongByReference symbol) {
+        try {
+            CLINGO_SYMBOL_CREATE_INFIMUM.invokeExact(address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_create_string(String string, LongByReference symbol) {
+        try (Arena arena = Arena.ofConfined()) {
+            return (byte) CLINGO_SYMBOL_CREATE_STRING.invokeExact(arena.allocateFrom(string), address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_create_id(String name, byte positive, LongByReference symbol) {
+        try (Arena arena = Arena.ofConfined()) {
+            return (byte) CLINGO_SYMBOL_CREATE_ID.invokeExact(arena.allocateFrom(name), positive, address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_create_function(String name, long[] arguments, NativeSize arguments_size, byte positive, LongByReference symbol) {
+        try (Arena arena = Arena.ofConfined()) {
+            return (byte) CLINGO_SYMBOL_CREATE_FUNCTION.invokeExact(arena.allocateFrom(name), MemorySegment.ofArray(arguments), arguments_size.longValue(), positive, address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_number(long symbol, IntByReference number) {
+        try {
+            return (byte) CLINGO_SYMBOL_NUMBER.invokeExact(symbol, address(number));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_name(long symbol, PointerByReference name) {
+        try {
+            return (byte) CLINGO_SYMBOL_NAME.invokeExact(symbol, address(name));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_string(long symbol, PointerByReference string) {
+        try {
+            return (byte) CLINGO_SYMBOL_STRING.invokeExact(symbol, address(string));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_is_positive(long symbol, ByteByReference positive) {
+        try {
+            return (byte) CLINGO_SYMBOL_IS_POSITIVE.invokeExact(symbol, address(positive));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_is_negative(long symbol, ByteByReference negative) {
+        try {
+            return (byte) CLINGO_SYMBOL_IS_NEGATIVE.invokeExact(symbol, address(negative));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_arguments(long symbol, PointerByReference arguments, NativeSizeByReference arguments_size) {
+        try {
+            return (byte) CLINGO_SYMBOL_ARGUMENTS.invokeExact(symbol, address(arguments), address(arguments_size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static int clingo_symbol_type(long symbol) {
+        try {
+            return (int) CLINGO_SYMBOL_TYPE.invokeExact(symbol);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_to_string_size(long symbol, NativeSizeByReference size) {
+        try {
+            return (byte) CLINGO_SYMBOL_TO_STRING_SIZE.invokeExact(symbol, address(size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_to_string(long symbol, byte[] string, NativeSize size) {
+        try {
+            return (byte) CLINGO_SYMBOL_TO_STRING.invokeExact(symbol, MemorySegment.ofArray(string), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_is_equal_to(long a, long b) {
+        try {
+            return (byte) CLINGO_SYMBOL_IS_EQUAL_TO.invokeExact(a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbol_is_less_than(long a, long b) {
+        try {
+            return (byte) CLINGO_SYMBOL_IS_LESS_THAN.invokeExact(a, b);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static NativeSize clingo_symbol_hash(long symbol) {
+        try {
+            return new NativeSize((long) CLINGO_SYMBOL_HASH.invokeExact(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    // SYMBOLIC ATOMS
+
+    public static byte clingo_symbolic_atoms_size(Pointer atoms, NativeSizeByReference size) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_SIZE.invokeExact(address(atoms), address(size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_begin(Pointer atoms, LongByReference signature, LongByReference iterator) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_BEGIN.invokeExact(address(atoms), address(signature), address(iterator));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_end(Pointer atoms, LongByReference iterator) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_END.invokeExact(address(atoms), address(iterator));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_find(Pointer atoms, long symbol, LongByReference iterator) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_FIND.invokeExact(address(atoms), symbol, address(iterator));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_iterator_is_equal_to(Pointer atoms, long a, long b, ByteByReference equal) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_ITERATOR_IS_EQUAL_TO.invokeExact(address(atoms), a, b, address(equal));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_symbol(Pointer atoms, long iterator, LongByReference symbol) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_SYMBOL.invokeExact(address(atoms), iterator, address(symbol));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_is_fact(Pointer atoms, long iterator, ByteByReference fact) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_IS_FACT.invokeExact(address(atoms), iterator, address(fact));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_is_external(Pointer atoms, long iterator, ByteByReference external) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_IS_EXTERNAL.invokeExact(address(atoms), iterator, address(external));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_literal(Pointer atoms, long iterator, IntByReference literal) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_LITERAL.invokeExact(address(atoms), iterator, address(literal));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_signatures_size(Pointer atoms, NativeSizeByReference size) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_SIGNATURES_SIZE.invokeExact(address(atoms), address(size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_signatures(Pointer atoms, long[] signatures, NativeSize size) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_SIGNATURES.invokeExact(address(atoms), MemorySegment.ofArray(signatures), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_next(Pointer atoms, long iterator, LongByReference next) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_NEXT.invokeExact(address(atoms), iterator, address(next));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_symbolic_atoms_is_valid(Pointer atoms, long iterator, ByteByReference valid) {
+        try {
+            return (byte) CLINGO_SYMBOLIC_ATOMS_IS_VALID.invokeExact(address(atoms), iterator, address(valid));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    // ASSIGNMENT
+
+    public static int clingo_assignment_decision_level(Pointer assignment) {
+        try {
+            return (int) CLINGO_ASSIGNMENT_DECISION_LEVEL.invokeExact(address(assignment));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static int clingo_assignment_root_level(Pointer assignment) {
+        try {
+            return (int) CLINGO_ASSIGNMENT_ROOT_LEVEL.invokeExact(address(assignment));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_has_conflict(Pointer assignment) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_HAS_CONFLICT.invokeExact(address(assignment));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_has_literal(Pointer assignment, int literal) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_HAS_LITERAL.invokeExact(address(assignment), literal);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_level(Pointer assignment, int literal, IntByReference level) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_LEVEL.invokeExact(address(assignment), literal, address(level));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_decision(Pointer assignment, int level, IntByReference literal) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_DECISION.invokeExact(address(assignment), level, address(literal));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_is_fixed(Pointer assignment, int literal, ByteByReference is_fixed) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_IS_FIXED.invokeExact(address(assignment), literal, address(is_fixed));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_is_true(Pointer assignment, int literal, ByteByReference is_true) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_IS_TRUE.invokeExact(address(assignment), literal, address(is_true));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_is_false(Pointer assignment, int literal, ByteByReference is_false) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_IS_FALSE.invokeExact(address(assignment), literal, address(is_false));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_truth_value(Pointer assignment, int literal, IntByReference value) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_TRUTH_VALUE.invokeExact(address(assignment), literal, address(value));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static NativeSize clingo_assignment_size(Pointer assignment) {
+        try {
+            return new NativeSize((long) CLINGO_ASSIGNMENT_SIZE.invokeExact(address(assignment)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_at(Pointer assignment, NativeSize offset, IntByReference literal) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_AT.invokeExact(address(assignment), offset.longValue(), address(literal));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_is_total(Pointer assignment) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_IS_TOTAL.invokeExact(address(assignment));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_trail_size(Pointer assignment, IntByReference size) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_TRAIL_SIZE.invokeExact(address(assignment), address(size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_trail_begin(Pointer assignment, int level, IntByReference offset) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_TRAIL_BEGIN.invokeExact(address(assignment), level, address(offset));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_trail_end(Pointer assignment, int level, IntByReference offset) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_TRAIL_END.invokeExact(address(assignment), level, address(offset));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_assignment_trail_at(Pointer assignment, int offset, IntByReference literal) {
+        try {
+            return (byte) CLINGO_ASSIGNMENT_TRAIL_AT.invokeExact(address(assignment), offset, address(literal));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    // PROPAGATE CONTROL
+
+    public static int clingo_propagate_control_thread_id(Pointer control) {
+        try {
+            return (int) CLINGO_PROPAGATE_CONTROL_THREAD_ID.invokeExact(address(control));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static Pointer clingo_propagate_control_assignment(Pointer control) {
+        try {
+            return pointer((MemorySegment) CLINGO_PROPAGATE_CONTROL_ASSIGNMENT.invokeExact(address(control)));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_propagate_control_add_literal(Pointer control, IntByReference result) {
+        try {
+            return (byte) CLINGO_PROPAGATE_CONTROL_ADD_LITERAL.invokeExact(address(control), address(result));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_propagate_control_add_watch(Pointer control, int literal) {
+        try {
+            return (byte) CLINGO_PROPAGATE_CONTROL_ADD_WATCH.invokeExact(address(control), literal);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_propagate_control_has_watch(Pointer control, int literal) {
+        try {
+            return (byte) CLINGO_PROPAGATE_CONTROL_HAS_WATCH.invokeExact(address(control), literal);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static void clingo_propagate_control_remove_watch(Pointer control, int literal) {
+        try {
+            CLINGO_PROPAGATE_CONTROL_REMOVE_WATCH.invokeExact(address(control), literal);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_propagate_control_add_clause(Pointer control, int[] clause, NativeSize size, int type, ByteByReference result) {
+        try {
+            return (byte) CLINGO_PROPAGATE_CONTROL_ADD_CLAUSE.invokeExact(address(control), MemorySegment.ofArray(clause), size.longValue(), type, address(result));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_propagate_control_add_clause(Pointer control, Pointer clause, NativeSize size, int type, ByteByReference result) {
+        try {
+            return (byte) CLINGO_PROPAGATE_CONTROL_ADD_CLAUSE.invokeExact(address(control), address(clause), size.longValue(), type, address(result));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_propagate_control_propagate(Pointer control, ByteByReference result) {
+        try {
+            return (byte) CLINGO_PROPAGATE_CONTROL_PROPAGATE.invokeExact(address(control), address(result));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    // MODEL
+
+    public static byte clingo_model_type(Pointer model, IntByReference type) {
+        try {
+            return (byte) CLINGO_MODEL_TYPE.invokeExact(address(model), address(type));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_number(Pointer model, LongByReference number) {
+        try {
+            return (byte) CLINGO_MODEL_NUMBER.invokeExact(address(model), address(number));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_symbols_size(Pointer model, int show, NativeSizeByReference size) {
+        try {
+            return (byte) CLINGO_MODEL_SYMBOLS_SIZE.invokeExact(address(model), show, address(size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_symbols(Pointer model, int show, long[] symbols, NativeSize size) {
+        try {
+            return (byte) CLINGO_MODEL_SYMBOLS.invokeExact(address(model), show, MemorySegment.ofArray(symbols), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_symbols(Pointer model, int show, Pointer symbols, NativeSize size) {
+        try {
+            return (byte) CLINGO_MODEL_SYMBOLS.invokeExact(address(model), show, address(symbols), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_contains(Pointer model, long atom, ByteByReference contained) {
+        try {
+            return (byte) CLINGO_MODEL_CONTAINS.invokeExact(address(model), atom, address(contained));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_is_true(Pointer model, int literal, ByteByReference result) {
+        try {
+            return (byte) CLINGO_MODEL_IS_TRUE.invokeExact(address(model), literal, address(result));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_is_consequence(Pointer model, int literal, IntByReference result) {
+        try {
+            return (byte) CLINGO_MODEL_IS_CONSEQUENCE.invokeExact(address(model), literal, address(result));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_cost_size(Pointer model, NativeSizeByReference size) {
+        try {
+            return (byte) CLINGO_MODEL_COST_SIZE.invokeExact(address(model), address(size));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_cost(Pointer model, long[] costs, NativeSize size) {
+        try {
+            return (byte) CLINGO_MODEL_COST.invokeExact(address(model), MemorySegment.ofArray(costs), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_priority(Pointer model, int[] priorities, NativeSize size) {
+        try {
+            return (byte) CLINGO_MODEL_PRIORITY.invokeExact(address(model), MemorySegment.ofArray(priorities), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_optimality_proven(Pointer model, ByteByReference proven) {
+        try {
+            return (byte) CLINGO_MODEL_OPTIMALITY_PROVEN.invokeExact(address(model), address(proven));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_thread_id(Pointer model, IntByReference id) {
+        try {
+            return (byte) CLINGO_MODEL_THREAD_ID.invokeExact(address(model), address(id));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_extend(Pointer model, long[] symbols, NativeSize size) {
+        try {
+            return (byte) CLINGO_MODEL_EXTEND.invokeExact(address(model), MemorySegment.ofArray(symbols), size.longValue());
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    public static byte clingo_model_context(Pointer model, PointerByReference control) {
+        try {
+            return (byte) CLINGO_MODEL_CONTEXT.invokeExact(address(model), address(control));
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static MethodHandle downcall(String name, FunctionDescriptor descriptor, Linker.Option... options) {
+        MemorySegment function = MemorySegment.ofAddress(Pointer.nativeValue(LIBRARY.getFunction(name)));
+        MethodHandle handle = LINKER.downcallHandle(function, descriptor, options);
+        // size_t arguments and results are always passed as long, independent of the platform
+        MethodType type = handle.type();
+        for (int i = 0; i < descriptor.argumentLayouts().size(); i++) {
+            if (SIZE_T.equals(descriptor.argumentLayouts().get(i)))
+                type = type.changeParameterType(i, long.class);
+        }
+        if (descriptor.returnLayout().filter(SIZE_T::equals).isPresent())
+            type = type.changeReturnType(long.class);
+        return MethodHandles.explicitCastArguments(handle, type);
+    }
+
+    private static MemorySegment address(Pointer pointer) {
+        return pointer == null ? MemorySegment.NULL : MemorySegment.ofAddress(Pointer.nativeValue(pointer));
+    }
+
+    private static MemorySegment address(PointerType reference) {
+        return reference == null ? MemorySegment.NULL : address(reference.getPointer());
+    }
+
+    private static Pointer pointer(MemorySegment segment) {
+        return segment.equals(MemorySegment.NULL) ? null : new Pointer(segment.address());
+    }
+
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException)
+            return (RuntimeException) throwable;
+        if (throwable instanceof Error)
+            throw (Error) throwable;
+        return new ClingoRuntimeException(throwable.toString());
+    }
+}
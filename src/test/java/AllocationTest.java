@@ -0,0 +1,210 @@
+import java.lang.management.ManagementFactory;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.propagator.Assignment;
+import org.potassco.clingo.propagator.ChangeView;
+import org.potassco.clingo.propagator.PropagateControl;
+import org.potassco.clingo.propagator.PropagateInit;
+import org.potassco.clingo.propagator.Propagator;
+import org.potassco.clingo.propagator.PropagatorCheckMode;
+import org.potassco.clingo.propagator.ViewPropagator;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+
+/**
+ * Checks that the hot accessors reuse their out parameters instead of allocating per call.
+ */
+public class AllocationTest implements Propagator {
+
+    private static final int CALLS = 100_000;
+    private static final int ATOMS = 12;
+    // the arguments JNA converts for a propagate callback and the undo callbacks in between
+    private static final int CALLBACK_BYTES = 1024;
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private int literal;
+    private long assignmentBytes = -1;
+    private long modelBytes = -1;
+    // allocated bytes and number of measured callbacks of the view propagator
+    private final long[] viewBytes = new long[2];
+
+    @Test
+    public void testAssignmentAccessors() {
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        try (Control control = new Control("1")) {
+            control.add("{a}.");
+            control.ground();
+            control.registerPropagator(this);
+            control.solve().getSolveResult();
+        }
+        Assert.assertTrue(assignmentBytes >= 0);
+        Assert.assertTrue("allocated " + assignmentBytes + " bytes", assignmentBytes < CALLS);
+    }
+
+    @Test
+    public void testModelAccessors() {
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        Function a = new Function("a");
+        SolveEventCallback callback = new SolveEventCallback() {
+            @Override
+            public void onModel(Model model) {
+                for (int i = 0; i < CALLS; i++) {
+                    model.contains(a);
+                }
+                long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+                for (int i = 0; i < CALLS; i++) {
+                    model.contains(a);
+                    model.getNumber();
+                    model.getThreadId();
+                }
+                modelBytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+            }
+        };
+        try (Control control = new Control("1")) {
+            control.add("a.");
+            control.ground();
+            control.solve(callback).getSolveResult();
+        }
+        Assert.assertTrue(modelBytes >= 0);
+        Assert.assertTrue("allocated " + modelBytes + " bytes", modelBytes < CALLS);
+    }
+
+    @Test
+    public void testViewPropagator() {
+        testViewPropagator("0");
+    }
+
+    @Test
+    public void testViewPropagatorParallel() {
+        testViewPropagator("0", "-t", "2");
+    }
+
+    private void testViewPropagator(String... arguments) {
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        ViewPropagator propagator = new ViewPropagator() {
+            private final int[] buffer = new int[ATOMS];
+            // indexed by solver thread id
+            private PropagateControl[] controls;
+            private ChangeView[] views;
+            private Thread[] attached;
+            private long[] before;
+
+            @Override
+            public void init(PropagateInit init) {
+                int amount = init.getAmountThreads();
+                controls = new PropagateControl[amount];
+                views = new ChangeView[amount];
+                attached = new Thread[amount];
+                before = new long[amount];
+                for (int i = 1; i <= ATOMS; i++) {
+                    int literal = init.solverLiteral(init.getSymbolicAtoms().get(new Function("a", new Number(i))).getLiteral());
+                    init.addWatch(literal);
+                    init.addWatch(-literal);
+                }
+            }
+
+            @Override
+            public void propagate(PropagateControl control, ChangeView changes) {
+                Thread thread = Thread.currentThread();
+                long start = threads.getThreadAllocatedBytes(thread.getId());
+                int threadId = control.getThreadId();
+                // the bytes allocated since the last callback on this thread, including the callback itself
+                synchronized (viewBytes) {
+                    if (attached[threadId] == thread) {
+                        viewBytes[0] += start - before[threadId];
+                        viewBytes[1]++;
+                    }
+                }
+                if (controls[threadId] == null) {
+                    controls[threadId] = control;
+                    views[threadId] = changes;
+                }
+                Assert.assertSame(controls[threadId], control);
+                Assert.assertSame(views[threadId], changes);
+                Assignment assignment = control.getAssignment();
+                Assert.assertSame(assignment, control.getAssignment());
+                for (int i = 0; i < changes.size(); i++) {
+                    assignment.isTrue(changes.get(i));
+                }
+                changes.copyTo(buffer);
+                attached[threadId] = thread;
+                before[threadId] = threads.getThreadAllocatedBytes(thread.getId());
+            }
+        };
+        viewBytes[0] = 0;
+        viewBytes[1] = 0;
+        try (Control control = new Control(arguments)) {
+            control.add("{a(1.." + ATOMS + ")}.");
+            control.ground();
+            control.registerPropagator(propagator);
+            control.solve().getSolveResult();
+        }
+        long bytes = viewBytes[0];
+        long callbacks = viewBytes[1];
+        Assert.assertTrue("measured " + callbacks + " callbacks", callbacks > 1000);
+        // JNA still converts the arguments of each callback, but no wrappers must be created
+        Assert.assertTrue("allocated " + bytes / callbacks + " bytes per callback", bytes / callbacks < CALLBACK_BYTES);
+    }
+
+    @Test
+    public void testAttachedSolverThreads() {
+        Thread[][] attached = new Thread[1][];
+        boolean[] reattached = {false};
+        Propagator propagator = new Propagator() {
+            @Override
+            public void init(PropagateInit init) {
+                attached[0] = new Thread[init.getAmountThreads()];
+                for (int i = 1; i <= 8; i++) {
+                    int literal = init.solverLiteral(init.getSymbolicAtoms().get(new Function("a", new Number(i))).getLiteral());
+                    init.addWatch(literal);
+                    init.addWatch(-literal);
+                }
+            }
+
+            @Override
+            public void propagate(PropagateControl control, int[] changes) {
+                int threadId = control.getThreadId();
+                if (attached[0][threadId] == null)
+                    attached[0][threadId] = Thread.currentThread();
+                else if (attached[0][threadId] != Thread.currentThread())
+                    reattached[0] = true;
+            }
+        };
+        try (Control control = new Control("0", "-t", "2")) {
+            control.add("{a(1..8)}.");
+            control.ground();
+            control.registerPropagator(propagator);
+            control.solve().getSolveResult();
+        }
+        Assert.assertNotNull(attached[0][0]);
+        Assert.assertFalse("a solver thread was attached anew", reattached[0]);
+    }
+
+    @Override
+    public void init(PropagateInit init) {
+        init.setCheckMode(PropagatorCheckMode.TOTAL);
+        literal = init.solverLiteral(init.getSymbolicAtoms().get(new Function("a")).getLiteral());
+    }
+
+    @Override
+    public void check(PropagateControl control) {
+        Assignment assignment = control.getAssignment();
+        // warm up so that the measurement does not include class loading or compilation
+        for (int i = 0; i < CALLS; i++) {
+            assignment.isTrue(literal);
+        }
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < CALLS; i++) {
+            assignment.isTrue(literal);
+            assignment.isFalse(literal);
+            assignment.isFixed(literal);
+            assignment.getLevel(literal);
+        }
+        assignmentBytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+    }
+}
@@ -0,0 +1,87 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.Batch;
+import org.potassco.clingo.BatchResult;
+import org.potassco.clingo.BatchSolver;
+import org.potassco.clingo.configuration.args.NumModels;
+import org.potassco.clingo.configuration.args.Parallel;
+
+public class BatchSolverTest {
+
+	private static final String ENCODING = "{ b(X) : a(X) }.";
+	private static final String PIGEONHOLE = "pigeon(1..20). hole(1..19). 1 { in(P,H) : hole(H) } 1 :- pigeon(P). " +
+			":- in(P,H), in(Q,H), P < Q.";
+
+	@Test
+	public void testBatch() throws InterruptedException {
+		List<String> instances = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			instances.add("a(1.." + (i % 4) + ").");
+		}
+		try (BatchSolver solver = new BatchSolver(ENCODING, 4, NumModels.all())) {
+			List<BatchResult> results = solver.solve(instances).await();
+			Assert.assertEquals(instances.size(), results.size());
+			for (int i = 0; i < results.size(); i++) {
+				BatchResult result = results.get(i);
+				Assert.assertEquals(i, result.getIndex());
+				Assert.assertNull(result.getError());
+				Assert.assertTrue(result.getSolveResult().satisfiable());
+				Assert.assertEquals(1 << (i % 4), result.getAnswerSets().size());
+				Assert.assertEquals(1 << (i % 4), result.getStatistics().get("summary.models.enumerated"), 0);
+			}
+		}
+	}
+
+	@Test
+	public void testStream() {
+		List<String> instances = List.of("a(1).", "a(1..2).", "a(1..3).");
+		try (BatchSolver solver = new BatchSolver(ENCODING, 2, NumModels.all(), Parallel.two())) {
+			Set<Integer> sizes = solver.solve(instances).stream()
+					.map(result -> result.getAnswerSets().size())
+					.collect(Collectors.toSet());
+			Assert.assertEquals(Set.of(2, 4, 8), sizes);
+		}
+		Assert.assertThrows(IllegalArgumentException.class, () -> new BatchSolver(ENCODING, 1, Parallel.two()));
+	}
+
+	@Test
+	public void testTimeout() throws InterruptedException {
+		try (BatchSolver solver = new BatchSolver(PIGEONHOLE, 2)) {
+			List<BatchResult> results = solver.solve(List.of("", ""), Duration.ofMillis(100)).await();
+			for (BatchResult result : results) {
+				Assert.assertTrue(result.isInterrupted());
+			}
+		}
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		List<String> instances = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			instances.add("");
+		}
+		try (BatchSolver solver = new BatchSolver(PIGEONHOLE, 1)) {
+			Batch batch = solver.solve(instances);
+			Thread.sleep(100);
+			batch.cancel();
+			List<BatchResult> results = batch.await();
+			Assert.assertEquals(instances.size(), results.size());
+			Assert.assertTrue(results.stream().allMatch(result -> result.isInterrupted() || result.isCancelled()));
+		}
+	}
+
+	@Test
+	public void testError() throws InterruptedException {
+		try (BatchSolver solver = new BatchSolver(ENCODING, 1)) {
+			List<BatchResult> results = solver.solve(List.of("a(1).", "a(")).await();
+			Assert.assertNull(results.get(0).getError());
+			Assert.assertNotNull(results.get(1).getError());
+		}
+	}
+}
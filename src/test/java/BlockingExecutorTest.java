@@ -0,0 +1,53 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.control.BlockingExecutor;
+import org.potassco.clingo.control.Control;
+
+public class BlockingExecutorTest {
+
+    @Test
+    public void testPlatformThreadsCallDirectly() {
+        try (BlockingExecutor executor = new BlockingExecutor(1)) {
+            Assert.assertSame(Thread.currentThread(), executor.call(Thread::currentThread));
+        }
+    }
+
+    @Test
+    public void testOffload() {
+        try (BlockingExecutor executor = new BlockingExecutor(1, true)) {
+            Thread thread = executor.call(Thread::currentThread);
+            Assert.assertNotSame(Thread.currentThread(), thread);
+            Assert.assertTrue(thread.getName().startsWith("clingo-blocking-"));
+            // nested calls run directly on the pool thread instead of waiting for it
+            Assert.assertSame(thread, executor.call(() -> executor.call(Thread::currentThread)));
+        }
+    }
+
+    @Test
+    public void testExceptions() {
+        try (BlockingExecutor executor = new BlockingExecutor(1, true)) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> executor.run(() -> {
+                throw new IllegalArgumentException();
+            }));
+        }
+    }
+
+    @Test
+    public void testInterruptStatus() {
+        try (BlockingExecutor executor = new BlockingExecutor(1, true)) {
+            Thread.currentThread().interrupt();
+            Assert.assertEquals("done", executor.call(() -> "done"));
+            Assert.assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void testControl() {
+        try (BlockingExecutor executor = new BlockingExecutor(2, true); Control control = new Control()) {
+            control.setBlockingExecutor(executor);
+            control.add("1 { a; b } 1.");
+            control.ground();
+            Assert.assertTrue(control.solve().getSolveResult().satisfiable());
+        }
+    }
+}
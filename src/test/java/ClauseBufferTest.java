@@ -0,0 +1,158 @@
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.propagator.ClauseBuffer;
+import org.potassco.clingo.propagator.PropagateControl;
+import org.potassco.clingo.propagator.PropagateInit;
+import org.potassco.clingo.propagator.Propagator;
+import org.potassco.clingo.propagator.PropagatorCheckMode;
+import org.potassco.clingo.symbol.Function;
+
+public class ClauseBufferTest implements Propagator {
+
+    private final ClauseBuffer buffer = new ClauseBuffer(4);
+    private int a;
+    private int b;
+
+    @Test
+    public void testBuffer() {
+        ClauseBuffer buffer = new ClauseBuffer(2);
+        buffer.addClause(new int[]{1, 2, 3});
+        buffer.beginNoGood().add(4).add(-5).end();
+        Assert.assertEquals(2, buffer.getClauseCount());
+        Assert.assertEquals(5, buffer.getLiteralCount());
+        buffer.clear();
+        Assert.assertEquals(0, buffer.getClauseCount());
+        Assert.assertEquals(0, buffer.getLiteralCount());
+    }
+
+    @Test
+    public void testDeduplication() {
+        ClauseBuffer buffer = new ClauseBuffer();
+        buffer.setDeduplicate(true);
+        for (int i = 0; i < 100; i++) {
+            buffer.addNoGood(new int[]{i, i + 1}, false, true);
+        }
+        buffer.addNoGood(new int[]{2, 1}, false, true);
+        buffer.addClause(new int[]{-1, -2}, false, true);
+        // clauses that are not locked are never dropped
+        buffer.addClause(new int[]{-1, -2});
+        Assert.assertEquals(101, buffer.getClauseCount());
+        Assert.assertEquals(2, buffer.getSuppressed());
+        buffer.resetDeduplication();
+        buffer.addNoGood(new int[]{1, 2}, false, true);
+        Assert.assertEquals(102, buffer.getClauseCount());
+    }
+
+    @Test
+    public void testClearForgets() {
+        ClauseBuffer buffer = new ClauseBuffer();
+        buffer.setDeduplicate(true);
+        for (int i = 0; i < 100; i++) {
+            buffer.addNoGood(new int[]{i, i + 1}, false, true);
+        }
+        buffer.clear();
+        for (int i = 99; i >= 0; i--) {
+            buffer.addNoGood(new int[]{i + 1, i}, false, true);
+        }
+        Assert.assertEquals(100, buffer.getClauseCount());
+        Assert.assertEquals(0, buffer.getSuppressed());
+        buffer.resetDeduplication();
+        buffer.clear();
+        buffer.addNoGood(new int[]{1, 0}, false, true);
+        buffer.addNoGood(new int[]{0, 1}, false, true);
+        Assert.assertEquals(1, buffer.getClauseCount());
+        Assert.assertEquals(1, buffer.getSuppressed());
+    }
+
+    @Test
+    public void testConflictForgets() {
+        ConflictPropagator propagator = new ConflictPropagator();
+        SolvingTest.TestCallback callback = new SolvingTest.TestCallback();
+        try (Control control = new Control("0")) {
+            control.add("{a; b; c}.");
+            control.ground();
+            control.registerPropagator(propagator);
+            Assert.assertTrue(control.solve(callback).getSolveResult().satisfiable());
+        }
+        // the nogood over c is added again after it was dropped by the conflict
+        Assert.assertTrue(propagator.conflicts > 0);
+        Assert.assertEquals(3, callback.models.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotBegun() {
+        new ClauseBuffer().add(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotEnded() {
+        new ClauseBuffer().beginClause().beginClause();
+    }
+
+    @Test
+    public void testPropagator() {
+        buffer.setDeduplicate(true);
+        SolvingTest.TestCallback callback = new SolvingTest.TestCallback();
+        try (Control control = new Control("0")) {
+            control.add("{a; b}.");
+            control.ground();
+            control.registerPropagator(this);
+            Assert.assertTrue(control.solve(callback).getSolveResult().satisfiable());
+        }
+        // every model except the one with a and b
+        Assert.assertEquals(3, callback.models.size());
+    }
+
+    @Override
+    public void init(PropagateInit init) {
+        init.setCheckMode(PropagatorCheckMode.TOTAL);
+        a = init.solverLiteral(init.getSymbolicAtoms().get(new Function("a")).getLiteral());
+        b = init.solverLiteral(init.getSymbolicAtoms().get(new Function("b")).getLiteral());
+        buffer.resetDeduplication();
+    }
+
+    @Override
+    public void check(PropagateControl control) {
+        if (control.getAssignment().isTrue(a) && control.getAssignment().isTrue(b)) {
+            buffer.addNoGood(new int[]{a, b}, false, true);
+            buffer.addNoGood(new int[]{b, a}, false, true);
+            Assert.assertEquals(1, buffer.getClauseCount());
+            Assert.assertFalse(control.addClauses(buffer));
+        }
+    }
+
+    private static class ConflictPropagator implements Propagator {
+
+        private final ClauseBuffer buffer = new ClauseBuffer();
+        private int a;
+        private int b;
+        private int c;
+        private int conflicts;
+
+        @Override
+        public void init(PropagateInit init) {
+            init.setCheckMode(PropagatorCheckMode.TOTAL);
+            a = init.solverLiteral(init.getSymbolicAtoms().get(new Function("a")).getLiteral());
+            b = init.solverLiteral(init.getSymbolicAtoms().get(new Function("b")).getLiteral());
+            c = init.solverLiteral(init.getSymbolicAtoms().get(new Function("c")).getLiteral());
+            buffer.setDeduplicate(true);
+            buffer.resetDeduplication();
+        }
+
+        @Override
+        public void check(PropagateControl control) {
+            if (control.getAssignment().isTrue(a) && control.getAssignment().isTrue(b)) {
+                // the first nogood conflicts, so the second one is dropped
+                buffer.addNoGood(new int[]{a, b}, false, true);
+                buffer.addNoGood(new int[]{c}, false, true);
+                Assert.assertFalse(control.addClauses(buffer));
+                conflicts++;
+            } else if (control.getAssignment().isTrue(c)) {
+                buffer.addNoGood(new int[]{c}, false, true);
+                Assert.assertEquals(1, buffer.getClauseCount());
+                control.addClauses(buffer);
+            }
+        }
+    }
+}
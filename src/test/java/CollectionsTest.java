@@ -0,0 +1,151 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.backend.ExternalType;
+import org.potassco.clingo.collections.IntIntMap;
+import org.potassco.clingo.collections.IntSet;
+import org.potassco.clingo.collections.LongIntMap;
+import org.potassco.clingo.collections.LongSet;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.SymbolicAtoms;
+import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+import org.potassco.clingo.symbol.Signature;
+
+public class CollectionsTest {
+
+    private static final int OPERATIONS = 100_000;
+
+    @Test
+    public void testLongIntMapAgainstHashMap() {
+        Random random = new Random(1);
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            // keys with both halves set exercise all 64 bits of the hash
+            long key = random.nextInt(1000) * 0x100000001L;
+            if (random.nextBoolean()) {
+                int value = random.nextInt();
+                Integer previous = expected.put(key, value);
+                Assert.assertEquals(previous == null ? 0 : previous, map.put(key, value));
+            } else {
+                Integer previous = expected.remove(key);
+                Assert.assertEquals(previous == null ? 0 : previous, map.remove(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        for (long key = 0; key < 1000; key++) {
+            long k = key * 0x100000001L;
+            Assert.assertEquals(expected.containsKey(k), map.containsKey(k));
+            Assert.assertEquals((int) expected.getOrDefault(k, 0), map.get(k));
+        }
+        Map<Long, Integer> entries = new HashMap<>();
+        map.forEach(entries::put);
+        Assert.assertEquals(expected, entries);
+        Assert.assertEquals(expected.size(), map.keys().length);
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    public void testIntIntMapAgainstHashMap() {
+        Random random = new Random(2);
+        IntIntMap map = new IntIntMap();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = random.nextInt(2000) - 1000;
+            if (random.nextBoolean()) {
+                int value = random.nextInt();
+                Integer previous = expected.put(key, value);
+                Assert.assertEquals(previous == null ? 0 : previous, map.put(key, value));
+            } else {
+                Integer previous = expected.remove(key);
+                Assert.assertEquals(previous == null ? 0 : previous, map.remove(key));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Map<Integer, Integer> entries = new HashMap<>();
+        map.forEach(entries::put);
+        Assert.assertEquals(expected, entries);
+    }
+
+    @Test
+    public void testLongSetAgainstHashSet() {
+        Random random = new Random(3);
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            long element = random.nextInt(1000) - 500L;
+            if (random.nextBoolean())
+                Assert.assertEquals(expected.add(element), set.add(element));
+            else
+                Assert.assertEquals(expected.remove(element), set.remove(element));
+            Assert.assertEquals(expected.size(), set.size());
+        }
+        long[] elements = set.toArray();
+        Arrays.sort(elements);
+        Assert.assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), elements);
+    }
+
+    @Test
+    public void testIntSetAgainstHashSet() {
+        Random random = new Random(4);
+        IntSet set = new IntSet(0);
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            int element = random.nextInt(1000) - 500;
+            if (random.nextBoolean())
+                Assert.assertEquals(expected.add(element), set.add(element));
+            else
+                Assert.assertEquals(expected.remove(element), set.remove(element));
+            Assert.assertEquals(expected.size(), set.size());
+        }
+        Set<Integer> elements = new HashSet<>();
+        set.forEach(elements::add);
+        Assert.assertEquals(expected, elements);
+    }
+
+    @Test
+    public void testModelSymbolSet() {
+        Function a = new Function("a");
+        Function b = new Function("b");
+        try (Control control = new Control("0")) {
+            control.add("a. {b}.");
+            control.ground();
+            try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+                Model model = handle.next();
+                LongSet symbols = model.getSymbolSet();
+                Assert.assertTrue(symbols.contains(a.getLong()));
+                Assert.assertEquals(symbols.contains(b.getLong()), model.contains(b.getLong()));
+            }
+        }
+    }
+
+    @Test
+    public void testSymbolicAtomLiterals() {
+        try (Control control = new Control()) {
+            control.add("#external p(1..3). q.");
+            control.ground();
+            SymbolicAtoms atoms = control.getSymbolicAtoms();
+            LongIntMap literals = atoms.getLiterals(new Signature("p", 1));
+            Assert.assertEquals(3, literals.size());
+            Function p1 = new Function("p", new Number(1));
+            Assert.assertEquals(atoms.get(p1).getLiteral(), literals.get(p1.getLong()));
+            Assert.assertEquals(atoms.get(p1).getLiteral(), atoms.getLiteral(p1.getLong()));
+            Assert.assertEquals(4, atoms.getLiterals().size());
+
+            control.assignExternal(LongSet.of(literals.keys()), ExternalType.TRUE);
+            Assert.assertTrue(control.solve().getSolveResult().satisfiable());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import java.time.Duration;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.CubeSolver;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Signature;
+
+public class CubeSolverTest {
+
+	private static final String PIGEONHOLE = "pigeon(1..20). hole(1..19). 1 { in(P,H) : hole(H) } 1 :- pigeon(P). " +
+			":- in(P,H), in(Q,H), P < Q.";
+
+	@Test
+	public void testSatisfiability() {
+		CubeSolver solver = new CubeSolver("{ a; b; c; d }. :- not c.");
+		solver.setWorkers(2);
+		CubeSolver.Result result = solver.solve(CubeSolver.Mode.SATISFIABILITY);
+		Assert.assertTrue(result.isSatisfiable());
+		Assert.assertTrue(result.isComplete());
+		Assert.assertTrue(result.getBest().getSymbols().contains(new Function("c")));
+		Assert.assertEquals(16, result.getCubes());
+	}
+
+	@Test
+	public void testMaximalDepth() {
+		// the 2^30 cubes are derived one at a time, so only the first one is ever built
+		CubeSolver solver = new CubeSolver("{ a(1..30) }.");
+		solver.setWorkers(1);
+		solver.setDepth(30);
+		CubeSolver.Result result = solver.solve(CubeSolver.Mode.SATISFIABILITY);
+		Assert.assertTrue(result.isSatisfiable());
+		Assert.assertEquals(1 << 30, result.getCubes());
+		Assert.assertEquals(1, result.getSolvedCubes());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testDuplicateSplits() {
+		CubeSolver solver = new CubeSolver("{ a; b }.");
+		solver.setSplitter((atoms, count) -> {
+			int literal = atoms.iterator().next().getLiteral();
+			return new int[]{literal, -literal};
+		});
+		solver.solve(CubeSolver.Mode.SATISFIABILITY);
+	}
+
+	@Test
+	public void testUnsatisfiable() {
+		CubeSolver solver = new CubeSolver("{ a; b; c; d }. :- a. :- not a.");
+		CubeSolver.Result result = solver.solve(CubeSolver.Mode.SATISFIABILITY);
+		Assert.assertTrue(result.isUnsatisfiable());
+		Assert.assertEquals(result.getCubes(), result.getSolvedCubes() + result.getPrunedCubes());
+	}
+
+	@Test
+	public void testEnumeration() {
+		CubeSolver solver = new CubeSolver("{ a; b; c; d }. :- a.");
+		solver.setWorkers(1);
+		CubeSolver.Result result = solver.solve(CubeSolver.Mode.ENUMERATION);
+		Assert.assertTrue(result.isComplete());
+		Assert.assertEquals(8, result.getModels().size());
+		Assert.assertEquals(result.getCubes(), result.getSolvedCubes() + result.getPrunedCubes());
+		// the core of the first cube, which assumes a, refutes all other cubes that assume a
+		Assert.assertTrue(result.getPrunedCubes() > 0);
+
+		// the grounding is reused
+		solver.setWorkers(4);
+		Assert.assertEquals(8, solver.solve(CubeSolver.Mode.ENUMERATION).getModels().size());
+	}
+
+	@Test
+	public void testOptimization() {
+		CubeSolver solver = new CubeSolver("{ p(1..10) }. :- p(X), p(Y), X != Y, X + Y < 12. #maximize { X : p(X) }.");
+		solver.setWorkers(4);
+		solver.setDepth(3);
+		solver.setSplitter(CubeSolver.Splitter.of(new Signature("p", 1)));
+		CubeSolver.Result result = solver.solve(CubeSolver.Mode.OPTIMIZATION);
+		Assert.assertEquals(8, result.getCubes());
+		Assert.assertTrue(result.isOptimalityProven());
+		Assert.assertArrayEquals(new long[]{-40}, result.getBest().getCost());
+	}
+
+	@Test
+	public void testTimeout() {
+		CubeSolver solver = new CubeSolver(PIGEONHOLE);
+		solver.setWorkers(2);
+		CubeSolver.Result result = solver.solve(CubeSolver.Mode.SATISFIABILITY, Duration.ofMillis(200));
+		Assert.assertFalse(result.isComplete());
+		Assert.assertFalse(result.isSatisfiable());
+		Assert.assertFalse(result.isUnsatisfiable());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidWorkers() {
+		new CubeSolver("a.").setWorkers(0);
+	}
+}
@@ -0,0 +1,76 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.SymbolicAtom;
+import org.potassco.clingo.propagator.Assignment;
+import org.potassco.clingo.propagator.MirroredAssignment;
+import org.potassco.clingo.propagator.PropagateControl;
+import org.potassco.clingo.propagator.PropagateInit;
+import org.potassco.clingo.propagator.Propagator;
+import org.potassco.clingo.propagator.PropagatorCheckMode;
+import org.potassco.clingo.solving.SolveResult;
+
+public class MirroredAssignmentTest implements Propagator {
+
+    private final MirroredAssignment mirror = new MirroredAssignment();
+    private final AtomicInteger checks = new AtomicInteger();
+    private int[] literals;
+
+    @Test
+    public void testMirror() {
+        mirror.setValidation(true);
+        try (Control control = new Control("0", "-t", "2")) {
+            control.add("pigeon(1..5). hole(1..4). 1 { in(P,H) : hole(H) } 1 :- pigeon(P). :- in(P,H), in(Q,H), P < Q.");
+            control.ground();
+            control.registerPropagator(this);
+            SolveResult solveResult = control.solve().getSolveResult();
+            Assert.assertTrue(solveResult.unsatisfiable());
+        }
+        Assert.assertTrue(checks.get() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotMirrored() {
+        new MirroredAssignment().isTrue(0, 1);
+    }
+
+    @Override
+    public void init(PropagateInit init) {
+        init.setCheckMode(PropagatorCheckMode.FIXPOINT);
+        mirror.init(init);
+        literals = new int[init.getSymbolicAtoms().size()];
+        int i = 0;
+        for (SymbolicAtom atom : init.getSymbolicAtoms()) {
+            literals[i] = init.solverLiteral(atom.getLiteral());
+            mirror.watch(init, literals[i++]);
+        }
+    }
+
+    @Override
+    public void propagate(PropagateControl control, int[] changes) {
+        int threadId = mirror.propagate(control, changes);
+        for (int change : changes) {
+            Assert.assertTrue(mirror.isTrue(threadId, change));
+            Assert.assertTrue(mirror.isFalse(threadId, -change));
+        }
+    }
+
+    @Override
+    public void undo(PropagateControl control, int[] changes) {
+        mirror.undo(control, changes);
+    }
+
+    @Override
+    public void check(PropagateControl control) {
+        int threadId = control.getThreadId();
+        Assignment assignment = control.getAssignment();
+        mirror.validate(threadId, assignment);
+        for (int literal : literals) {
+            Assert.assertEquals(assignment.isTrue(literal), mirror.isTrue(threadId, literal));
+            Assert.assertEquals(assignment.isFixed(literal), mirror.isFixed(threadId, literal));
+        }
+        checks.incrementAndGet();
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.control.ShowType;
+import org.potassco.clingo.solving.ModelPublisher;
+import org.potassco.clingo.solving.ModelSnapshot;
+
+public class ModelPublisherTest {
+
+    private Control control;
+
+    @Before
+    public void setup() {
+        control = new Control("0");
+    }
+
+    @After
+    public void tearDown() {
+        control.close();
+    }
+
+    @Test
+    public void testStream() {
+        control.add("1 { a; b; c }.");
+        control.ground();
+        try (Stream<ModelSnapshot> models = new ModelPublisher(control, ShowType.shown(), 2).stream()) {
+            List<String> strings = models.map(ModelSnapshot::toString).sorted().collect(Collectors.toList());
+            Assert.assertEquals(List.of("a", "a b", "a b c", "a c", "b", "b c", "c"), strings);
+        }
+    }
+
+    @Test
+    public void testCancel() {
+        control.add("{ p(1..100) }.");
+        control.ground();
+        try (Stream<ModelSnapshot> models = new ModelPublisher(control).stream()) {
+            Assert.assertEquals(3, models.limit(3).count());
+        }
+        // the control object is usable again once the stream is closed
+        Assert.assertTrue(control.solve().getSolveResult().satisfiable());
+    }
+
+    @Test
+    public void testBatched() throws Exception {
+        control.add("1 { a; b; c }.");
+        control.ground();
+        CompletableFuture<List<Integer>> sizes = new CompletableFuture<>();
+        new ModelPublisher(control).batched(3).subscribe(new Flow.Subscriber<>() {
+            private final List<Integer> batches = new ArrayList<>();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(List<ModelSnapshot> item) {
+                batches.add(item.size());
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                sizes.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                sizes.complete(batches);
+            }
+        });
+        Assert.assertEquals(List.of(3, 3, 1), sizes.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSingleSubscriber() {
+        control.add("a.");
+        control.ground();
+        ModelPublisher publisher = new ModelPublisher(control);
+        try (Stream<ModelSnapshot> models = publisher.stream()) {
+            Assert.assertEquals(1, models.count());
+        }
+        Assert.assertThrows(IllegalStateException.class, () -> publisher.stream().count());
+    }
+}
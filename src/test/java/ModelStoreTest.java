@@ -0,0 +1,91 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.ModelSnapshot;
+import org.potassco.clingo.solving.ModelStore;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.symbol.Signature;
+
+public class ModelStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRawModels() {
+        try (ModelStore store = new ModelStore()) {
+            store.add(new long[]{1, 2, 3, 99}, 3, new long[0]);
+            store.add(new long[]{3, 4}, 2, new long[]{7, 8});
+            store.add(new long[0], 0, new long[0]);
+
+            Assert.assertEquals(3, store.size());
+            Assert.assertEquals(4, store.getDictionarySize());
+            Assert.assertArrayEquals(new long[]{1, 2, 3}, store.getSymbolLongs(0));
+            Assert.assertArrayEquals(new long[]{3, 4}, store.getSymbolLongs(1));
+            Assert.assertArrayEquals(new long[0], store.getSymbolLongs(2));
+            Assert.assertArrayEquals(new long[]{7, 8}, store.getCost(1));
+            Assert.assertEquals(2, store.getSymbolCount(1));
+            Assert.assertThrows(IndexOutOfBoundsException.class, () -> store.getSymbolLongs(3));
+        }
+    }
+
+    @Test
+    public void testSpill() {
+        int models = 100_000;
+        try (ModelStore store = new ModelStore(folder.getRoot().toPath(), 0)) {
+            long[] symbols = new long[10];
+            for (int i = 0; i < models; i++) {
+                for (int j = 0; j < symbols.length; j++) {
+                    symbols[j] = i % 1000 + j;
+                }
+                store.add(symbols, symbols.length, new long[]{i});
+            }
+            Assert.assertEquals(0, store.getMemoryUsage());
+            Assert.assertEquals(models, store.size());
+            Assert.assertEquals(1009, store.getDictionarySize());
+            for (int i = 0; i < models; i += 997) {
+                long[] stored = store.getSymbolLongs(i);
+                Assert.assertEquals(i % 1000 + 9, stored[9]);
+                Assert.assertArrayEquals(new long[]{i}, store.getCost(i));
+            }
+        }
+        Assert.assertEquals(0, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testEnumeration() {
+        try (Control control = new Control("0"); ModelStore store = new ModelStore()) {
+            control.add("{a(1..3)}. b :- a(1).");
+            control.ground();
+            List<Set<String>> expected = new ArrayList<>();
+            try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+                while (handle.hasNext()) {
+                    ModelSnapshot model = handle.next().snapshot();
+                    expected.add(model.getSymbols().stream().map(Object::toString).collect(Collectors.toSet()));
+                }
+            }
+            try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+                while (handle.hasNext()) {
+                    store.add(handle.next());
+                }
+            }
+            Assert.assertEquals(8, store.size());
+            int index = 0;
+            for (ModelSnapshot model : store) {
+                Assert.assertEquals(index + 1, model.getNumber());
+                Assert.assertEquals(expected.get(index), model.getSymbols().stream().map(Object::toString).collect(Collectors.toSet()));
+                Set<String> filtered = store.getSymbols(index, new Signature("a", 1)).stream().map(Object::toString).collect(Collectors.toSet());
+                Assert.assertEquals(expected.get(index).stream().filter(s -> s.startsWith("a(")).collect(Collectors.toSet()), filtered);
+                index++;
+            }
+        }
+    }
+}
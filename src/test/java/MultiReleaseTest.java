@@ -0,0 +1,75 @@
+import java.net.URL;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.potassco.clingo.control.Control;
+import org.potassco.clingo.internal.ClingoDirect;
+import org.potassco.clingo.propagator.PropagateControl;
+import org.potassco.clingo.propagator.PropagateInit;
+import org.potassco.clingo.propagator.Propagator;
+import org.potassco.clingo.symbol.Function;
+
+public class MultiReleaseTest {
+
+    @Test
+    public void testBinding() {
+        URL resource = ClingoDirect.class.getResource("ClingoDirect.class");
+        Assume.assumeTrue(Runtime.version().feature() >= 22);
+        // only a jar picks the classes of META-INF/versions, see the java22 profile
+        Assume.assumeTrue("jar".equals(resource.getProtocol()));
+        Assert.assertTrue(resource.toString(), resource.toString().contains("META-INF/versions/22/"));
+    }
+
+    @Test
+    public void testPropagateCallsPropagators() {
+        ImplyingPropagator implying = new ImplyingPropagator();
+        CountingPropagator counting = new CountingPropagator();
+        SolvingTest.TestCallback callback = new SolvingTest.TestCallback();
+        try (Control control = new Control("0")) {
+            control.add("{a; b}.");
+            control.ground();
+            control.registerPropagator(counting);
+            control.registerPropagator(implying);
+            Assert.assertTrue(control.solve(callback).getSolveResult().satisfiable());
+        }
+        // every model except the one with a but not b
+        Assert.assertEquals(3, callback.models.size());
+        Assert.assertTrue(counting.calls > 0);
+    }
+
+    // adds a -> b and propagates it while the other propagator watches b
+    private static class ImplyingPropagator implements Propagator {
+
+        private int a;
+        private int b;
+
+        @Override
+        public void init(PropagateInit init) {
+            a = init.solverLiteral(init.getSymbolicAtoms().get(new Function("a")).getLiteral());
+            b = init.solverLiteral(init.getSymbolicAtoms().get(new Function("b")).getLiteral());
+            init.addWatch(a);
+        }
+
+        @Override
+        public void propagate(PropagateControl control, int[] changes) {
+            if (control.addClause(new int[]{-a, b}))
+                control.propagate();
+        }
+    }
+
+    private static class CountingPropagator implements Propagator {
+
+        private int calls;
+
+        @Override
+        public void init(PropagateInit init) {
+            init.addWatch(init.solverLiteral(init.getSymbolicAtoms().get(new Function("b")).getLiteral()));
+        }
+
+        @Override
+        public void propagate(PropagateControl control, int[] changes) {
+            calls++;
+        }
+    }
+}
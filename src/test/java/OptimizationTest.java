@@ -1,9 +1,19 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.potassco.clingo.configuration.args.Parallel;
 import org.potassco.clingo.control.Control;
+import org.potassco.clingo.solving.AnytimeOptimizer;
 import org.potassco.clingo.solving.GroundCallback;
 import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.ModelSnapshot;
 import org.potassco.clingo.solving.SolveEventCallback;
+import org.potassco.clingo.solving.TopKCollector;
 import org.potassco.clingo.symbol.Number;
 import org.potassco.clingo.symbol.Symbol;
 
@@ -45,4 +55,121 @@ public class OptimizationTest {
         control.solve(solveCallback).getSolveResult();
         control.close();
     }
+
+    @Test
+    public void testTopK() {
+        String program = "1 { a(1..6) } 1. #minimize { X/3@1,X : a(X) }.";
+        try (Control control = new Control()) {
+            control.add(program);
+            control.ground();
+            List<ModelSnapshot> models = new TopKCollector(2).solve(control);
+            Assert.assertEquals(2, models.size());
+            // the first optimal model is reported twice, but kept once
+            Assert.assertNotEquals(models.get(0).getSymbols().get(0), models.get(1).getSymbols().get(0));
+            Set<String> symbols = models.stream().map(model -> model.getSymbols().get(0).toString()).collect(Collectors.toSet());
+            Assert.assertEquals(Set.of("a(1)", "a(2)"), symbols);
+            for (ModelSnapshot model : models) {
+                Assert.assertArrayEquals(new long[]{0}, model.getCost());
+                Assert.assertTrue(model.getOptimalityProven());
+            }
+        }
+    }
+
+    @Test
+    public void testTopOne() {
+        try (Control control = new Control()) {
+            control.add("1 { a(1..6) } 1. #minimize { X : a(X) }.");
+            control.ground();
+            List<ModelSnapshot> models = new TopKCollector(1).solve(control);
+            Assert.assertEquals(1, models.size());
+            Assert.assertEquals("a(1)", models.get(0).getSymbols().get(0).toString());
+            // the proven copy of the optimum replaces the one found during optimization
+            Assert.assertTrue(models.get(0).getOptimalityProven());
+        }
+    }
+
+    @Test
+    public void testTopKParallel() {
+        String program = "{ a(1..12) } 6. #minimize { X,Y : a(X), Y = 1..3 }. :- not a(1).";
+        try (Control control = new Control()) {
+            control.getConfiguration().set(new Parallel(4));
+            control.add(program);
+            control.ground();
+            TopKCollector collector = new TopKCollector(3);
+            List<ModelSnapshot> models = collector.solve(control);
+            Assert.assertFalse(models.isEmpty());
+            Assert.assertArrayEquals(new long[]{3}, models.get(0).getCost());
+            for (int i = 1; i < models.size(); i++) {
+                Assert.assertTrue(models.get(i - 1).getCost()[0] <= models.get(i).getCost()[0]);
+            }
+        }
+    }
+
+    private static final String PIGEONS = "pigeon(1..14). hole(1..13). { in(P,H) : hole(H) } 1 :- pigeon(P). " +
+            ":- in(P,H), in(Q,H), P < Q. #maximize { 1,P : in(P,H) }.";
+
+    @Test
+    public void testAnytimeExhausted() {
+        try (Control control = new Control()) {
+            control.add("1 { a(1..10) } 1. #minimize { X : a(X) }.");
+            control.ground();
+            List<long[]> costs = new ArrayList<>();
+            AnytimeOptimizer optimizer = new AnytimeOptimizer(control);
+            optimizer.setListener(improvement -> costs.add(improvement.getCost()));
+            AnytimeOptimizer.Result result = optimizer.optimize();
+            Assert.assertEquals(AnytimeOptimizer.StopReason.EXHAUSTED, result.getStopReason());
+            Assert.assertTrue(result.isOptimalityProven());
+            Assert.assertArrayEquals(new long[]{1}, result.getBest().getCost());
+            Assert.assertEquals(costs.size(), result.getImprovements().size());
+            Assert.assertEquals(0, result.getInterruptLatencyNanos());
+        }
+    }
+
+    @Test
+    public void testAnytimeTarget() {
+        try (Control control = new Control()) {
+            control.add(PIGEONS);
+            control.ground();
+            AnytimeOptimizer optimizer = new AnytimeOptimizer(control);
+            optimizer.setTargetCost(-5);
+            optimizer.setDeadline(Duration.ofSeconds(30));
+            AnytimeOptimizer.Result result = optimizer.optimize();
+            Assert.assertEquals(AnytimeOptimizer.StopReason.TARGET, result.getStopReason());
+            Assert.assertFalse(result.isOptimalityProven());
+            Assert.assertTrue(result.getBest().getCost()[0] <= -5);
+        }
+    }
+
+    @Test
+    public void testAnytimeStalled() {
+        try (Control control = new Control()) {
+            control.add(PIGEONS);
+            control.ground();
+            AnytimeOptimizer optimizer = new AnytimeOptimizer(control);
+            optimizer.setDeadline(Duration.ofSeconds(30));
+            optimizer.setStallTimeout(Duration.ofMillis(200));
+            AnytimeOptimizer.Result result = optimizer.optimize();
+            Assert.assertEquals(AnytimeOptimizer.StopReason.STALLED, result.getStopReason());
+            Assert.assertArrayEquals(new long[]{-13}, result.getBest().getCost());
+            Assert.assertTrue(result.getInterruptLatencyNanos() > 0);
+            List<AnytimeOptimizer.Improvement> improvements = result.getImprovements();
+            for (int i = 1; i < improvements.size(); i++) {
+                Assert.assertTrue(improvements.get(i - 1).getElapsedNanos() <= improvements.get(i).getElapsedNanos());
+            }
+        }
+    }
+
+    @Test
+    public void testAnytimeDeadline() {
+        try (Control control = new Control()) {
+            control.add(PIGEONS);
+            control.ground();
+            AnytimeOptimizer optimizer = new AnytimeOptimizer(control);
+            optimizer.setDeadline(Duration.ofMillis(200));
+            AnytimeOptimizer.Result result = optimizer.optimize();
+            Assert.assertEquals(AnytimeOptimizer.StopReason.DEADLINE, result.getStopReason());
+            Assert.assertTrue(result.getSolveResult().interrupted());
+            Assert.assertNotNull(result.getBest());
+        }
+    }
 }
@@ -0,0 +1,78 @@
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.Portfolio;
+import org.potassco.clingo.configuration.args.Configuration;
+import org.potassco.clingo.configuration.args.Heuristic;
+import org.potassco.clingo.symbol.Function;
+
+public class PortfolioTest {
+
+	private static final String PIGEONHOLE = "pigeon(1..20). hole(1..19). 1 { in(P,H) : hole(H) } 1 :- pigeon(P). " +
+			":- in(P,H), in(Q,H), P < Q.";
+
+	private static Portfolio portfolio() {
+		Portfolio portfolio = new Portfolio();
+		portfolio.addConfiguration("jumpy", Configuration.Jumpy);
+		portfolio.addConfiguration("trendy", Configuration.Trendy);
+		portfolio.addConfiguration("berkmin", Heuristic.Berkmin);
+		return portfolio;
+	}
+
+	@Test
+	public void testSatisfiable() {
+		Portfolio portfolio = portfolio();
+		Portfolio.Result result = portfolio.solve("a. {b}. :- not b.");
+		Assert.assertNotNull(result.getWinner());
+		Assert.assertTrue(result.getSolveResult().satisfiable());
+		Assert.assertTrue(result.getBest().getSymbols().contains(new Function("a")));
+		Assert.assertTrue(result.getBest().getSymbols().contains(new Function("b")));
+		Assert.assertEquals(1, portfolio.getRaces());
+		Assert.assertEquals(1, portfolio.getWins().values().stream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test
+	public void testUnsatisfiable() {
+		Portfolio.Result result = portfolio().solve("a. :- a.");
+		Assert.assertNotNull(result.getWinner());
+		Assert.assertTrue(result.getSolveResult().unsatisfiable());
+		Assert.assertNull(result.getBest());
+	}
+
+	@Test
+	public void testOptimization() {
+		Portfolio portfolio = portfolio();
+		for (int i = 0; i < 3; i++) {
+			Portfolio.Result result = portfolio.solve("{ p(1..10) }. :- p(X), p(Y), X != Y, X + Y < 12. #maximize { X : p(X) }.");
+			Assert.assertTrue(result.isOptimalityProven());
+			Assert.assertArrayEquals(new long[]{-40}, result.getBest().getCost());
+			Assert.assertNotNull(result.getFinder());
+		}
+		Map<String, Integer> wins = portfolio.getWins();
+		Assert.assertEquals(3, portfolio.getRaces());
+		Assert.assertEquals(3, wins.values().stream().mapToInt(Integer::intValue).sum());
+		Assert.assertTrue(portfolio.getImprovements().values().stream().mapToInt(Integer::intValue).sum() >= 3);
+	}
+
+	@Test
+	public void testTimeout() {
+		Portfolio.Result result = portfolio().solve(PIGEONHOLE, Duration.ofMillis(200));
+		Assert.assertNull(result.getWinner());
+		Assert.assertNull(result.getSolveResult());
+		Assert.assertTrue(result.getElapsedNanos() < Duration.ofSeconds(10).toNanos());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateConfiguration() {
+		Portfolio portfolio = new Portfolio();
+		portfolio.addConfiguration("jumpy", Configuration.Jumpy);
+		portfolio.addConfiguration("jumpy", Configuration.Tweety);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEmpty() {
+		new Portfolio().solve("a.");
+	}
+}
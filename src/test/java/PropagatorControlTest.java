@@ -1,13 +1,18 @@
+import java.nio.BufferOverflowException;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import com.sun.jna.Memory;
 import org.junit.Assert;
 import org.junit.Test;
 import org.potassco.clingo.control.Control;
 import org.potassco.clingo.control.SymbolicAtom;
+import org.potassco.clingo.internal.ChangeViewAccess;
 import org.potassco.clingo.propagator.Assignment;
+import org.potassco.clingo.propagator.ChangeView;
 import org.potassco.clingo.propagator.PropagateControl;
 import org.potassco.clingo.propagator.PropagateInit;
 import org.potassco.clingo.propagator.Propagator;
@@ -41,6 +46,29 @@ public class PropagatorControlTest implements Propagator {
         control.close();
     }
 
+    @Test
+    public void testChangeView() {
+        Memory memory = new Memory(3 * Integer.BYTES);
+        memory.write(0, new int[]{3, -5, 7}, 0, 3);
+        ChangeViewAccess access = ChangeViewAccess.get();
+        ChangeView view = access.create();
+        access.wrap(view, memory, 3);
+        Assert.assertEquals(3, view.size());
+        Assert.assertEquals(-5, view.get(1));
+        Assert.assertArrayEquals(new int[]{3, -5, 7}, view.toArray());
+        Assert.assertEquals("[3, -5, 7]", view.toString());
+        access.wrap(view, memory.share(Integer.BYTES), 2);
+        Assert.assertArrayEquals(new int[]{-5, 7}, view.toArray());
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> view.get(2));
+        access.wrap(view, new int[]{2, -4});
+        Assert.assertEquals(2, view.size());
+        Assert.assertEquals(-4, view.get(1));
+        Assert.assertArrayEquals(new int[]{2, -4}, view.toArray());
+        Assert.assertThrows(IndexOutOfBoundsException.class, () -> view.get(2));
+        access.wrap(view, memory, 3);
+        Assert.assertArrayEquals(new int[]{3, -5, 7}, view.toArray());
+    }
+
     @Override
     public void init(PropagateInit init) {
         init.setCheckMode(PropagatorCheckMode.NONE);
@@ -64,6 +92,20 @@ public class PropagatorControlTest implements Propagator {
         trail.iterator().forEachRemaining(literals::add);
 		Assert.assertFalse(literals.isEmpty());
         Assert.assertEquals(-litA, (int) trail.iterator(level).next());
+        int[] all = trail.toArray();
+        Assert.assertEquals(trail.size(), all.length);
+        Assert.assertEquals(literals, Arrays.stream(all).boxed().collect(Collectors.toList()));
+        Assert.assertEquals(-litA, trail.getLiterals(level)[0]);
+        Assert.assertArrayEquals(Arrays.copyOfRange(all, trail.begin(level), all.length), trail.toArray(trail.begin(level), all.length));
+        int[] assigned = assignment.toArray();
+        Assert.assertEquals(assignment.size(), assigned.length);
+        Assert.assertArrayEquals(Arrays.copyOfRange(assigned, 1, assigned.length), assignment.get(1, assigned.length));
+        IntBuffer buffer = IntBuffer.allocate(assigned.length + all.length);
+        Assert.assertEquals(assigned.length, assignment.copyTo(0, assigned.length, buffer));
+        Assert.assertEquals(all.length, trail.copyTo(0, all.length, buffer));
+        Assert.assertArrayEquals(assigned, Arrays.copyOf(buffer.array(), assigned.length));
+        Assert.assertArrayEquals(all, Arrays.copyOfRange(buffer.array(), assigned.length, buffer.capacity()));
+        Assert.assertThrows(BufferOverflowException.class, () -> assignment.copyTo(0, 1, buffer));
         Assert.assertEquals(-litA, assignment.getDecision(level));
         Assert.assertEquals(0, control.getThreadId());
         Assert.assertTrue(control.hasWatch(-litA));
@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.potassco.clingo.AnswerSet;
+import org.potassco.clingo.CacheMetrics;
+import org.potassco.clingo.ResultCache;
+import org.potassco.clingo.Solver;
+import org.potassco.clingo.configuration.args.NumModels;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Symbol;
+
+public class ResultCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testKey() {
+		String key = ResultCache.key("a.", new Symbol[0], NumModels.all());
+		Assert.assertEquals(64, key.length());
+		Assert.assertEquals(key, ResultCache.key("a.", new Symbol[0], NumModels.all()));
+		Assert.assertNotEquals(key, ResultCache.key("a.", new Symbol[0], NumModels.one()));
+		Assert.assertNotEquals(key, ResultCache.key("b.", new Symbol[0], NumModels.all()));
+		Assert.assertNotEquals(key, ResultCache.key("a.", new Symbol[0]));
+	}
+
+	@Test
+	public void testMemory() {
+		ResultCache cache = new ResultCache(100);
+		Solver solver = new Solver(cache);
+		List<AnswerSet> first = solver.solve("{a;b}.", NumModels.all());
+		List<AnswerSet> second = solver.solve("{a;b}.", NumModels.all());
+		Assert.assertSame(first, second);
+		Assert.assertEquals(4, second.size());
+		Assert.assertEquals(1, solver.solve("{a}.", new Symbol[]{new Function("a")}, NumModels.all()).size());
+		Assert.assertEquals(0, solver.solve("{a}. :- a. :- not a.", NumModels.all()).size());
+		Assert.assertEquals(0, solver.solve("{a}. :- a. :- not a.", NumModels.all()).size());
+
+		CacheMetrics metrics = cache.getMetrics();
+		Assert.assertEquals(2, metrics.getHits());
+		Assert.assertEquals(3, metrics.getMisses());
+		Assert.assertEquals(3, metrics.getSize());
+		Assert.assertEquals(8 + 2, metrics.getWeight());
+	}
+
+	@Test
+	public void testImmutable() {
+		Solver solver = new Solver(new ResultCache(100));
+		String program = "1 {a; b} 1. #minimize { 1 : a; 2 : b }.";
+		AnswerSet first = solver.solve(program).get(0);
+		long cost = first.getCost()[0];
+		first.getCost()[0] = 99;
+		Assert.assertThrows(UnsupportedOperationException.class, () -> first.getSymbols().clear());
+		AnswerSet cached = solver.solve(program).get(0);
+		Assert.assertEquals(cost, cached.getCost()[0]);
+		Assert.assertEquals(1, cached.getSymbols().size());
+	}
+
+	@Test
+	public void testEviction() {
+		ResultCache cache = new ResultCache(4);
+		Solver solver = new Solver(cache);
+		solver.solve("{a;b}.", NumModels.all());
+		Assert.assertEquals(0, cache.getMetrics().getSize());
+		solver.solve("{a}.", NumModels.all());
+		solver.solve("{b}.", NumModels.all());
+		CacheMetrics metrics = cache.getMetrics();
+		Assert.assertEquals(1, metrics.getEvictions());
+		Assert.assertEquals(1, metrics.getSize());
+	}
+
+	@Test
+	public void testOptimalResults() {
+		ResultCache cache = new ResultCache(100);
+		Solver solver = new Solver(cache);
+		String program = "{a;b}. :- not a, not b. #minimize { 1,a : a ; 2,b : b }.";
+		List<AnswerSet> answers = solver.solve(program, NumModels.all());
+		Assert.assertEquals(1, cache.getMetrics().getSize());
+		Assert.assertSame(answers, solver.solve(program, NumModels.all()));
+	}
+
+	@Test
+	public void testDisk() throws IOException {
+		ResultCache first = new ResultCache(100, folder.getRoot().toPath());
+		List<AnswerSet> answers = new Solver(first).solve("{a;b(\"x.y\",1)}.", NumModels.all());
+
+		ResultCache second = new ResultCache(100, folder.getRoot().toPath());
+		List<AnswerSet> cached = new Solver(second).solve("{a;b(\"x.y\",1)}.", NumModels.all());
+		Assert.assertEquals(1, second.getMetrics().getDiskHits());
+		Assert.assertEquals(answers.size(), cached.size());
+		for (int i = 0; i < answers.size(); i++) {
+			Assert.assertEquals(answers.get(i).getSymbols(), cached.get(i).getSymbols());
+			Assert.assertEquals(answers.get(i).getType(), cached.get(i).getType());
+		}
+	}
+}
@@ -0,0 +1,50 @@
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.backend.ExternalType;
+import org.potassco.clingo.control.ProgramPart;
+import org.potassco.clingo.control.Session;
+import org.potassco.clingo.solving.SolveHandle;
+import org.potassco.clingo.symbol.Function;
+import org.potassco.clingo.symbol.Number;
+import org.potassco.clingo.symbol.Symbol;
+
+public class SessionTest {
+
+    @Test
+    public void testMultiShot() {
+        try (Session session = new Session("0")) {
+            session.add("step", "#external e(k). {p(k)}. q(k) :- p(k), e(k).", "k");
+            for (int k = 1; k <= 3; k++) {
+                session.ground(new ProgramPart("step", new Number(k)));
+                Symbol external = new Function("e", new Number(k));
+                Symbol atom = new Function("p", new Number(k));
+                Assert.assertTrue(session.contains(atom));
+                Assert.assertEquals(session.getControl().getSymbolicAtoms().get(atom).getLiteral(), session.getLiteral(atom));
+
+                session.assignExternal(new Symbol[]{external}, ExternalType.TRUE);
+                try (SolveHandle handle = session.solve(List.of(atom))) {
+                    Assert.assertTrue(handle.getSolveResult().satisfiable());
+                    Assert.assertTrue(handle.next().contains(new Function("q", new Number(k))));
+                }
+                session.releaseExternal(new Symbol[]{external});
+            }
+            Assert.assertFalse(session.contains(new Function("p", new Number(4))));
+            Assert.assertThrows(NoSuchElementException.class, () -> session.getLiteral(new Function("p", new Number(4))));
+        }
+    }
+
+    @Test
+    public void testGroundControlDirectly() {
+        try (Session session = new Session()) {
+            session.add("a.");
+            session.ground();
+            Assert.assertTrue(session.contains(new Function("a")));
+            session.getControl().add("next", "b.");
+            session.getControl().ground("next");
+            Assert.assertTrue(session.contains(new Function("b")));
+        }
+    }
+}
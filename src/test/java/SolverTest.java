@@ -0,0 +1,73 @@
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.potassco.clingo.AnswerSet;
+import org.potassco.clingo.PoolMetrics;
+import org.potassco.clingo.Solver;
+import org.potassco.clingo.configuration.args.NumModels;
+
+public class SolverTest {
+
+	private static final String ENCODING = "node(1..3). #external edge(X,Y) : node(X), node(Y), X < Y. " +
+			"reach(1). reach(Y) :- reach(X), edge(X,Y). #show reach/1.";
+
+	@Test
+	public void testPooled() {
+		try (Solver solver = Solver.pooled(2, Duration.ofMinutes(1))) {
+			Assert.assertEquals(Set.of("reach(1)", "reach(2)"), solve(solver, "edge(1,2)."));
+			Assert.assertEquals(Set.of("reach(1)", "reach(3)"), solve(solver, "edge(1,3)."));
+			Assert.assertEquals(Set.of("reach(1)"), solve(solver, ""));
+			Assert.assertEquals(Set.of("reach(1)", "reach(2)", "reach(3)"), solve(solver, "edge(1,2). edge(2,3)."));
+
+			PoolMetrics metrics = solver.getPoolMetrics();
+			Assert.assertEquals(1, metrics.getMisses());
+			Assert.assertEquals(3, metrics.getHits());
+			Assert.assertEquals(1, metrics.getIdle());
+			Assert.assertEquals(0, metrics.getLeased());
+		}
+	}
+
+	@Test
+	public void testPooledMatchesUnpooled() {
+		Solver unpooled = new Solver();
+		try (Solver pooled = Solver.pooled(1, Duration.ofMinutes(1))) {
+			for (String instance : List.of("edge(2,3).", "edge(1,2). edge(1,3).", "edge(1,2).")) {
+				Assert.assertEquals(solve(unpooled, instance), solve(pooled, instance));
+			}
+		}
+	}
+
+	@Test
+	public void testPooledRejectsUnknownAtoms() {
+		try (Solver solver = Solver.pooled(1, Duration.ofMinutes(1))) {
+			Assert.assertThrows(IllegalArgumentException.class, () -> solve(solver, "edge(2,1)."));
+			Assert.assertThrows(IllegalArgumentException.class, () -> solve(solver, "edge(1,2) :- node(1)."));
+			Assert.assertEquals(2, solver.getPoolMetrics().getDiscarded());
+			Assert.assertEquals(Set.of("reach(1)", "reach(2)"), solve(solver, "edge(1,2)."));
+		}
+	}
+
+	@Test
+	public void testEviction() throws InterruptedException {
+		try (Solver solver = Solver.pooled(1, Duration.ofMillis(1))) {
+			solve(solver, "edge(1,2).");
+			solver.solve(ENCODING + " #show node/1.", "edge(1,2).", NumModels.all());
+			Assert.assertEquals(1, solver.getPoolMetrics().getEvictions());
+			Thread.sleep(10);
+			solve(solver, "edge(1,2).");
+			PoolMetrics metrics = solver.getPoolMetrics();
+			Assert.assertEquals(3, metrics.getMisses());
+			Assert.assertEquals(2, metrics.getEvictions());
+		}
+	}
+
+	private static Set<String> solve(Solver solver, String instance) {
+		List<AnswerSet> answers = solver.solve(ENCODING, instance, NumModels.all());
+		Assert.assertEquals(1, answers.size());
+		return answers.get(0).getSymbols().stream().map(Object::toString).collect(Collectors.toSet());
+	}
+}
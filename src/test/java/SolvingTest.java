@@ -1,8 +1,17 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.junit.After;
@@ -17,6 +26,7 @@ import org.potassco.clingo.control.SymbolicAtom;
 import org.potassco.clingo.control.SymbolicAtoms;
 import org.potassco.clingo.solving.ConsequenceType;
 import org.potassco.clingo.solving.Model;
+import org.potassco.clingo.solving.ModelSnapshot;
 import org.potassco.clingo.solving.ModelType;
 import org.potassco.clingo.solving.SolveEventCallback;
 import org.potassco.clingo.solving.SolveHandle;
@@ -26,6 +36,7 @@ import org.potassco.clingo.solving.TruthValue;
 import org.potassco.clingo.symbol.Function;
 import org.potassco.clingo.symbol.Signature;
 import org.potassco.clingo.symbol.Symbol;
+import org.potassco.clingo.symbol.SymbolView;
 
 public class SolvingTest {
 
@@ -62,6 +73,97 @@ public class SolvingTest {
 		}
 	}
 
+	@Test
+	public void testSymbolLongs() {
+		control.add("a. b. c.");
+		control.ground();
+		try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+			Model model = handle.next();
+			long[] expected = Arrays.stream(model.getSymbols()).mapToLong(Symbol::getLong).toArray();
+			Assert.assertArrayEquals(expected, model.getSymbolLongs(ShowType.shown()));
+
+			long[] small = new long[2];
+			Assert.assertEquals(3, model.getSymbolLongs(ShowType.shown(), small));
+			Assert.assertArrayEquals(new long[2], small);
+			long[] large = new long[4];
+			Assert.assertEquals(3, model.getSymbolLongs(ShowType.shown(), large));
+			Assert.assertArrayEquals(expected, Arrays.copyOf(large, 3));
+
+			LongBuffer direct = ByteBuffer.allocateDirect(5 * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+			direct.position(1);
+			Assert.assertEquals(3, model.getSymbolLongs(ShowType.shown(), direct));
+			Assert.assertEquals(4, direct.position());
+			Assert.assertEquals(expected[0], direct.get(1));
+			Assert.assertEquals(expected[2], direct.get(3));
+			Assert.assertEquals(3, model.getSymbolLongs(ShowType.shown(), direct));
+			Assert.assertEquals(4, direct.position());
+
+			SymbolView view = model.getSymbolView(ShowType.shown());
+			Assert.assertEquals(Arrays.asList(model.getSymbols()), view);
+			Assert.assertTrue(view.contains(new Function("b")));
+			Assert.assertEquals(-1, view.indexOf(new Function("d").getLong()));
+		}
+	}
+
+	@Test
+	public void testSnapshot() throws Exception {
+		control.add("1 {a; b} 1. c. #minimize { 1,a: a; 2,b: b }.");
+		control.ground();
+		List<ModelSnapshot> snapshots = new ArrayList<>();
+		List<String> expected = new ArrayList<>();
+		try (SolveHandle handle = control.solve(SolveMode.YIELD)) {
+			while (handle.hasNext()) {
+				Model model = handle.next();
+				snapshots.add(model.snapshot());
+				expected.add(model.toString());
+				Assert.assertArrayEquals(model.getCost(), snapshots.get(snapshots.size() - 1).getCost());
+				Assert.assertEquals(model.getNumber(), snapshots.get(snapshots.size() - 1).getNumber());
+			}
+		}
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			List<String> decoded = executor.submit(() -> snapshots.stream()
+					.map(ModelSnapshot::toString)
+					.collect(Collectors.toList())).get();
+			Assert.assertEquals(expected, decoded);
+		} finally {
+			executor.shutdown();
+		}
+		ModelSnapshot last = snapshots.get(snapshots.size() - 1);
+		Assert.assertTrue(last.getSymbols().contains(new Function("c")));
+		Assert.assertEquals(ModelType.STABLE_MODEL, last.getType());
+		Assert.assertArrayEquals(new long[]{1}, last.getCost());
+	}
+
+	@Test
+	public void testSolveFuture() throws Exception {
+		control.add("1 {a; b} 1.");
+		control.ground();
+		SolveResult result = control.solveAsync(mcb, null).get(10, TimeUnit.SECONDS);
+		testSatisfiable(result);
+		Assert.assertEquals(2, mcb.models.size());
+		// the handle is closed, so the control object can solve again
+		Assert.assertTrue(control.solveAsync().get(10, TimeUnit.SECONDS).satisfiable());
+	}
+
+	@Test
+	public void testSolveFutureDeadline() throws Exception {
+		control.add("{ p(1..100) }.");
+		control.ground();
+		SolveResult result = control.solveAsync(Duration.ofMillis(50)).get(10, TimeUnit.SECONDS);
+		Assert.assertTrue(result.interrupted());
+		Assert.assertFalse(result.exhausted());
+	}
+
+	@Test
+	public void testSolveFutureCancel() {
+		control.add("{ p(1..100) }.");
+		control.ground();
+		CompletableFuture<SolveResult> result = control.solveAsync();
+		Assert.assertTrue(result.cancel(true));
+		Assert.assertThrows(CancellationException.class, result::join);
+	}
+
 	@Test
 	public void testSolveCallback() {
 		control.add("1 {a; b} 1. c.");
@@ -1,8 +1,9 @@
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Assert;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.potassco.clingo.control.LoggerCallback;
 import org.potassco.clingo.control.WarningCode;
@@ -39,11 +40,48 @@ public class SymbolTest {
         Assert.assertTrue((new Number(2)).compareTo(new Number(1)) > 0);
     }
 
-    @Ignore // Hashing is currently not implemented
     @Test
     public void testHashing() {
         Assert.assertEquals(new Number(10).hashCode(), new Number(10).hashCode());
         Assert.assertNotEquals(new Number(1).hashCode(), new Number(2).hashCode());
+        Assert.assertEquals(new Function("f", new Text("a")).hashCode(), Symbol.fromString("f(\"a\")").hashCode());
+    }
+
+    @Test
+    public void testOrdering() {
+        List<Symbol> expected = Arrays.asList(
+                new Infimum(),
+                new Number(-1),
+                new Number(2),
+                new Function("a"),
+                new Text("B"),
+                new Text("a"),
+                new Text("\u00e4"),
+                new Function("f", new Number(1)),
+                new Supremum()
+        );
+        for (Symbol a : expected) {
+            for (Symbol b : expected) {
+                Assert.assertEquals(a + " vs " + b, Integer.signum(a.compareTo(b)), a.lessThan(b) ? -1 : a.equals(b) ? 0 : 1);
+            }
+        }
+        List<Symbol> sorted = new ArrayList<>(expected);
+        Collections.reverse(sorted);
+        Collections.sort(sorted);
+        Assert.assertEquals(expected, sorted);
+    }
+
+    @Test
+    public void testFromLong() {
+        Function function = (Function) Symbol.fromString("p(f(1,2),g(3))");
+        Function cached = (Function) Symbol.fromLong(function.getLong());
+        Assert.assertSame(function, cached);
+        Assert.assertSame(function.getArguments()[0], cached.getArguments()[0]);
+        Assert.assertEquals(new Function("f", new Number(1), new Number(2)), cached.getArguments()[0]);
+        Assert.assertEquals(2, cached.getArity());
+        // the arguments are copied, so modifying them does not affect the cached function
+        cached.getArguments()[1] = new Number(0);
+        Assert.assertEquals(new Function("g", new Number(3)), function.getArguments()[1]);
     }
 
     @Test
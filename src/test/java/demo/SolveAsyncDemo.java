@@ -1,10 +1,11 @@
 package demo;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.potassco.clingo.control.Control;
 import org.potassco.clingo.solving.Model;
 import org.potassco.clingo.solving.SolveEventCallback;
-import org.potassco.clingo.solving.SolveHandle;
-import org.potassco.clingo.solving.SolveMode;
+import org.potassco.clingo.solving.SolveResult;
 
 public class SolveAsyncDemo {
 
@@ -29,14 +30,14 @@ public class SolveAsyncDemo {
             }
         };
 
-        // solve using a model callback
-        SolveHandle handle = control.solve(callback, SolveMode.ASYNC);
+        // solve using a model callback, the future completes when the search is finished
+        CompletableFuture<SolveResult> result = control.solveAsync(callback, null);
 
         // // let's approximate pi
         double x, y;
         int samples = 0;
         int incircle = 0;
-        while (!handle.wait(1e-9)) {
+        while (!result.isDone()) {
             samples++;
             x = Math.random();
             y = Math.random();
@@ -44,6 +45,7 @@ public class SolveAsyncDemo {
         }
 
         System.out.printf("pi = %g\n", 4.0 * incircle / samples);
+        System.out.println(result.join());
 
         control.close();
     }